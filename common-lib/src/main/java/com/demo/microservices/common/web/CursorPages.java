@@ -0,0 +1,104 @@
+package com.demo.microservices.common.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Responses shared by the list endpoints: keyset pages with X-Next-Cursor and Link headers, and
+ * whole-table responses streamed row by row (a JSON array for plain GETs, NDJSON for exports).
+ *
+ * Streamed responses run as async requests, so a service using them on a large table sets
+ * spring.mvc.async.request-timeout (10m in this project) above the 30 s default.
+ */
+public final class CursorPages {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private CursorPages() {}
+
+    /**
+     * The requested page size, kept between 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * 200 with the page. When it is full, more rows may follow: X-Next-Cursor carries the cursor of
+     * its last row and the Link header the URL of the next page.
+     */
+    public static <T> ResponseEntity<List<T>> page(List<T> page, int pageSize, Function<T, ?> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            String next = String.valueOf(cursorOf.apply(page.get(page.size() - 1)));
+            String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", next)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, next)
+                    .header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+        }
+        return response.body(page);
+    }
+
+    /**
+     * Every row handed out by {@code forEach} as one JSON array, written as the rows are read.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> jsonArray(ObjectMapper objectMapper,
+                                                                     Consumer<Consumer<T>> forEach) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            generator.writeStartArray();
+            forEach.accept(item -> write(writer, generator, item));
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Every row handed out by {@code forEach} as NDJSON, one row per line.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper,
+                                                                  Consumer<Consumer<T>> forEach) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            forEach.accept(item -> {
+                write(writer, generator, item);
+                try {
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator, Object item) {
+        try {
+            writer.writeValue(generator, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
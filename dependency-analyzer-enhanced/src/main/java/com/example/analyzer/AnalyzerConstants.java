@@ -18,10 +18,41 @@ public final class AnalyzerConstants {
     public static final String GATEWAY_DEPENDENCY_TYPE = "gateway";
     public static final String FEIGN_CLIENT_TYPE = "feign-client";
 
+    // Call Modes (ServiceDependency.call_mode)
+    public static final String CALL_MODE_SYNC = "sync";
+    public static final String CALL_MODE_ASYNC = "async";
+    public static final String CALL_MODE_BUILD = "build";
+
+    // Latency Budget Status
+    public static final String BUDGET_WITHIN = "within";
+    public static final String BUDGET_AT_RISK = "at-risk";
+    public static final String BUDGET_OVER = "over";
+    public static final String BUDGET_UNBUDGETED = "unbudgeted";
+
+    // Messaging Brokers
+    public static final String KAFKA_BROKER = "kafka";
+    public static final String RABBITMQ_BROKER = "rabbitmq";
+
+    // Scan Modes (--mode)
+    public static final String SCAN_MODE_SOURCE = "source";
+    public static final String SCAN_MODE_BYTECODE = "bytecode";
+
+    // Performance Hotspot Types
+    public static final String HOTSPOT_CALL_IN_LOOP = "remote-call-in-loop";
+    public static final String HOTSPOT_SEQUENTIAL_CALLS = "sequential-remote-calls";
+    public static final String HOTSPOT_BLOCKING_CALL = "blocking-reactive-call";
+
+    // Clustering Strategies (clustering.strategy)
+    public static final String CLUSTER_BY_MAVEN_PARENT = "maven-parent";
+    public static final String CLUSTER_BY_DIRECTORY = "directory";
+    public static final String CLUSTER_BY_COMMUNITY = "community";
+
     // File Extensions and Patterns
     public static final String JAVA_EXTENSION = ".java";
     public static final String POM_FILE = "pom.xml";
     public static final String BUILD_GRADLE = "build.gradle";
+    public static final String CLASS_EXTENSION = ".class";
+    public static final String JAR_EXTENSION = ".jar";
     public static final String PACKAGE_JSON = "package.json";
 
     // Directory Names
@@ -42,11 +73,17 @@ public final class AnalyzerConstants {
 
     // Output Directory
     public static final String DEPENDENCY_ANALYSIS_DIR = "dependency-analysis";
+    public static final String EGO_GRAPHS_DIR = "ego-graphs";
+    public static final String CLUSTERS_DIR = "clusters";
 
     // Output Files
     public static final String SVG_DIAGRAM_FILE = "dependency-diagram-graphviz-java.svg";
     public static final String HTML_REPORT_FILE = "dependency-report.html";
     public static final String JSON_REPORT_FILE = "analysis-result.json";
+    public static final String NDJSON_EDGES_FILE = "dependencies.ndjson";
+    public static final String EGO_GRAPH_INDEX_FILE = "index.html";
+    public static final String CLUSTER_DIAGRAM_FILE = "dependency-clusters.svg";
+    public static final String PERFORMANCE_HOTSPOTS_FILE = "performance-hotspots.md";
     public static final String CSV_MATRIX_FILE = "dependency-matrix.csv";
     public static final String IMPACT_ANALYSIS_FILE = "impact-analysis.md";
 
@@ -2,38 +2,55 @@ package com.example.analyzer;
 
 import com.example.analyzer.config.AnalyzerConfiguration;
 import com.example.analyzer.model.AnalysisResult;
+import com.example.analyzer.model.EdgeTraffic;
+import com.example.analyzer.model.LatencyBudget;
+import com.example.analyzer.model.PerformanceHotspot;
+import com.example.analyzer.model.ServiceCluster;
 import com.example.analyzer.model.ServiceDependency;
 import com.example.analyzer.model.ServiceInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
  * Enhanced Report Generator with multiple output formats
- * - JSON, CSV, Markdown, HTML  
+ * - JSON (streamed), optional NDJSON edge list, CSV, Markdown, HTML
  * - GraphViz Java SVG visualization (original GraphViz quality with pure Maven)
+ *
+ * Writers only read the analysis result, so they run concurrently and the total time is about the slowest one.
  */
 @Component
 public class EnhancedReportGenerator {
     
     private AnalyzerConfiguration config;
     private final ObjectMapper jsonMapper;
+    private final ObjectWriter valueWriter; // one value into an open generator, no flush per value
     private final GraphVizJavaSvgGenerator graphVizJavaGenerator;
     
     public EnhancedReportGenerator(GraphVizJavaSvgGenerator graphVizJavaGenerator) {
         this.jsonMapper = new ObjectMapper();
         this.jsonMapper.registerModule(new JavaTimeModule());
         this.jsonMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.valueWriter = jsonMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
         this.graphVizJavaGenerator = graphVizJavaGenerator;
     }
     
@@ -46,29 +63,104 @@ public class EnhancedReportGenerator {
         
         System.out.println("🎨 Generating reports with GraphViz Java - Original quality!");
         
+        // Outbound edge count per service, shared by the Markdown and HTML overviews
+        Map<String, Long> outboundCounts = result.getDependencies().stream()
+            .collect(Collectors.groupingBy(ServiceDependency::getFromService, Collectors.counting()));
+        
+        List<ReportWriter> writers = new ArrayList<>();
         if (config.getOutputFormats().isJson()) {
-            generateJsonReport(result, outputDir);
+            writers.add(() -> generateJsonReport(result, outputDir));
+        }
+        if (config.getOutputFormats().isNdjson()) {
+            writers.add(() -> generateNdjsonReport(result, outputDir));
         }
-        
         if (config.getOutputFormats().isCsv()) {
-            generateCsvReport(result, outputDir);
+            writers.add(() -> generateCsvReport(result, outputDir));
         }
-        
         if (config.getOutputFormats().isMarkdown()) {
-            generateMarkdownReport(result, outputDir);
+            writers.add(() -> generateMarkdownReport(result, outputDir, outboundCounts));
         }
-        
         if (config.getOutputFormats().isHtml()) {
-            generateHtmlReport(result, outputDir);
+            writers.add(() -> generateHtmlReport(result, outputDir, outboundCounts));
+        }
+        if (config.getOutputFormats().isPerformanceHotspots()) {
+            writers.add(() -> generatePerformanceHotspotsReport(result, outputDir));
         }
-        
         // Generate GraphViz Java visualization
-        generateGraphVizJavaSvgReport(result, outputDir); // 🏆 ORIGINAL GraphViz with Pure Java!
+        AnalyzerConfiguration.ClusteringConfig clustering = config.getClustering();
+        boolean clustered = clustering != null && clustering.isEnabled();
+        if (clustered && clustering.getFlatDiagramMaxServices() > 0
+                && result.getServices().size() > clustering.getFlatDiagramMaxServices()) {
+            System.out.printf("   [SKIP] Flat SVG diagram skipped (%d services > flat_diagram_max_services %d), see %s%n",
+                result.getServices().size(), clustering.getFlatDiagramMaxServices(), AnalyzerConstants.CLUSTER_DIAGRAM_FILE);
+        } else {
+            writers.add(() -> generateGraphVizJavaSvgReport(result, outputDir)); // 🏆 ORIGINAL GraphViz with Pure Java!
+        }
+        if (clustered) {
+            writers.add(() -> generateClusterReport(result, outputDir, clustering));
+        }
+        AnalyzerConfiguration.VisualizationConfig visualization = config.getVisualization();
+        if (visualization != null && visualization.isEgoGraphs()) {
+            writers.add(() -> generateEgoGraphReport(result, outputDir, visualization));
+        }
+        
+        long start = System.nanoTime();
+        runConcurrently(writers);
         
-        System.out.println("[OK] All reports generated successfully!");
+        System.out.printf("[OK] All reports generated successfully in %d ms (%d writers in parallel)!%n",
+            (System.nanoTime() - start) / 1_000_000, writers.size());
         System.out.println("   🏆 GraphViz Java - Original quality with pure Maven dependencies!");
     }
     
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write() throws IOException;
+    }
+    
+    /**
+     * Run every writer on its own thread and wait for all of them; the first failure is rethrown
+     * once the others have finished, so no report is left half-written by an early return.
+     */
+    private void runConcurrently(List<ReportWriter> writers) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(writers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "report-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ReportWriter writer : writers) {
+                futures.add(executor.submit(() -> {
+                    writer.write();
+                    return null;
+                }));
+            }
+            
+            IOException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    IOException cause = e.getCause() instanceof IOException
+                        ? (IOException) e.getCause() : new IOException(e.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while generating reports", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
     private void generateGraphVizJavaSvgReport(AnalysisResult result, Path outputDir) throws IOException {
         Path svgPath = outputDir.resolve("dependency-diagram-graphviz-java.svg");
         graphVizJavaGenerator.generateSvgDiagram(result.getServices(), result.getDependencies(), svgPath);
@@ -77,27 +169,118 @@ public class EnhancedReportGenerator {
             svgPath.getFileName(), Files.size(svgPath) / 1024.0);
     }
     
+    private void generateClusterReport(AnalysisResult result, Path outputDir,
+                                       AnalyzerConfiguration.ClusteringConfig clustering) throws IOException {
+        List<ServiceCluster> clusters = new ServiceClusterer().cluster(result.getServices(), result.getDependencies(),
+            clustering.getStrategy(), clustering.getDirectoryDepth());
+        graphVizJavaGenerator.generateClusterDiagrams(clusters, result.getServices(), result.getDependencies(),
+            outputDir.resolve(AnalyzerConstants.CLUSTER_DIAGRAM_FILE), outputDir.resolve(AnalyzerConstants.CLUSTERS_DIR),
+            clustering.getRenderThreads());
+        
+        System.out.printf("   🗂️ Cluster diagrams: %s (%d clusters by %s) with drill-downs in %s/%n",
+            AnalyzerConstants.CLUSTER_DIAGRAM_FILE, clusters.size(), clustering.getStrategy(), AnalyzerConstants.CLUSTERS_DIR);
+    }
+    
+    private void generateEgoGraphReport(AnalysisResult result, Path outputDir,
+                                        AnalyzerConfiguration.VisualizationConfig visualization) throws IOException {
+        Path egoDir = outputDir.resolve(AnalyzerConstants.EGO_GRAPHS_DIR);
+        int hops = visualization.getEgoGraphHops() > 0 ? visualization.getEgoGraphHops() : 2;
+        int count = graphVizJavaGenerator.generateEgoGraphs(result.getServices(), result.getDependencies(),
+            egoDir, hops, visualization.getEgoGraphThreads());
+        
+        System.out.printf("   🔭 Ego graphs: %d per-service SVGs, index at %s/%s%n",
+            count, AnalyzerConstants.EGO_GRAPHS_DIR, AnalyzerConstants.EGO_GRAPH_INDEX_FILE);
+    }
+    
+    /**
+     * Streams the result field by field, one service / edge at a time, instead of building the whole
+     * tree in one writeValue. Edges appear once, under "dependencies"; each service's own list is not
+     * repeated (the --since baseline regroups the edges by from_service).
+     */
     private void generateJsonReport(AnalysisResult result, Path outputDir) throws IOException {
-        Path jsonPath = outputDir.resolve("analysis-result.json");
-        jsonMapper.writeValue(jsonPath.toFile(), result);
+        Path jsonPath = outputDir.resolve(AnalyzerConstants.JSON_REPORT_FILE);
+        
+        try (Writer out = Files.newBufferedWriter(jsonPath);
+             JsonGenerator generator = jsonMapper.getFactory().createGenerator(out)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeFieldName("analysis_date");
+            valueWriter.writeValue(generator, result.getAnalysisDate());
+            generator.writeStringField("project_path", result.getProjectPath());
+            generator.writeNumberField("total_services", result.getTotalServices());
+            generator.writeNumberField("total_dependencies", result.getTotalDependencies());
+            
+            generator.writeArrayFieldStart("services");
+            for (ServiceInfo service : result.getServices()) {
+                valueWriter.writeValue(generator, service);
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("dependencies");
+            for (ServiceDependency dep : result.getDependencies()) {
+                valueWriter.writeValue(generator, dep);
+            }
+            generator.writeEndArray();
+            
+            generator.writeFieldName("analysis_summary");
+            valueWriter.writeValue(generator, result.getSummary());
+            
+            generator.writeArrayFieldStart("latency_budgets");
+            for (LatencyBudget budget : result.getLatencyBudgets()) {
+                valueWriter.writeValue(generator, budget);
+            }
+            generator.writeEndArray();
+            
+            generator.writeArrayFieldStart("unmatched_traffic");
+            for (ServiceDependency dep : result.getUnmatchedTraffic()) {
+                valueWriter.writeValue(generator, dep);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
         
         System.out.printf("   📄 JSON report: %s (%.1f KB)%n", 
             jsonPath.getFileName(), Files.size(jsonPath) / 1024.0);
     }
     
+    /**
+     * One JSON object per line per dependency, for tools that stream or grep edges.
+     */
+    private void generateNdjsonReport(AnalysisResult result, Path outputDir) throws IOException {
+        Path ndjsonPath = outputDir.resolve(AnalyzerConstants.NDJSON_EDGES_FILE);
+        ObjectWriter lineWriter = valueWriter.without(SerializationFeature.INDENT_OUTPUT);
+        
+        try (Writer out = Files.newBufferedWriter(ndjsonPath);
+             JsonGenerator generator = jsonMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (ServiceDependency dep : result.getDependencies()) {
+                lineWriter.writeValue(generator, dep);
+                generator.writeRaw('\n');
+            }
+        }
+        
+        System.out.printf("   📄 NDJSON edges: %s (%.1f KB)%n", 
+            ndjsonPath.getFileName(), Files.size(ndjsonPath) / 1024.0);
+    }
+    
     private void generateCsvReport(AnalysisResult result, Path outputDir) throws IOException {
         Path csvPath = outputDir.resolve("dependency-matrix.csv");
         
         try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csvPath))) {
-            writer.println("From Service,To Service,Dependency Type,Source File,Endpoint");
+            writer.println("From Service,To Service,Dependency Type,Source File,Endpoint,Call Mode,Calls,P50 (ms),P99 (ms)");
             
             for (ServiceDependency dep : result.getDependencies()) {
-                writer.printf("%s,%s,%s,%s,%s%n",
+                EdgeTraffic traffic = dep.getTraffic();
+                writer.printf("%s,%s,%s,%s,%s,%s,%s,%s,%s%n",
                     dep.getFromService(),
                     dep.getToService(),
                     dep.getType(),
                     dep.getSourceFile() != null ? dep.getSourceFile() : "unknown",
-                    dep.getEndpoint() != null ? dep.getEndpoint() : "n/a"
+                    dep.getEndpoint() != null ? dep.getEndpoint() : "n/a",
+                    dep.getCallMode() != null ? dep.getCallMode() : "n/a",
+                    traffic != null ? String.valueOf(traffic.getCalls()) : "",
+                    traffic != null && traffic.getP50Ms() != null ? traffic.getP50Ms() : "",
+                    traffic != null && traffic.getP99Ms() != null ? traffic.getP99Ms() : ""
                 );
             }
         }
@@ -106,7 +289,7 @@ public class EnhancedReportGenerator {
             csvPath.getFileName(), Files.size(csvPath) / 1024.0);
     }
     
-    private void generateMarkdownReport(AnalysisResult result, Path outputDir) throws IOException {
+    private void generateMarkdownReport(AnalysisResult result, Path outputDir, Map<String, Long> outboundCounts) throws IOException {
         Path mdPath = outputDir.resolve("impact-analysis.md");
         
         try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(mdPath))) {
@@ -124,9 +307,7 @@ public class EnhancedReportGenerator {
             writer.println("|---------|------|-----------|--------------|");
             
             for (ServiceInfo service : result.getServices()) {
-                long depCount = result.getDependencies().stream()
-                    .filter(dep -> dep.getFromService().equals(service.getName()))
-                    .count();
+                long depCount = outboundCounts.getOrDefault(service.getName(), 0L);
                     
                 writer.printf("| %s | %s | %s | %d |%n",
                     service.getName(),
@@ -142,6 +323,12 @@ public class EnhancedReportGenerator {
             for (ServiceDependency dep : result.getDependencies()) {
                 writer.printf("### %s  ->  %s%n", dep.getFromService(), dep.getToService());
                 writer.printf("- **Type**: %s%n", dep.getType());
+                if (dep.getCallMode() != null) {
+                    writer.printf("- **Call Mode**: %s%n", dep.getCallMode());
+                }
+                if (dep.getTraffic() != null) {
+                    writer.printf("- **Traffic**: %s%n", describeTraffic(dep.getTraffic()));
+                }
                 if (dep.getEndpoint() != null) {
                     writer.printf("- **Endpoint**: %s%n", dep.getEndpoint());
                 }
@@ -150,13 +337,171 @@ public class EnhancedReportGenerator {
                 }
                 writer.println();
             }
+            
+            if (!result.getLatencyBudgets().isEmpty()) {
+                writeLatencyBudgets(writer, result.getLatencyBudgets());
+            }
+            
+            List<ServiceDependency> weighted = result.getDependencies().stream()
+                .filter(dep -> dep.getTraffic() != null)
+                .collect(Collectors.toList());
+            if (!weighted.isEmpty() || !result.getUnmatchedTraffic().isEmpty()) {
+                writeRuntimeTraffic(writer, weighted, result.getUnmatchedTraffic());
+            }
         }
         
         System.out.printf("   [NOTE] Markdown report: %s (%.1f KB)%n", 
             mdPath.getFileName(), Files.size(mdPath) / 1024.0);
     }
     
-    private void generateHtmlReport(AnalysisResult result, Path outputDir) throws IOException {
+    /**
+     * Edges by observed calls, busiest first, then runtime calls the static scan has no edge for.
+     */
+    private void writeRuntimeTraffic(PrintWriter writer, List<ServiceDependency> weighted, List<ServiceDependency> unmatched) {
+        writer.println("## Runtime Traffic");
+        writer.println("| From | To | Calls | p50 (ms) | p99 (ms) | Busiest Endpoint |");
+        writer.println("|------|----|-------|----------|----------|------------------|");
+        weighted.stream()
+            .sorted(Comparator.comparingLong((ServiceDependency dep) -> -dep.getTraffic().getCalls()))
+            .forEach(dep -> writeTrafficRow(writer, dep));
+        writer.println();
+        
+        if (!unmatched.isEmpty()) {
+            writer.println("### Observed Without a Detected Dependency");
+            writer.println("| From | To | Calls | p50 (ms) | p99 (ms) | Busiest Endpoint |");
+            writer.println("|------|----|-------|----------|----------|------------------|");
+            unmatched.forEach(dep -> writeTrafficRow(writer, dep));
+            writer.println();
+        }
+    }
+    
+    private void writeTrafficRow(PrintWriter writer, ServiceDependency dep) {
+        EdgeTraffic traffic = dep.getTraffic();
+        writer.printf("| %s | %s | %d | %s | %s | %s |%n",
+            dep.getFromService(),
+            dep.getToService(),
+            traffic.getCalls(),
+            traffic.getP50Ms() != null ? traffic.getP50Ms() : "-",
+            traffic.getP99Ms() != null ? traffic.getP99Ms() : "-",
+            traffic.getEndpoints().isEmpty() ? "-" : traffic.getEndpoints().get(0).getEndpoint()
+        );
+    }
+    
+    private static String describeTraffic(EdgeTraffic traffic) {
+        return traffic.getP50Ms() != null
+            ? String.format("%d calls (p50 %s ms, p99 %s ms)", traffic.getCalls(), traffic.getP50Ms(), traffic.getP99Ms())
+            : String.format("%d calls", traffic.getCalls());
+    }
+    
+    /**
+     * Critical path per entry point. The critical-path figure assumes fan-out calls run in parallel,
+     * the serial one that they run one after the other; the real latency lies in between.
+     */
+    private void writeLatencyBudgets(PrintWriter writer, List<LatencyBudget> budgets) {
+        writer.println("## Latency Budgets");
+        writer.println("| Entry Point | Critical Path (ms) | Serial (ms) | Budget (ms) | Sync Hops | Status |");
+        writer.println("|-------------|--------------------|-------------|-------------|-----------|--------|");
+        for (LatencyBudget budget : budgets) {
+            writer.printf("| %s | %d | %d | %s | %d | %s |%n",
+                budget.getEntryPoint(),
+                budget.getCriticalPathLatencyMs(),
+                budget.getSerialLatencyMs(),
+                budget.getBudgetMs() > 0 ? String.valueOf(budget.getBudgetMs()) : "-",
+                budget.getSyncDepth(),
+                budget.getStatus()
+            );
+        }
+        writer.println();
+        
+        for (LatencyBudget budget : budgets) {
+            writer.printf("### %s%n", budget.getEntryPoint());
+            if (budget.getGatewayService() != null) {
+                writer.printf("- **Route**: %s via %s%n", String.join(", ", budget.getPathPatterns()), budget.getGatewayService());
+            }
+            writer.printf("- **Critical Path**: %s%n", budget.getCriticalPath().stream()
+                .map(step -> String.format("%s (%d ms, %s)", step.getService(), step.getLatencyMs(), step.getLatencySource()))
+                .collect(Collectors.joining("  ->  ")));
+            if (budget.getMaxSyncDepth() > budget.getSyncDepth()) {
+                writer.printf("- **Longest Synchronous Chain**: %d hops%n", budget.getMaxSyncDepth());
+            }
+            if (!budget.getAsyncServices().isEmpty()) {
+                writer.printf("- **Handed Off Asynchronously**: %s%n", String.join(", ", budget.getAsyncServices()));
+            }
+            if (!budget.getCycles().isEmpty()) {
+                writer.printf("- **Synchronous Cycles (not counted)**: %s%n", String.join("; ", budget.getCycles()));
+            }
+            writer.println();
+        }
+    }
+    
+    private void generatePerformanceHotspotsReport(AnalysisResult result, Path outputDir) throws IOException {
+        Path mdPath = outputDir.resolve(AnalyzerConstants.PERFORMANCE_HOTSPOTS_FILE);
+        Map<String, String> headings = Map.of(
+            AnalyzerConstants.HOTSPOT_CALL_IN_LOOP, "Remote call in a loop",
+            AnalyzerConstants.HOTSPOT_SEQUENTIAL_CALLS, "Sequential remote calls",
+            AnalyzerConstants.HOTSPOT_BLOCKING_CALL, "Blocking reactive call");
+        
+        List<ServiceInfo> withHotspots = result.getServices().stream()
+            .filter(service -> !service.getPerformanceHotspots().isEmpty())
+            .sorted(Comparator.comparingInt((ServiceInfo service) -> -service.getPerformanceHotspots().size())
+                .thenComparing(ServiceInfo::getName))
+            .collect(Collectors.toList());
+        Map<String, Long> totals = withHotspots.stream()
+            .flatMap(service -> service.getPerformanceHotspots().stream())
+            .collect(Collectors.groupingBy(PerformanceHotspot::getType, Collectors.counting()));
+        
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(mdPath))) {
+            writer.println("# Performance Hotspots");
+            writer.println();
+            writer.println("Remote-call patterns that add latency, found statically in the Java sources " +
+                           "(not available with `--mode=bytecode`).");
+            writer.println();
+            writer.println("## Executive Summary");
+            writer.printf("- **Analysis Date**: %s%n",
+                result.getAnalysisTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            writer.printf("- **Hotspots**: %d in %d services%n",
+                totals.values().stream().mapToLong(Long::longValue).sum(), withHotspots.size());
+            writer.printf("- **Remote calls in loops (N+1)**: %d%n", totals.getOrDefault(AnalyzerConstants.HOTSPOT_CALL_IN_LOOP, 0L));
+            writer.printf("- **Sequential independent remote calls**: %d%n", totals.getOrDefault(AnalyzerConstants.HOTSPOT_SEQUENTIAL_CALLS, 0L));
+            writer.printf("- **Blocking reactive calls**: %d%n", totals.getOrDefault(AnalyzerConstants.HOTSPOT_BLOCKING_CALL, 0L));
+            writer.println();
+            
+            if (withHotspots.isEmpty()) {
+                writer.println("No hotspots found.");
+            } else {
+                writer.println("| Service | In Loops | Sequential | Blocking |");
+                writer.println("|---------|----------|------------|----------|");
+                for (ServiceInfo service : withHotspots) {
+                    Map<String, Long> counts = service.getPerformanceHotspots().stream()
+                        .collect(Collectors.groupingBy(PerformanceHotspot::getType, Collectors.counting()));
+                    writer.printf("| %s | %d | %d | %d |%n", service.getName(),
+                        counts.getOrDefault(AnalyzerConstants.HOTSPOT_CALL_IN_LOOP, 0L),
+                        counts.getOrDefault(AnalyzerConstants.HOTSPOT_SEQUENTIAL_CALLS, 0L),
+                        counts.getOrDefault(AnalyzerConstants.HOTSPOT_BLOCKING_CALL, 0L));
+                }
+            }
+            
+            for (ServiceInfo service : withHotspots) {
+                writer.println();
+                writer.printf("## %s%n", service.getName());
+                for (PerformanceHotspot hotspot : service.getPerformanceHotspots()) {
+                    writer.println();
+                    writer.printf("### %s: `%s`%n", headings.getOrDefault(hotspot.getType(), hotspot.getType()), hotspot.getMethod());
+                    writer.printf("- **Source**: %s:%d%n", hotspot.getSourceFile(), hotspot.getLine());
+                    writer.println("- **Remote calls**:");
+                    for (String call : hotspot.getRemoteCalls()) {
+                        writer.printf("  - `%s`%n", call);
+                    }
+                    writer.printf("- **Why**: %s%n", hotspot.getDetail());
+                }
+            }
+        }
+        
+        System.out.printf("   [PERF] Performance hotspots: %s (%.1f KB)%n",
+            mdPath.getFileName(), Files.size(mdPath) / 1024.0);
+    }
+    
+    private void generateHtmlReport(AnalysisResult result, Path outputDir, Map<String, Long> outboundCounts) throws IOException {
         Path htmlPath = outputDir.resolve("dependency-report.html");
         
         try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(htmlPath))) {
@@ -204,9 +549,7 @@ public class EnhancedReportGenerator {
             writer.println("<tr><th>Service</th><th>Port</th><th>Framework</th><th>Outbound Dependencies</th><th>Risk Level</th></tr>");
             
             for (ServiceInfo service : result.getServices()) {
-                long depCount = result.getDependencies().stream()
-                    .filter(dep -> dep.getFromService().equals(service.getName()))
-                    .count();
+                long depCount = outboundCounts.getOrDefault(service.getName(), 0L);
                     
                 String riskLevel = depCount > 5 ? "High" : depCount > 2 ? "Medium" : "Low";
                 String riskClass = depCount > 5 ? "low-confidence" : depCount > 2 ? "medium-confidence" : "high-confidence";
@@ -231,6 +574,9 @@ public class EnhancedReportGenerator {
                     if (dep.getEndpoint() != null && !dep.getEndpoint().isEmpty()) {
                         writer.printf(" endpoint: %s", dep.getEndpoint());
                     }
+                    if (dep.getTraffic() != null) {
+                        writer.printf(", %s", describeTraffic(dep.getTraffic()));
+                    }
                     
                     writer.print(")</div>\n");
                 }
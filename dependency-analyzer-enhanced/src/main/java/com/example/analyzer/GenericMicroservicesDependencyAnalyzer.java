@@ -22,13 +22,15 @@ public class GenericMicroservicesDependencyAnalyzer {
     public CommandLineRunner commandLineRunner(MicroserviceAnalyzer analyzer) {
         return args -> {
             if (args.length < 1) {
-                logger.error("Usage: java -jar generic-dependency-analyzer.jar <project-path> [config-file] [--include-all]");
+                logger.error("Usage: java -jar generic-dependency-analyzer.jar <project-path> [config-file] [--include-all] [--since <git-ref>] [--mode=source|bytecode]");
                 logger.error("       java -jar generic-dependency-analyzer.jar /path/to/microservices");
                 logger.error("       java -jar generic-dependency-analyzer.jar /path/to/microservices /path/to/config.yml");
                 logger.error("       java -jar generic-dependency-analyzer.jar /path/to/microservices . --include-all");
                 logger.error("");
                 logger.error("Options:");
                 logger.error("  --include-all    Include gateway services and libraries in analysis (default: excluded)");
+                logger.error("  --since <ref>    Only rescan services changed since the git ref, reusing the previous analysis-result.json");
+                logger.error("  --mode=bytecode  Read compiled classes/jars instead of parsing sources (modules must be built)");
                 System.exit(1);
             }
 
@@ -36,16 +38,39 @@ public class GenericMicroservicesDependencyAnalyzer {
             boolean includeAll = false;
             String projectPathArg = args[0];
             String configPathArg = null;
+            String sinceRef = null;
+            String scanMode = AnalyzerConstants.SCAN_MODE_SOURCE;
             
             for (int i = 1; i < args.length; i++) {
                 if ("--include-all".equals(args[i])) {
                     includeAll = true;
                     logger.info("[CONFIG] --include-all flag detected: will include gateway services and libraries");
+                } else if ("--since".equals(args[i]) || args[i].startsWith("--since=")) {
+                    if ("--since".equals(args[i])) {
+                        sinceRef = i + 1 < args.length && !args[i + 1].startsWith("-") ? args[++i] : "";
+                    } else {
+                        sinceRef = args[i].substring("--since=".length());
+                    }
+                    if (sinceRef.isBlank()) {
+                        logger.error("[FAIL] --since needs a git ref, e.g. --since origin/main");
+                        System.exit(1);
+                    }
+                    logger.info("[CONFIG] --since flag detected: change-scoped analysis since {}", sinceRef);
+                } else if ("--mode".equals(args[i]) && i + 1 < args.length) {
+                    scanMode = args[++i];
+                } else if (args[i].startsWith("--mode=")) {
+                    scanMode = args[i].substring("--mode=".length());
                 } else if (configPathArg == null && !args[i].startsWith("--")) {
                     configPathArg = args[i];
                 }
             }
 
+            if (!AnalyzerConstants.SCAN_MODE_SOURCE.equals(scanMode) && !AnalyzerConstants.SCAN_MODE_BYTECODE.equals(scanMode)) {
+                logger.error("[FAIL] Unknown --mode '{}' (expected source or bytecode)", scanMode);
+                System.exit(1);
+            }
+            logger.info("[CONFIG] Scan mode: {}", scanMode);
+
             Path projectPath = Paths.get(projectPathArg);
             Path configPath = configPathArg != null ? Paths.get(configPathArg) : null;
 
@@ -59,7 +84,7 @@ public class GenericMicroservicesDependencyAnalyzer {
             }
 
             try {
-                analyzer.analyzeProject(projectPath, configPath, includeAll);
+                analyzer.analyzeProject(projectPath, configPath, includeAll, sinceRef, scanMode);
                 logger.info("[OK] Analysis completed successfully!");
                 logger.info("[STATS] Reports generated in: {}", projectPath.resolve("dependency-analysis"));
             } catch (Exception e) {
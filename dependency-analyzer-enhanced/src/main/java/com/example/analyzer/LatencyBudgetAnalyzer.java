@@ -0,0 +1,291 @@
+package com.example.analyzer;
+
+import com.example.analyzer.config.AnalyzerConfiguration;
+import com.example.analyzer.model.GatewayRoute;
+import com.example.analyzer.model.LatencyBudget;
+import com.example.analyzer.model.ServiceDependency;
+import com.example.analyzer.model.ServiceInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Latency-budget stage: labels every dependency with its call mode and, for each entry point, finds
+ * the synchronous call chain that dominates end-to-end latency.
+ *
+ * Entry points are the gateway routes; when none were detected, every service that makes synchronous
+ * calls but receives none. A service costs its own latency (service_latency_ms, else the metrics file,
+ * else the default) plus network_hop_latency_ms for each synchronous call it makes. Two totals bracket
+ * the real figure:
+ * - critical path: fan-out calls made in parallel, so only the slowest branch counts
+ * - serial: every call made one after the other
+ * A call that closes a synchronous cycle is left out of both and listed instead.
+ */
+public class LatencyBudgetAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyBudgetAnalyzer.class);
+
+    private static final String SOURCE_CONFIG = "config";
+    private static final String SOURCE_METRICS = "metrics";
+    private static final String SOURCE_DEFAULT = "default";
+
+    private final AnalyzerConfiguration.LatencyBudgetConfig config;
+    private final Map<String, Integer> measuredLatencies;
+
+    public LatencyBudgetAnalyzer(AnalyzerConfiguration.LatencyBudgetConfig config, Path projectPath) {
+        this.config = config;
+        String metricsFile = config.getMetricsFile();
+        this.measuredLatencies = metricsFile == null || metricsFile.isBlank()
+            ? Map.of() : loadMetrics(projectPath.resolve(metricsFile));
+    }
+
+    /**
+     * sync when the caller waits for the answer (Feign, RestTemplate, WebClient, gateway routes),
+     * async for messaging, build for library dependencies.
+     */
+    public static String callMode(String dependencyType) {
+        String type = dependencyType == null ? "" : dependencyType.toLowerCase();
+        if (type.equals(AnalyzerConstants.MESSAGING_TYPE) || type.equals(AnalyzerConstants.ASYNC_TYPE)) {
+            return AnalyzerConstants.CALL_MODE_ASYNC;
+        }
+        if (type.equals("maven-dependency")) {
+            return AnalyzerConstants.CALL_MODE_BUILD;
+        }
+        return AnalyzerConstants.CALL_MODE_SYNC;
+    }
+
+    public static void annotateCallModes(List<ServiceDependency> dependencies) {
+        for (ServiceDependency dep : dependencies) {
+            dep.setCallMode(callMode(dep.getDependencyType()));
+        }
+    }
+
+    public List<LatencyBudget> analyze(List<ServiceInfo> services, List<ServiceDependency> dependencies) {
+        Map<String, Set<String>> syncCalls = new HashMap<>();
+        Map<String, Set<String>> asyncCalls = new HashMap<>();
+        Set<String> calledSynchronously = new HashSet<>();
+        for (ServiceDependency dep : dependencies) {
+            String from = dep.getFromService();
+            String to = dep.getToService();
+            if (from == null || to == null || from.equals(to)) {
+                continue;
+            }
+            String mode = dep.getCallMode() != null ? dep.getCallMode() : callMode(dep.getDependencyType());
+            if (AnalyzerConstants.CALL_MODE_SYNC.equals(mode)) {
+                syncCalls.computeIfAbsent(from, k -> new TreeSet<>()).add(to);
+                calledSynchronously.add(to);
+            } else if (AnalyzerConstants.CALL_MODE_ASYNC.equals(mode)) {
+                asyncCalls.computeIfAbsent(from, k -> new TreeSet<>()).add(to);
+            }
+        }
+
+        List<LatencyBudget> budgets = new ArrayList<>();
+        for (ServiceInfo service : services) {
+            for (GatewayRoute route : service.getGatewayRoutes()) {
+                String target = route.getTargetService();
+                if (target == null || target.equals(service.getName())) {
+                    continue;
+                }
+                // Only this route's target counts below the gateway, not every service it routes to
+                Walk walk = new Walk(syncCalls);
+                Cost gateway = walk.viaGateway(service.getName(), target);
+                budgets.add(budget(new LatencyBudget(route.getId(), service.getName(),
+                    new ArrayList<>(route.getPathPatterns())), gateway, walk, asyncCalls));
+            }
+        }
+        if (budgets.isEmpty()) {
+            for (ServiceInfo service : services) {
+                String name = service.getName();
+                if (syncCalls.containsKey(name) && !calledSynchronously.contains(name)) {
+                    Walk walk = new Walk(syncCalls);
+                    budgets.add(budget(new LatencyBudget(name, null, new ArrayList<>()), walk.cost(name), walk, asyncCalls));
+                }
+            }
+        }
+
+        budgets.sort(Comparator.comparingLong((LatencyBudget b) -> -b.getCriticalPathLatencyMs())
+            .thenComparing(LatencyBudget::getEntryPoint));
+        if (!budgets.isEmpty()) {
+            LatencyBudget slowest = budgets.get(0);
+            logger.info("[LATENCY] {} entry points, slowest {} at {} ms over {} synchronous hops ({})",
+                budgets.size(), slowest.getEntryPoint(), slowest.getCriticalPathLatencyMs(),
+                slowest.getSyncDepth(), slowest.getStatus());
+        }
+        return budgets;
+    }
+
+    private LatencyBudget budget(LatencyBudget budget, Cost entry, Walk walk, Map<String, Set<String>> asyncCalls) {
+        for (Cost step = entry; step != null; step = step.next) {
+            budget.getCriticalPath().add(new LatencyBudget.PathStep(step.service, step.own, latencySource(step.service)));
+        }
+        budget.setSyncDepth(budget.getCriticalPath().size() - 1);
+        budget.setMaxSyncDepth(entry.depth);
+        budget.setCriticalPathLatencyMs(entry.critical);
+        budget.setSerialLatencyMs(entry.serial);
+        budget.setBudgetMs(config.getRouteBudgetMs());
+        budget.setStatus(status(entry, config.getRouteBudgetMs()));
+
+        Set<String> handedOff = new TreeSet<>();
+        for (String service : walk.reached()) {
+            handedOff.addAll(asyncCalls.getOrDefault(service, Set.of()));
+        }
+        budget.setAsyncServices(new ArrayList<>(handedOff));
+        budget.setCycles(new ArrayList<>(walk.cycles));
+        return budget;
+    }
+
+    private static String status(Cost entry, int budgetMs) {
+        if (budgetMs <= 0) {
+            return AnalyzerConstants.BUDGET_UNBUDGETED;
+        }
+        if (entry.critical > budgetMs) {
+            return AnalyzerConstants.BUDGET_OVER;
+        }
+        return entry.serial > budgetMs ? AnalyzerConstants.BUDGET_AT_RISK : AnalyzerConstants.BUDGET_WITHIN;
+    }
+
+    private int latency(String service) {
+        Integer configured = config.getServiceLatencyMs() != null ? config.getServiceLatencyMs().get(service) : null;
+        if (configured != null) {
+            return configured;
+        }
+        return measuredLatencies.getOrDefault(service, config.getDefaultServiceLatencyMs());
+    }
+
+    private String latencySource(String service) {
+        if (config.getServiceLatencyMs() != null && config.getServiceLatencyMs().containsKey(service)) {
+            return SOURCE_CONFIG;
+        }
+        return measuredLatencies.containsKey(service) ? SOURCE_METRICS : SOURCE_DEFAULT;
+    }
+
+    /**
+     * Measured per-service latencies, e.g. p95 exported from the metrics backend: a JSON object of
+     * service name to milliseconds, or CSV lines "service,latency_ms" (a header row is skipped).
+     */
+    private Map<String, Integer> loadMetrics(Path metricsPath) {
+        Map<String, Integer> latencies = new HashMap<>();
+        try {
+            if (metricsPath.toString().endsWith(".json")) {
+                Map<String, Number> values = new ObjectMapper().readValue(metricsPath.toFile(),
+                    new TypeReference<Map<String, Number>>() {});
+                values.forEach((service, ms) -> latencies.put(service, (int) Math.round(ms.doubleValue())));
+            } else {
+                for (String line : Files.readAllLines(metricsPath)) {
+                    String[] columns = line.split(",");
+                    if (columns.length < 2) {
+                        continue;
+                    }
+                    try {
+                        latencies.put(columns[0].trim(), (int) Math.round(Double.parseDouble(columns[1].trim())));
+                    } catch (NumberFormatException e) {
+                        logger.debug("[LATENCY] Skipping non-numeric metrics line: {}", line);
+                    }
+                }
+            }
+            logger.info("[LATENCY] Loaded {} measured service latencies from {}", latencies.size(), metricsPath);
+        } catch (IOException e) {
+            logger.warn("[LATENCY] Could not read metrics file {}: {} - using configured estimates", metricsPath, e.getMessage());
+        }
+        return latencies;
+    }
+
+    /**
+     * Latency of a service including everything it calls synchronously.
+     */
+    private static final class Cost {
+        final String service;
+        final int own;
+        long critical;
+        long serial;
+        int depth; // longest synchronous chain below, in hops
+        Cost next; // callee on the critical path
+
+        Cost(String service, int own) {
+            this.service = service;
+            this.own = own;
+            this.critical = own;
+            this.serial = own;
+        }
+
+        void addCallee(Cost callee, int hopMs) {
+            long viaCallee = own + hopMs + callee.critical;
+            if (next == null || viaCallee > critical) {
+                critical = viaCallee;
+                next = callee;
+            }
+            serial = saturatedAdd(serial, hopMs + callee.serial);
+            depth = Math.max(depth, callee.depth + 1);
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum; // serial totals multiply along shared sub-chains
+        }
+    }
+
+    /**
+     * Depth-first walk from one entry point. Costs are memoized per walk, so each service is
+     * evaluated once per entry point; callees already on the stack close a cycle and are skipped.
+     */
+    private final class Walk {
+        private final Map<String, Set<String>> syncCalls;
+        private final Map<String, Cost> memo = new LinkedHashMap<>();
+        private final LinkedHashSet<String> stack = new LinkedHashSet<>();
+        private final Set<String> cycles = new LinkedHashSet<>();
+
+        Walk(Map<String, Set<String>> syncCalls) {
+            this.syncCalls = syncCalls;
+        }
+
+        Cost cost(String service) {
+            Cost known = memo.get(service);
+            if (known != null) {
+                return known;
+            }
+            stack.add(service);
+            Cost cost = new Cost(service, latency(service));
+            for (String callee : syncCalls.getOrDefault(service, Set.of())) {
+                if (stack.contains(callee)) {
+                    cycles.add(cycle(callee));
+                    continue;
+                }
+                cost.addCallee(cost(callee), config.getNetworkHopLatencyMs());
+            }
+            stack.remove(service);
+            memo.put(service, cost);
+            return cost;
+        }
+
+        Cost viaGateway(String gateway, String target) {
+            stack.add(gateway);
+            Cost cost = new Cost(gateway, latency(gateway));
+            cost.addCallee(cost(target), config.getNetworkHopLatencyMs());
+            stack.remove(gateway);
+            memo.put(gateway, cost);
+            return cost;
+        }
+
+        Set<String> reached() {
+            return memo.keySet();
+        }
+
+        private String cycle(String closingService) {
+            StringBuilder text = new StringBuilder();
+            boolean inCycle = false;
+            for (String service : stack) {
+                inCycle |= service.equals(closingService);
+                if (inCycle) {
+                    text.append(service).append(" -> ");
+                }
+            }
+            return text.append(closingService).toString();
+        }
+    }
+}
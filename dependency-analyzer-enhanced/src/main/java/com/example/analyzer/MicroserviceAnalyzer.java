@@ -3,8 +3,10 @@ package com.example.analyzer;
 import com.example.analyzer.config.AnalyzerConfiguration;
 import com.example.analyzer.model.*;
 import com.example.analyzer.scanner.*;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -21,11 +23,34 @@ public class MicroserviceAnalyzer {
     private static final Logger logger = LoggerFactory.getLogger(MicroserviceAnalyzer.class);
 
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     
     public void analyzeProject(Path projectPath, Path configPath, boolean includeAll) throws IOException {
+        analyzeProject(projectPath, configPath, includeAll, null);
+    }
+    
+    /**
+     * Analyze the project. When sinceRef is set, only services touched since that git ref
+     * (plus callers of services whose endpoints changed) are rescanned; everything else is
+     * taken from the previous analysis-result.json in the output directory.
+     */
+    public void analyzeProject(Path projectPath, Path configPath, boolean includeAll, String sinceRef) throws IOException {
+        analyzeProject(projectPath, configPath, includeAll, sinceRef, AnalyzerConstants.SCAN_MODE_SOURCE);
+    }
+    
+    /**
+     * As above; scanMode "bytecode" reads compiled classes (target/classes, build/classes or built jars)
+     * instead of parsing Java sources, falling back to sources for services that are not compiled.
+     */
+    public void analyzeProject(Path projectPath, Path configPath, boolean includeAll, String sinceRef, String scanMode) throws IOException {
         // Load configuration
         AnalyzerConfiguration config = loadConfiguration(configPath);
+        
+        if (sinceRef != null && !config.getOutputFormats().isJson()) {
+            logger.warn("[GIT] JSON output is disabled - the --since baseline will not be refreshed by this run");
+        }
 
         logger.info("[SCAN] Discovering services...");
 
@@ -46,15 +71,39 @@ public class MicroserviceAnalyzer {
         logger.info("[LINK] Analyzing dependencies...");
 
         // Analyze dependencies for each service
-        GenericDependencyScanner dependencyScanner = new GenericDependencyScanner(config, includeAll);
+        GenericDependencyScanner dependencyScanner = new GenericDependencyScanner(config, includeAll, scanMode);
+        Path outputDir = projectPath.resolve(AnalyzerConstants.DEPENDENCY_ANALYSIS_DIR);
+        
+        Map<String, ServiceInfo> baselineServices = sinceRef != null ? loadBaselineServices(outputDir) : null;
+        Set<String> servicesToRescan;
         
-        // FIRST: Build endpoint map for all services (to validate dependencies and filter external services)
-        logger.info("[INFO] Building service endpoint map...");
-        dependencyScanner.buildServiceEndpointsMap(services, projectPath);
+        if (baselineServices == null) {
+            // FIRST: Build endpoint map for all services (to validate dependencies and filter external services)
+            logger.info("[INFO] Building service endpoint map...");
+            dependencyScanner.buildServiceEndpointsMap(services, projectPath);
+            servicesToRescan = services.stream().map(ServiceInfo::getName).collect(Collectors.toSet());
+        } else {
+            servicesToRescan = prepareChangeScopedScan(sinceRef, services, baselineServices, dependencyScanner, projectPath);
+        }
         
         List<ServiceDependency> allDependencies = new ArrayList<>();
         
         for (ServiceInfo service : services) {
+            if (!servicesToRescan.contains(service.getName())) {
+                ServiceInfo cachedService = baselineServices.get(service.getName());
+                // Messaging edges are re-linked below from the cached topics, so drop the old ones
+                List<ServiceDependency> cached = cachedService.getDependencies().stream()
+                    .filter(dep -> !AnalyzerConstants.MESSAGING_TYPE.equals(dep.getDependencyType()))
+                    .collect(Collectors.toList());
+                service.setDependencies(cached);
+                service.setProducedMessages(new ArrayList<>(cachedService.getProducedMessages()));
+                service.setConsumedMessages(new ArrayList<>(cachedService.getConsumedMessages()));
+                service.setGatewayRoutes(new ArrayList<>(cachedService.getGatewayRoutes()));
+                service.setPerformanceHotspots(new ArrayList<>(cachedService.getPerformanceHotspots()));
+                allDependencies.addAll(cached);
+                continue;
+            }
+            
             List<ServiceDependency> serviceDependencies = dependencyScanner.scanDependencies(service, services, projectPath);
             
             // Ensure fromService is properly set for arrow drawing
@@ -68,12 +117,31 @@ public class MicroserviceAnalyzer {
             allDependencies.addAll(serviceDependencies);
         }
         
+        // Join Kafka/RabbitMQ producers to consumers across services by topic/queue
+        allDependencies.addAll(new MessagingTopicIndex(services).linkProducersToConsumers(services));
+        
+        // Resolve which target endpoints each gateway route predicate reaches
+        dependencyScanner.computeGatewayFanOut(services);
+        dependencyScanner.shutdown();
+        
         // Gateway routing disabled - dependencies detected via actual code analysis only
         // allDependencies.addAll(createGatewayRoutingDependencies(services));
         
         // Filter out noise: configuration dependencies and parent project
         allDependencies = filterBusinessDependencies(allDependencies);
         
+        // Label every edge sync / async so call chains can be told apart from hand-offs
+        LatencyBudgetAnalyzer.annotateCallModes(allDependencies);
+        
+        // Weight edges with the traffic seen in access logs / span exports (cached edges drop old weights)
+        allDependencies.forEach(dep -> dep.setTraffic(null));
+        List<ServiceDependency> unmatchedTraffic = new ArrayList<>();
+        AnalyzerConfiguration.RuntimeTrafficConfig runtimeTraffic = config.getRuntimeTraffic();
+        if (runtimeTraffic != null && runtimeTraffic.getSources() != null && !runtimeTraffic.getSources().isEmpty()) {
+            logger.info("[TRAFFIC] Weighting dependencies with runtime traffic...");
+            unmatchedTraffic = new RuntimeTrafficScanner(runtimeTraffic, projectPath, services).weigh(allDependencies);
+        }
+        
         // Calculate total dependencies
         int totalDependencies = allDependencies.size();
 
@@ -87,11 +155,18 @@ public class MicroserviceAnalyzer {
         result.setDependencies(allDependencies); // Add all dependencies to result
         result.setTotalServices(services.size());
         result.setTotalDependencies(totalDependencies);
+        result.setUnmatchedTraffic(unmatchedTraffic);
+        
+        // Critical path and end-to-end latency budget per gateway route
+        AnalyzerConfiguration.LatencyBudgetConfig latencyBudget = config.getLatencyBudget();
+        if (latencyBudget != null && latencyBudget.isEnabled()) {
+            logger.info("[LATENCY] Computing synchronous critical paths...");
+            result.setLatencyBudgets(new LatencyBudgetAnalyzer(latencyBudget, projectPath).analyze(services, allDependencies));
+        }
 
         // Generate reports with Pure Java SVG generator
         logger.info("📈 Generating reports...");
 
-        Path outputDir = projectPath.resolve(AnalyzerConstants.DEPENDENCY_ANALYSIS_DIR);
         Files.createDirectories(outputDir);
 
         // Create GraphViz Java generator
@@ -102,11 +177,105 @@ public class MicroserviceAnalyzer {
         logger.info("Reports generated:");
         if (config.getOutputFormats().isHtml()) logger.info("   [OK] {}", AnalyzerConstants.HTML_REPORT_FILE);
         if (config.getOutputFormats().isJson()) logger.info("   [OK] {}", AnalyzerConstants.JSON_REPORT_FILE);
+        if (config.getOutputFormats().isNdjson()) logger.info("   [OK] {}", AnalyzerConstants.NDJSON_EDGES_FILE);
         if (config.getOutputFormats().isCsv()) logger.info("   [OK] {}", AnalyzerConstants.CSV_MATRIX_FILE);
         if (config.getOutputFormats().isMarkdown()) logger.info("   [OK] {}", AnalyzerConstants.IMPACT_ANALYSIS_FILE);
+        if (config.getOutputFormats().isPerformanceHotspots()) logger.info("   [OK] {}", AnalyzerConstants.PERFORMANCE_HOTSPOTS_FILE);
         if (config.getOutputFormats().isSvg()) {
             logger.info("   🏆 {} (Original GraphViz + Pure Java)", AnalyzerConstants.SVG_DIAGRAM_FILE);
         }
+        if (config.getClustering() != null && config.getClustering().isEnabled()) {
+            logger.info("   [OK] {} + {}/ (cluster drill-downs)", AnalyzerConstants.CLUSTER_DIAGRAM_FILE, AnalyzerConstants.CLUSTERS_DIR);
+        }
+    }
+
+    /**
+     * Work out which services need a rescan for --since mode and seed the endpoint map:
+     * changed services are re-extracted, unchanged ones reuse their baseline endpoints.
+     * Callers of a changed service are rescanned too when that service's endpoints changed,
+     * since their endpoint matches may no longer hold.
+     */
+    private Set<String> prepareChangeScopedScan(String sinceRef, List<ServiceInfo> services,
+                                                Map<String, ServiceInfo> baselineServices,
+                                                GenericDependencyScanner dependencyScanner,
+                                                Path projectPath) throws IOException {
+        GitChangeDetector changeDetector = new GitChangeDetector(projectPath);
+        Set<String> changedServices = changeDetector.findChangedServices(
+            changeDetector.findChangedFiles(sinceRef), services);
+        
+        // Services missing from the baseline are new and always scanned
+        for (ServiceInfo service : services) {
+            if (!baselineServices.containsKey(service.getName())) {
+                changedServices.add(service.getName());
+            }
+        }
+        
+        List<ServiceInfo> changed = new ArrayList<>();
+        for (ServiceInfo service : services) {
+            if (changedServices.contains(service.getName())) {
+                changed.add(service);
+            } else {
+                service.setExposedEndpoints(new ArrayList<>(baselineServices.get(service.getName()).getExposedEndpoints()));
+                dependencyScanner.registerServiceEndpoints(service);
+            }
+        }
+        
+        logger.info("[INFO] Refreshing endpoint map for {} changed services...", changed.size());
+        dependencyScanner.refreshServiceEndpoints(changed, projectPath);
+        
+        Set<String> servicesToRescan = new LinkedHashSet<>(changedServices);
+        for (ServiceInfo service : changed) {
+            ServiceInfo previous = baselineServices.get(service.getName());
+            if (previous == null || previous.getExposedEndpoints().equals(service.getExposedEndpoints())) {
+                continue;
+            }
+            for (ServiceInfo caller : baselineServices.values()) {
+                boolean callsChangedService = caller.getDependencies().stream()
+                    .anyMatch(dep -> service.getName().equals(dep.getTargetService()));
+                if (callsChangedService && servicesToRescan.add(caller.getName())) {
+                    logger.info("   [RESCAN] {} calls {} whose endpoints changed", caller.getName(), service.getName());
+                }
+            }
+        }
+        
+        logger.info("[GIT] Rescanning {} of {} services since {}: {}",
+            servicesToRescan.size(), services.size(), sinceRef, servicesToRescan);
+        return servicesToRescan;
+    }
+    
+    /**
+     * Load services from the previous analysis-result.json, keyed by name.
+     * Returns null (forcing a full scan) when there is no usable baseline.
+     */
+    private Map<String, ServiceInfo> loadBaselineServices(Path outputDir) {
+        Path baselinePath = outputDir.resolve(AnalyzerConstants.JSON_REPORT_FILE);
+        if (!Files.exists(baselinePath)) {
+            logger.warn("[GIT] No baseline found at {} - running a full analysis", baselinePath);
+            return null;
+        }
+        
+        try {
+            AnalysisResult baseline = jsonMapper.readValue(baselinePath.toFile(), AnalysisResult.class);
+            Map<String, ServiceInfo> baselineServices = new LinkedHashMap<>();
+            for (ServiceInfo service : baseline.getServices()) {
+                baselineServices.put(service.getName(), service);
+            }
+            // Edges are stored once at the top level; hand each service its outbound ones back
+            if (baseline.getDependencies() != null) {
+                baselineServices.values().forEach(service -> service.setDependencies(new ArrayList<>()));
+                for (ServiceDependency dep : baseline.getDependencies()) {
+                    ServiceInfo owner = baselineServices.get(dep.getFromService());
+                    if (owner != null) {
+                        owner.getDependencies().add(dep);
+                    }
+                }
+            }
+            logger.info("[GIT] Loaded baseline with {} services from {}", baselineServices.size(), baselinePath);
+            return baselineServices;
+        } catch (Exception e) {
+            logger.warn("[GIT] Could not read baseline {}: {} - running a full analysis", baselinePath, e.getMessage());
+            return null;
+        }
     }
 
     private AnalyzerConfiguration loadConfiguration(Path configPath) throws IOException {
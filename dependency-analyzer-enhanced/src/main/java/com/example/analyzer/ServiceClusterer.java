@@ -0,0 +1,170 @@
+package com.example.analyzer;
+
+import com.example.analyzer.model.ServiceCluster;
+import com.example.analyzer.model.ServiceDependency;
+import com.example.analyzer.model.ServiceInfo;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Groups services for the cluster-level diagrams, so large estates can be drawn as a handful of
+ * collapsed nodes with one drill-down diagram per cluster.
+ *
+ * Strategies:
+ * - maven-parent: services sharing a Maven parent POM (others fall back to their directory)
+ * - directory: the first N directories of the service path
+ * - community: label propagation over the dependency edges; services without edges are
+ *   gathered into one "independent services" cluster
+ */
+public class ServiceClusterer {
+
+    private static final int MAX_PROPAGATION_ROUNDS = 100;
+    private static final String ROOT_CLUSTER = "(root)";
+    private static final String INDEPENDENT_CLUSTER = "independent services";
+
+    public List<ServiceCluster> cluster(List<ServiceInfo> services, List<ServiceDependency> dependencies,
+                                        String strategy, int directoryDepth) {
+        Map<String, String> clusterOf;
+        switch (strategy == null ? AnalyzerConstants.CLUSTER_BY_DIRECTORY : strategy) {
+            case AnalyzerConstants.CLUSTER_BY_MAVEN_PARENT:
+                clusterOf = byMavenParent(services, directoryDepth);
+                break;
+            case AnalyzerConstants.CLUSTER_BY_DIRECTORY:
+                clusterOf = byDirectory(services, directoryDepth);
+                break;
+            case AnalyzerConstants.CLUSTER_BY_COMMUNITY:
+                clusterOf = byCommunity(services, dependencies);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown clustering strategy '" + strategy + "' (expected "
+                    + AnalyzerConstants.CLUSTER_BY_MAVEN_PARENT + ", " + AnalyzerConstants.CLUSTER_BY_DIRECTORY
+                    + " or " + AnalyzerConstants.CLUSTER_BY_COMMUNITY + ")");
+        }
+
+        Map<String, List<String>> members = new LinkedHashMap<>();
+        for (ServiceInfo service : services) {
+            String cluster = clusterOf.get(service.getName());
+            List<String> names = members.computeIfAbsent(cluster, k -> new ArrayList<>());
+            if (!names.contains(service.getName())) {
+                names.add(service.getName());
+            }
+        }
+
+        List<ServiceCluster> clusters = new ArrayList<>();
+        members.forEach((name, names) -> clusters.add(new ServiceCluster(name, names)));
+        clusters.sort(Comparator.comparingInt((ServiceCluster c) -> -c.getServices().size())
+            .thenComparing(ServiceCluster::getName));
+        return clusters;
+    }
+
+    private Map<String, String> byDirectory(List<ServiceInfo> services, int depth) {
+        Map<String, String> clusterOf = new HashMap<>();
+        for (ServiceInfo service : services) {
+            clusterOf.put(service.getName(), directoryPrefix(service, depth));
+        }
+        return clusterOf;
+    }
+
+    private String directoryPrefix(ServiceInfo service, int depth) {
+        if (service.getPath() == null) {
+            return ROOT_CLUSTER;
+        }
+        // The last segment is the service directory itself; group by the directories above it
+        Path parent = Paths.get(service.getPath()).getParent();
+        if (parent == null || parent.getNameCount() == 0) {
+            return ROOT_CLUSTER;
+        }
+        int segments = Math.min(Math.max(depth, 1), parent.getNameCount());
+        return parent.subpath(0, segments).toString().replace('\\', '/');
+    }
+
+    private Map<String, String> byMavenParent(List<ServiceInfo> services, int directoryDepth) {
+        // Short artifactId names unless two parents share one
+        Map<String, Set<String>> coordinatesByArtifact = new HashMap<>();
+        for (ServiceInfo service : services) {
+            if (service.getMavenParent() != null) {
+                coordinatesByArtifact.computeIfAbsent(artifactId(service.getMavenParent()), k -> new HashSet<>())
+                    .add(service.getMavenParent());
+            }
+        }
+
+        Map<String, String> clusterOf = new HashMap<>();
+        for (ServiceInfo service : services) {
+            String parent = service.getMavenParent();
+            if (parent == null) {
+                clusterOf.put(service.getName(), directoryPrefix(service, directoryDepth));
+            } else {
+                String artifactId = artifactId(parent);
+                clusterOf.put(service.getName(), coordinatesByArtifact.get(artifactId).size() > 1 ? parent : artifactId);
+            }
+        }
+        return clusterOf;
+    }
+
+    private String artifactId(String coordinates) {
+        return coordinates.substring(coordinates.indexOf(':') + 1);
+    }
+
+    /**
+     * Label propagation on the undirected, call-count weighted service graph. Every service starts
+     * with its own label and repeatedly adopts the label carrying the most weight among its
+     * neighbours. Services are visited in name order and ties keep the current label (else the
+     * smallest), so the result is deterministic. Runs in O(rounds * edges).
+     */
+    private Map<String, String> byCommunity(List<ServiceInfo> services, List<ServiceDependency> dependencies) {
+        Set<String> known = new HashSet<>();
+        services.forEach(service -> known.add(service.getName()));
+
+        Map<String, Map<String, Integer>> weights = new TreeMap<>();
+        for (ServiceDependency dep : dependencies) {
+            String from = dep.getFromService();
+            String to = dep.getToService();
+            if (known.contains(from) && known.contains(to) && !from.equals(to)) {
+                weights.computeIfAbsent(from, k -> new TreeMap<>()).merge(to, 1, Integer::sum);
+                weights.computeIfAbsent(to, k -> new TreeMap<>()).merge(from, 1, Integer::sum);
+            }
+        }
+
+        Map<String, String> label = new HashMap<>();
+        weights.keySet().forEach(name -> label.put(name, name));
+
+        boolean changed = true;
+        for (int round = 0; round < MAX_PROPAGATION_ROUNDS && changed; round++) {
+            changed = false;
+            for (Map.Entry<String, Map<String, Integer>> node : weights.entrySet()) {
+                Map<String, Integer> score = new TreeMap<>();
+                node.getValue().forEach((neighbour, weight) -> score.merge(label.get(neighbour), weight, Integer::sum));
+
+                String current = label.get(node.getKey());
+                int best = Collections.max(score.values());
+                String chosen = score.getOrDefault(current, 0) == best ? current
+                    : score.entrySet().stream().filter(e -> e.getValue() == best).findFirst().get().getKey();
+                if (!chosen.equals(current)) {
+                    label.put(node.getKey(), chosen);
+                    changed = true;
+                }
+            }
+        }
+
+        // Name each community after its most connected member
+        Map<String, String> hubOf = new HashMap<>();
+        Map<String, Integer> hubDegree = new HashMap<>();
+        for (Map.Entry<String, Map<String, Integer>> node : weights.entrySet()) {
+            int degree = node.getValue().values().stream().mapToInt(Integer::intValue).sum();
+            String community = label.get(node.getKey());
+            if (degree > hubDegree.getOrDefault(community, -1)) {
+                hubDegree.put(community, degree);
+                hubOf.put(community, node.getKey());
+            }
+        }
+
+        Map<String, String> clusterOf = new HashMap<>();
+        for (ServiceInfo service : services) {
+            String community = label.get(service.getName());
+            clusterOf.put(service.getName(), community == null ? INDEPENDENT_CLUSTER : hubOf.get(community) + " group");
+        }
+        return clusterOf;
+    }
+}
@@ -17,6 +17,21 @@ public class AnalyzerConfiguration {
     
     @JsonProperty("visualization")
     private VisualizationConfig visualization;
+    
+    @JsonProperty("dependency_type_precedence")
+    private List<String> dependencyTypePrecedence; // best first; used when one edge is detected as several types
+    
+    @JsonProperty("scan_pipeline")
+    private ScanPipelineConfig scanPipeline;
+    
+    @JsonProperty("clustering")
+    private ClusteringConfig clustering;
+    
+    @JsonProperty("latency_budget")
+    private LatencyBudgetConfig latencyBudget;
+    
+    @JsonProperty("runtime_traffic")
+    private RuntimeTrafficConfig runtimeTraffic;
 
     // Default configuration
     public static AnalyzerConfiguration getDefault() {
@@ -30,7 +45,7 @@ public class AnalyzerConfiguration {
         config.serviceDetection.includeDirectories = List.of("src/main");
         
         config.dependencyPatterns = new DependencyPatternsConfig();
-        config.dependencyPatterns.feignClients = List.of("@FeignClient", "@Service", "FeignClient");
+        config.dependencyPatterns.feignClients = List.of("@FeignClient");
         config.dependencyPatterns.restTemplates = List.of("RestTemplate", "WebClient", "HttpClient", "restTemplate", "webClient");
         config.dependencyPatterns.gatewayRoutes = List.of("spring.cloud.gateway.routes", "zuul.routes");
         config.dependencyPatterns.messagingQueues = List.of("@RabbitListener", "@EventHandler", "@KafkaListener");
@@ -40,11 +55,13 @@ public class AnalyzerConfiguration {
         config.outputFormats = new OutputFormatsConfig();
         config.outputFormats.html = true;
         config.outputFormats.json = true;
+        config.outputFormats.ndjson = false;
         config.outputFormats.csv = true;
         config.outputFormats.markdown = true;
         config.outputFormats.dot = true;
         config.outputFormats.svg = true;
         config.outputFormats.png = false;
+        config.outputFormats.performanceHotspots = true;
         
         config.visualization = new VisualizationConfig();
         config.visualization.showServiceTypes = true;
@@ -52,15 +69,54 @@ public class AnalyzerConfiguration {
         config.visualization.colorByServiceType = true;
         config.visualization.includeConfigServices = true;
         config.visualization.includeGatewayServices = true;
+        config.visualization.egoGraphs = false;
+        config.visualization.egoGraphHops = 2;
+        config.visualization.egoGraphThreads = Runtime.getRuntime().availableProcessors();
+        
+        config.dependencyTypePrecedence = List.of("feign-client", "maven-dependency");
+        
+        config.scanPipeline = new ScanPipelineConfig();
+        config.scanPipeline.ioThreads = 8;
+        config.scanPipeline.parserThreads = Runtime.getRuntime().availableProcessors();
+        config.scanPipeline.queueCapacity = 64;
+        
+        config.clustering = new ClusteringConfig();
+        config.clustering.enabled = false;
+        config.clustering.strategy = "community";
+        config.clustering.directoryDepth = 1;
+        config.clustering.renderThreads = Runtime.getRuntime().availableProcessors();
+        config.clustering.flatDiagramMaxServices = 0;
+        
+        config.latencyBudget = new LatencyBudgetConfig();
+        config.latencyBudget.enabled = true;
+        config.latencyBudget.defaultServiceLatencyMs = 20;
+        config.latencyBudget.networkHopLatencyMs = 2;
+        config.latencyBudget.serviceLatencyMs = Map.of();
+        config.latencyBudget.metricsFile = null;
+        config.latencyBudget.routeBudgetMs = 500;
+        
+        config.runtimeTraffic = new RuntimeTrafficConfig();
+        config.runtimeTraffic.sources = List.of();
+        config.runtimeTraffic.format = "auto";
+        config.runtimeTraffic.accessLogPattern = null;
+        config.runtimeTraffic.accessLogDurationUnit = "ms";
+        config.runtimeTraffic.logEntriesService = "logging-service";
+        config.runtimeTraffic.threads = Runtime.getRuntime().availableProcessors();
+        config.runtimeTraffic.maxEndpoints = 100_000;
         
         return config;
     }
 
     public static class ServiceDetectionConfig {
+        @JsonProperty("pom_files")
         public List<String> pomFiles;
+        @JsonProperty("build_files")
         public List<String> buildFiles;
+        @JsonProperty("config_files")
         public List<String> configFiles;
+        @JsonProperty("exclude_directories")
         public List<String> excludeDirectories;
+        @JsonProperty("include_directories")
         public List<String> includeDirectories;
 
         // Getters and setters
@@ -81,11 +137,17 @@ public class AnalyzerConfiguration {
     }
 
     public static class DependencyPatternsConfig {
+        @JsonProperty("feign_clients")
         public List<String> feignClients;
+        @JsonProperty("rest_templates")
         public List<String> restTemplates;
+        @JsonProperty("gateway_routes")
         public List<String> gatewayRoutes;
+        @JsonProperty("messaging_queues")
         public List<String> messagingQueues;
+        @JsonProperty("databases")
         public List<String> databases;
+        @JsonProperty("http_annotations")
         public List<String> httpAnnotations;
 
         // Getters and setters
@@ -109,13 +171,24 @@ public class AnalyzerConfiguration {
     }
 
     public static class OutputFormatsConfig {
+        @JsonProperty("html")
         public boolean html;
+        @JsonProperty("json")
         public boolean json;
+        @JsonProperty("ndjson")
+        public boolean ndjson; // one dependency per line, next to the JSON report
+        @JsonProperty("csv")
         public boolean csv;
+        @JsonProperty("markdown")
         public boolean markdown;
+        @JsonProperty("dot")
         public boolean dot;
+        @JsonProperty("svg")
         public boolean svg;
+        @JsonProperty("png")
         public boolean png;
+        @JsonProperty("performance_hotspots")
+        public boolean performanceHotspots; // loops, sequential and blocking remote calls (source mode)
 
         // Getters and setters
         public boolean isHtml() { return html; }
@@ -124,6 +197,9 @@ public class AnalyzerConfiguration {
         public boolean isJson() { return json; }
         public void setJson(boolean json) { this.json = json; }
         
+        public boolean isNdjson() { return ndjson; }
+        public void setNdjson(boolean ndjson) { this.ndjson = ndjson; }
+        
         public boolean isCsv() { return csv; }
         public void setCsv(boolean csv) { this.csv = csv; }
         
@@ -138,14 +214,28 @@ public class AnalyzerConfiguration {
         
         public boolean isPng() { return png; }
         public void setPng(boolean png) { this.png = png; }
+        
+        public boolean isPerformanceHotspots() { return performanceHotspots; }
+        public void setPerformanceHotspots(boolean performanceHotspots) { this.performanceHotspots = performanceHotspots; }
     }
 
     public static class VisualizationConfig {
+        @JsonProperty("show_service_types")
         public boolean showServiceTypes;
+        @JsonProperty("show_dependency_types")
         public boolean showDependencyTypes;
+        @JsonProperty("color_by_service_type")
         public boolean colorByServiceType;
+        @JsonProperty("include_config_services")
         public boolean includeConfigServices;
+        @JsonProperty("include_gateway_services")
         public boolean includeGatewayServices;
+        @JsonProperty("ego_graphs")
+        public boolean egoGraphs; // one neighbourhood SVG per service plus an index page
+        @JsonProperty("ego_graph_hops")
+        public int egoGraphHops; // calls followed upstream and downstream; 0 = default
+        @JsonProperty("ego_graph_threads")
+        public int egoGraphThreads; // parallel Graphviz renders; 0 = one per core
 
         // Getters and setters
         public boolean isShowServiceTypes() { return showServiceTypes; }
@@ -162,6 +252,136 @@ public class AnalyzerConfiguration {
         
         public boolean isIncludeGatewayServices() { return includeGatewayServices; }
         public void setIncludeGatewayServices(boolean includeGatewayServices) { this.includeGatewayServices = includeGatewayServices; }
+        
+        public boolean isEgoGraphs() { return egoGraphs; }
+        public void setEgoGraphs(boolean egoGraphs) { this.egoGraphs = egoGraphs; }
+        
+        public int getEgoGraphHops() { return egoGraphHops; }
+        public void setEgoGraphHops(int egoGraphHops) { this.egoGraphHops = egoGraphHops; }
+        
+        public int getEgoGraphThreads() { return egoGraphThreads; }
+        public void setEgoGraphThreads(int egoGraphThreads) { this.egoGraphThreads = egoGraphThreads; }
+    }
+
+    public static class ClusteringConfig {
+        @JsonProperty("enabled")
+        public boolean enabled; // cluster overview plus one drill-down SVG per cluster
+        @JsonProperty("strategy")
+        public String strategy; // maven-parent, directory or community
+        @JsonProperty("directory_depth")
+        public int directoryDepth; // leading directories forming a cluster (directory strategy)
+        @JsonProperty("render_threads")
+        public int renderThreads; // parallel Graphviz renders; 0 = one per core
+        @JsonProperty("flat_diagram_max_services")
+        public int flatDiagramMaxServices; // skip the flat diagram above this many services; 0 = always draw it
+
+        // Getters and setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        
+        public String getStrategy() { return strategy; }
+        public void setStrategy(String strategy) { this.strategy = strategy; }
+        
+        public int getDirectoryDepth() { return directoryDepth; }
+        public void setDirectoryDepth(int directoryDepth) { this.directoryDepth = directoryDepth; }
+        
+        public int getRenderThreads() { return renderThreads; }
+        public void setRenderThreads(int renderThreads) { this.renderThreads = renderThreads; }
+        
+        public int getFlatDiagramMaxServices() { return flatDiagramMaxServices; }
+        public void setFlatDiagramMaxServices(int flatDiagramMaxServices) { this.flatDiagramMaxServices = flatDiagramMaxServices; }
+    }
+
+    public static class LatencyBudgetConfig {
+        @JsonProperty("enabled")
+        public boolean enabled; // critical path and latency budget per entry point
+        @JsonProperty("default_service_latency_ms")
+        public int defaultServiceLatencyMs; // own processing time of a service without an estimate
+        @JsonProperty("network_hop_latency_ms")
+        public int networkHopLatencyMs; // added for every synchronous call
+        @JsonProperty("service_latency_ms")
+        public Map<String, Integer> serviceLatencyMs; // per-service estimates; override the metrics file
+        @JsonProperty("metrics_file")
+        public String metricsFile; // measured latencies, "service,latency_ms" CSV or {"service": ms} JSON
+        @JsonProperty("route_budget_ms")
+        public int routeBudgetMs; // end-to-end target per entry point; 0 = no target
+
+        // Getters and setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        
+        public int getDefaultServiceLatencyMs() { return defaultServiceLatencyMs; }
+        public void setDefaultServiceLatencyMs(int defaultServiceLatencyMs) { this.defaultServiceLatencyMs = defaultServiceLatencyMs; }
+        
+        public int getNetworkHopLatencyMs() { return networkHopLatencyMs; }
+        public void setNetworkHopLatencyMs(int networkHopLatencyMs) { this.networkHopLatencyMs = networkHopLatencyMs; }
+        
+        public Map<String, Integer> getServiceLatencyMs() { return serviceLatencyMs; }
+        public void setServiceLatencyMs(Map<String, Integer> serviceLatencyMs) { this.serviceLatencyMs = serviceLatencyMs; }
+        
+        public String getMetricsFile() { return metricsFile; }
+        public void setMetricsFile(String metricsFile) { this.metricsFile = metricsFile; }
+        
+        public int getRouteBudgetMs() { return routeBudgetMs; }
+        public void setRouteBudgetMs(int routeBudgetMs) { this.routeBudgetMs = routeBudgetMs; }
+    }
+
+    public static class RuntimeTrafficConfig {
+        @JsonProperty("sources")
+        public List<String> sources; // files or globs under the project: access logs, span exports, log_entries
+        @JsonProperty("format")
+        public String format; // auto, access-log, otel, zipkin or log-entries
+        @JsonProperty("access_log_pattern")
+        public String accessLogPattern; // regex with named groups path (required), method, status, duration, caller
+        @JsonProperty("access_log_duration_unit")
+        public String accessLogDurationUnit; // ms, us or s
+        @JsonProperty("log_entries_service")
+        public String logEntriesService; // service receiving the exported log_entries
+        @JsonProperty("threads")
+        public int threads; // files parsed in parallel; 0 = one per core
+        @JsonProperty("max_endpoints")
+        public int maxEndpoints; // distinct (caller, callee, endpoint) keys kept; the rest count as (other)
+
+        // Getters and setters
+        public List<String> getSources() { return sources; }
+        public void setSources(List<String> sources) { this.sources = sources; }
+        
+        public String getFormat() { return format; }
+        public void setFormat(String format) { this.format = format; }
+        
+        public String getAccessLogPattern() { return accessLogPattern; }
+        public void setAccessLogPattern(String accessLogPattern) { this.accessLogPattern = accessLogPattern; }
+        
+        public String getAccessLogDurationUnit() { return accessLogDurationUnit; }
+        public void setAccessLogDurationUnit(String accessLogDurationUnit) { this.accessLogDurationUnit = accessLogDurationUnit; }
+        
+        public String getLogEntriesService() { return logEntriesService; }
+        public void setLogEntriesService(String logEntriesService) { this.logEntriesService = logEntriesService; }
+        
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+        
+        public int getMaxEndpoints() { return maxEndpoints; }
+        public void setMaxEndpoints(int maxEndpoints) { this.maxEndpoints = maxEndpoints; }
+    }
+
+    public static class ScanPipelineConfig {
+        @JsonProperty("io_threads")
+        public int ioThreads; // file readers; 0 = default
+        @JsonProperty("parser_threads")
+        public int parserThreads; // 0 = one per core
+        @JsonProperty("queue_capacity")
+        public int queueCapacity; // files buffered between two stages; 0 = default
+
+        // Getters and setters
+        public int getIoThreads() { return ioThreads; }
+        public void setIoThreads(int ioThreads) { this.ioThreads = ioThreads; }
+        
+        public int getParserThreads() { return parserThreads; }
+        public void setParserThreads(int parserThreads) { this.parserThreads = parserThreads; }
+        
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
     }
 
     // Main getters and setters
@@ -176,4 +396,19 @@ public class AnalyzerConfiguration {
     
     public VisualizationConfig getVisualization() { return visualization; }
     public void setVisualization(VisualizationConfig visualization) { this.visualization = visualization; }
+    
+    public List<String> getDependencyTypePrecedence() { return dependencyTypePrecedence; }
+    public void setDependencyTypePrecedence(List<String> dependencyTypePrecedence) { this.dependencyTypePrecedence = dependencyTypePrecedence; }
+    
+    public ScanPipelineConfig getScanPipeline() { return scanPipeline; }
+    public void setScanPipeline(ScanPipelineConfig scanPipeline) { this.scanPipeline = scanPipeline; }
+
+    public ClusteringConfig getClustering() { return clustering; }
+    public void setClustering(ClusteringConfig clustering) { this.clustering = clustering; }
+
+    public LatencyBudgetConfig getLatencyBudget() { return latencyBudget; }
+    public void setLatencyBudget(LatencyBudgetConfig latencyBudget) { this.latencyBudget = latencyBudget; }
+
+    public RuntimeTrafficConfig getRuntimeTraffic() { return runtimeTraffic; }
+    public void setRuntimeTraffic(RuntimeTrafficConfig runtimeTraffic) { this.runtimeTraffic = runtimeTraffic; }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.analyzer.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class AnalysisResult {
@@ -26,6 +27,12 @@ public class AnalysisResult {
     
     @JsonProperty("analysis_summary")
     private AnalysisSummary summary;
+    
+    @JsonProperty("latency_budgets")
+    private List<LatencyBudget> latencyBudgets = new ArrayList<>(); // one per entry point
+    
+    @JsonProperty("unmatched_traffic")
+    private List<ServiceDependency> unmatchedTraffic = new ArrayList<>(); // runtime calls with no detected edge
 
     // Constructors
     public AnalysisResult() {}
@@ -91,6 +98,22 @@ public class AnalysisResult {
     public void setSummary(AnalysisSummary summary) {
         this.summary = summary;
     }
+
+    public List<LatencyBudget> getLatencyBudgets() {
+        return latencyBudgets;
+    }
+
+    public void setLatencyBudgets(List<LatencyBudget> latencyBudgets) {
+        this.latencyBudgets = latencyBudgets;
+    }
+
+    public List<ServiceDependency> getUnmatchedTraffic() {
+        return unmatchedTraffic;
+    }
+
+    public void setUnmatchedTraffic(List<ServiceDependency> unmatchedTraffic) {
+        this.unmatchedTraffic = unmatchedTraffic;
+    }
     
     public static class AnalysisSummary {
         @JsonProperty("service_types")
@@ -0,0 +1,65 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One piece of evidence for a service -> service edge: where it was detected and how.
+ * Deduplication keeps a single ServiceDependency per edge but every evidence entry.
+ */
+public class DependencyEvidence {
+
+    @JsonProperty("dependency_type")
+    private String dependencyType;
+
+    @JsonProperty("source_file")
+    private String sourceFile;
+
+    @JsonProperty("line_number")
+    private Integer lineNumber;
+
+    @JsonProperty("endpoint")
+    private String endpoint;
+
+    // Constructors
+    public DependencyEvidence() {}
+
+    public DependencyEvidence(ServiceDependency dependency) {
+        this.dependencyType = dependency.getDependencyType();
+        this.sourceFile = dependency.getSourceFile();
+        this.lineNumber = dependency.getLineNumber();
+        this.endpoint = dependency.getEndpoint();
+    }
+
+    // Getters and setters
+    public String getDependencyType() {
+        return dependencyType;
+    }
+
+    public void setDependencyType(String dependencyType) {
+        this.dependencyType = dependencyType;
+    }
+
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+}
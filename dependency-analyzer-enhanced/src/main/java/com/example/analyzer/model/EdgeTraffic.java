@@ -0,0 +1,124 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calls observed at runtime (access logs, span exports) on one dependency edge. Latencies are null
+ * when the source records no durations.
+ */
+public class EdgeTraffic {
+
+    @JsonProperty("calls")
+    private long calls;
+
+    @JsonProperty("p50_ms")
+    private Double p50Ms;
+
+    @JsonProperty("p99_ms")
+    private Double p99Ms;
+
+    @JsonProperty("endpoints")
+    private List<EndpointTraffic> endpoints = new ArrayList<>(); // busiest first
+
+    // Constructors
+    public EdgeTraffic() {}
+
+    public EdgeTraffic(long calls, Double p50Ms, Double p99Ms) {
+        this.calls = calls;
+        this.p50Ms = p50Ms;
+        this.p99Ms = p99Ms;
+    }
+
+    // Getters and setters
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public Double getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(Double p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public Double getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(Double p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public List<EndpointTraffic> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<EndpointTraffic> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Traffic to one endpoint of the callee, with ids in the path folded into {id}.
+     */
+    public static class EndpointTraffic {
+        @JsonProperty("endpoint")
+        private String endpoint;
+
+        @JsonProperty("calls")
+        private long calls;
+
+        @JsonProperty("p50_ms")
+        private Double p50Ms;
+
+        @JsonProperty("p99_ms")
+        private Double p99Ms;
+
+        public EndpointTraffic() {}
+
+        public EndpointTraffic(String endpoint, long calls, Double p50Ms, Double p99Ms) {
+            this.endpoint = endpoint;
+            this.calls = calls;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public void setCalls(long calls) {
+            this.calls = calls;
+        }
+
+        public Double getP50Ms() {
+            return p50Ms;
+        }
+
+        public void setP50Ms(Double p50Ms) {
+            this.p50Ms = p50Ms;
+        }
+
+        public Double getP99Ms() {
+            return p99Ms;
+        }
+
+        public void setP99Ms(Double p99Ms) {
+            this.p99Ms = p99Ms;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A gateway route (Spring Cloud Gateway or Zuul) with its path predicates and
+ * the target-service endpoints those predicates reach.
+ */
+public class GatewayRoute {
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("uri")
+    private String uri; // lb://user-service, http://host:port, or Zuul serviceId/url
+
+    @JsonProperty("target_service")
+    private String targetService;
+
+    @JsonProperty("path_patterns")
+    private List<String> pathPatterns = new ArrayList<>(); // Path=/api/users/** predicates
+
+    @JsonProperty("strip_prefix")
+    private int stripPrefix; // StripPrefix=N filter (Zuul strips the route prefix by default)
+
+    @JsonProperty("source_file")
+    private String sourceFile;
+
+    @JsonProperty("matched_endpoints")
+    private List<String> matchedEndpoints = new ArrayList<>();
+
+    @JsonIgnore
+    private List<Pattern> compiledPatterns;
+
+    // Constructors
+    public GatewayRoute() {}
+
+    public GatewayRoute(String id, String uri) {
+        this.id = id;
+        this.uri = uri;
+    }
+
+    /**
+     * Path predicates compiled to regexes against the downstream (prefix-stripped) path.
+     */
+    @JsonIgnore
+    public List<Pattern> getCompiledPatterns() {
+        if (compiledPatterns == null) {
+            List<Pattern> patterns = new ArrayList<>();
+            for (String pathPattern : pathPatterns) {
+                patterns.add(compileAntPattern(stripSegments(pathPattern, stripPrefix)));
+            }
+            compiledPatterns = patterns;
+        }
+        return compiledPatterns;
+    }
+
+    private static String stripSegments(String pattern, int segments) {
+        String stripped = pattern;
+        for (int i = 0; i < segments; i++) {
+            int next = stripped.indexOf('/', 1);
+            stripped = next > 0 ? stripped.substring(next) : "/";
+        }
+        return stripped;
+    }
+
+    /**
+     * Ant-style path pattern (/**, *, {var}) to regex. Endpoint templates like /api/users/{id}
+     * are matched as-is, so {var} in the pattern accepts any single segment.
+     */
+    private static Pattern compileAntPattern(String pattern) {
+        StringBuilder regex = new StringBuilder("^");
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (pattern.startsWith("/**", i)) {
+                regex.append("(/.*)?");
+                i += 3;
+            } else if (pattern.startsWith("**", i)) {
+                regex.append(".*");
+                i += 2;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else if (c == '{') {
+                int end = pattern.indexOf('}', i);
+                regex.append("[^/]+");
+                i = end > i ? end + 1 : pattern.length();
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                i++;
+            }
+        }
+        return Pattern.compile(regex.append("/?$").toString());
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getTargetService() {
+        return targetService;
+    }
+
+    public void setTargetService(String targetService) {
+        this.targetService = targetService;
+    }
+
+    public List<String> getPathPatterns() {
+        return pathPatterns;
+    }
+
+    public void setPathPatterns(List<String> pathPatterns) {
+        this.pathPatterns = pathPatterns;
+        this.compiledPatterns = null;
+    }
+
+    public int getStripPrefix() {
+        return stripPrefix;
+    }
+
+    public void setStripPrefix(int stripPrefix) {
+        this.stripPrefix = stripPrefix;
+        this.compiledPatterns = null;
+    }
+
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public List<String> getMatchedEndpoints() {
+        return matchedEndpoints;
+    }
+
+    public void setMatchedEndpoints(List<String> matchedEndpoints) {
+        this.matchedEndpoints = matchedEndpoints;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end latency estimate for one entry point (a gateway route, or a service nothing calls
+ * synchronously): the synchronous call chain that dominates it and how it compares to the budget.
+ */
+public class LatencyBudget {
+
+    @JsonProperty("entry_point")
+    private String entryPoint; // gateway route id, or the service name without a gateway
+
+    @JsonProperty("gateway_service")
+    private String gatewayService;
+
+    @JsonProperty("path_patterns")
+    private List<String> pathPatterns = new ArrayList<>();
+
+    @JsonProperty("critical_path")
+    private List<PathStep> criticalPath = new ArrayList<>(); // entry service first
+
+    @JsonProperty("sync_depth")
+    private int syncDepth; // synchronous hops on the critical path
+
+    @JsonProperty("max_sync_depth")
+    private int maxSyncDepth; // longest synchronous chain by hops, whatever its latency
+
+    @JsonProperty("critical_path_latency_ms")
+    private long criticalPathLatencyMs; // fan-out calls made in parallel
+
+    @JsonProperty("serial_latency_ms")
+    private long serialLatencyMs; // every synchronous call made one after the other
+
+    @JsonProperty("budget_ms")
+    private int budgetMs;
+
+    @JsonProperty("status")
+    private String status; // within, at-risk (only the serial estimate exceeds), over, or unbudgeted
+
+    @JsonProperty("async_services")
+    private List<String> asyncServices = new ArrayList<>(); // reached via messaging, outside the budget
+
+    @JsonProperty("cycles")
+    private List<String> cycles = new ArrayList<>(); // synchronous call cycles left out of the estimate
+
+    // Constructors
+    public LatencyBudget() {}
+
+    public LatencyBudget(String entryPoint, String gatewayService, List<String> pathPatterns) {
+        this.entryPoint = entryPoint;
+        this.gatewayService = gatewayService;
+        this.pathPatterns = pathPatterns;
+    }
+
+    // Getters and setters
+    public String getEntryPoint() {
+        return entryPoint;
+    }
+
+    public void setEntryPoint(String entryPoint) {
+        this.entryPoint = entryPoint;
+    }
+
+    public String getGatewayService() {
+        return gatewayService;
+    }
+
+    public void setGatewayService(String gatewayService) {
+        this.gatewayService = gatewayService;
+    }
+
+    public List<String> getPathPatterns() {
+        return pathPatterns;
+    }
+
+    public void setPathPatterns(List<String> pathPatterns) {
+        this.pathPatterns = pathPatterns;
+    }
+
+    public List<PathStep> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public void setCriticalPath(List<PathStep> criticalPath) {
+        this.criticalPath = criticalPath;
+    }
+
+    public int getSyncDepth() {
+        return syncDepth;
+    }
+
+    public void setSyncDepth(int syncDepth) {
+        this.syncDepth = syncDepth;
+    }
+
+    public int getMaxSyncDepth() {
+        return maxSyncDepth;
+    }
+
+    public void setMaxSyncDepth(int maxSyncDepth) {
+        this.maxSyncDepth = maxSyncDepth;
+    }
+
+    public long getCriticalPathLatencyMs() {
+        return criticalPathLatencyMs;
+    }
+
+    public void setCriticalPathLatencyMs(long criticalPathLatencyMs) {
+        this.criticalPathLatencyMs = criticalPathLatencyMs;
+    }
+
+    public long getSerialLatencyMs() {
+        return serialLatencyMs;
+    }
+
+    public void setSerialLatencyMs(long serialLatencyMs) {
+        this.serialLatencyMs = serialLatencyMs;
+    }
+
+    public int getBudgetMs() {
+        return budgetMs;
+    }
+
+    public void setBudgetMs(int budgetMs) {
+        this.budgetMs = budgetMs;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<String> getAsyncServices() {
+        return asyncServices;
+    }
+
+    public void setAsyncServices(List<String> asyncServices) {
+        this.asyncServices = asyncServices;
+    }
+
+    public List<String> getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(List<String> cycles) {
+        this.cycles = cycles;
+    }
+
+    /**
+     * One service on the critical path with the latency estimate used for it.
+     */
+    public static class PathStep {
+        @JsonProperty("service")
+        private String service;
+
+        @JsonProperty("latency_ms")
+        private int latencyMs; // own processing time, downstream calls excluded
+
+        @JsonProperty("latency_source")
+        private String latencySource; // config, metrics or default
+
+        public PathStep() {}
+
+        public PathStep(String service, int latencyMs, String latencySource) {
+            this.service = service;
+            this.latencyMs = latencyMs;
+            this.latencySource = latencySource;
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public void setService(String service) {
+            this.service = service;
+        }
+
+        public int getLatencyMs() {
+            return latencyMs;
+        }
+
+        public void setLatencyMs(int latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        public String getLatencySource() {
+            return latencySource;
+        }
+
+        public void setLatencySource(String latencySource) {
+            this.latencySource = latencySource;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A place where a service publishes to or consumes from a message broker destination
+ * (Kafka topic, RabbitMQ queue / routing key).
+ */
+public class MessagingEndpoint {
+
+    @JsonProperty("broker")
+    private String broker; // kafka, rabbitmq
+
+    @JsonProperty("destination")
+    private String destination; // topic or queue name, placeholders already resolved
+
+    @JsonProperty("exchange")
+    private String exchange; // rabbitmq exchange for convertAndSend(exchange, routingKey, ...)
+
+    @JsonProperty("source_file")
+    private String sourceFile;
+
+    @JsonProperty("line_number")
+    private Integer lineNumber;
+
+    @JsonProperty("method")
+    private String method; // Class.method that sends or listens
+
+    // Constructors
+    public MessagingEndpoint() {}
+
+    public MessagingEndpoint(String broker, String destination) {
+        this.broker = broker;
+        this.destination = destination;
+    }
+
+    // Getters and setters
+    public String getBroker() {
+        return broker;
+    }
+
+    public void setBroker(String broker) {
+        this.broker = broker;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(Integer lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A latency smell found in a service's source: a remote call inside a loop, independent remote calls
+ * made one after the other, or a blocking wait on a reactive call.
+ */
+public class PerformanceHotspot {
+
+    @JsonProperty("type")
+    private String type; // remote-call-in-loop, sequential-remote-calls, blocking-reactive-call
+
+    @JsonProperty("source_file")
+    private String sourceFile;
+
+    @JsonProperty("line")
+    private int line;
+
+    @JsonProperty("method")
+    private String method; // Class#method
+
+    @JsonProperty("remote_calls")
+    private List<String> remoteCalls = new ArrayList<>(); // "userServiceClient.getUserById (line 42)"
+
+    @JsonProperty("detail")
+    private String detail;
+
+    // Constructors
+    public PerformanceHotspot() {}
+
+    public PerformanceHotspot(String type, String sourceFile, int line, String method, List<String> remoteCalls, String detail) {
+        this.type = type;
+        this.sourceFile = sourceFile;
+        this.line = line;
+        this.method = method;
+        this.remoteCalls = remoteCalls;
+        this.detail = detail;
+    }
+
+    // Getters and setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSourceFile() {
+        return sourceFile;
+    }
+
+    public void setSourceFile(String sourceFile) {
+        this.sourceFile = sourceFile;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public List<String> getRemoteCalls() {
+        return remoteCalls;
+    }
+
+    public void setRemoteCalls(List<String> remoteCalls) {
+        this.remoteCalls = remoteCalls;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.analyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of services collapsed into one node of the cluster-level diagram.
+ */
+public class ServiceCluster {
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("services")
+    private List<String> services = new ArrayList<>();
+
+    // Constructors
+    public ServiceCluster() {}
+
+    public ServiceCluster(String name, List<String> services) {
+        this.name = name;
+        this.services = services;
+    }
+
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public void setServices(List<String> services) {
+        this.services = services;
+    }
+}
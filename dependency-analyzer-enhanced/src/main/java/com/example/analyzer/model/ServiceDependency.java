@@ -1,6 +1,8 @@
 package com.example.analyzer.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ServiceDependency {
     
@@ -13,6 +15,9 @@ public class ServiceDependency {
     @JsonProperty("dependency_type")
     private String dependencyType; // feign, rest-template, gateway-route, messaging, database
     
+    @JsonProperty("call_mode")
+    private String callMode; // sync (caller waits), async (messaging) or build (library)
+    
     @JsonProperty("description")
     private String description;
     
@@ -27,6 +32,12 @@ public class ServiceDependency {
     
     @JsonProperty("http_method")
     private String httpMethod;
+    
+    @JsonProperty("evidence")
+    private List<DependencyEvidence> evidence = new ArrayList<>(); // every detection merged into this edge
+    
+    @JsonProperty("traffic")
+    private EdgeTraffic traffic; // observed at runtime; null without runtime_traffic sources
 
     // Constructors
     public ServiceDependency() {}
@@ -62,6 +73,14 @@ public class ServiceDependency {
         this.dependencyType = dependencyType;
     }
 
+    public String getCallMode() {
+        return callMode;
+    }
+
+    public void setCallMode(String callMode) {
+        this.callMode = callMode;
+    }
+
     // Compatibility aliases
     public String getToService() {
         return targetService;
@@ -110,4 +129,20 @@ public class ServiceDependency {
     public void setHttpMethod(String httpMethod) {
         this.httpMethod = httpMethod;
     }
+
+    public List<DependencyEvidence> getEvidence() {
+        return evidence;
+    }
+
+    public void setEvidence(List<DependencyEvidence> evidence) {
+        this.evidence = evidence;
+    }
+
+    public EdgeTraffic getTraffic() {
+        return traffic;
+    }
+
+    public void setTraffic(EdgeTraffic traffic) {
+        this.traffic = traffic;
+    }
 }
\ No newline at end of file
@@ -33,7 +33,10 @@ public class ServiceInfo {
     @JsonProperty("main_class")
     private String mainClass;
     
-    @JsonProperty("dependencies")
+    @JsonProperty("maven_parent")
+    private String mavenParent; // groupId:artifactId of the <parent> POM, used for clustering
+    
+    @JsonProperty(value = "dependencies", access = JsonProperty.Access.WRITE_ONLY) // read from old reports only; edges are written once at the top level
     private List<ServiceDependency> dependencies = new ArrayList<>();
     
     @JsonProperty("exposes_endpoints")
@@ -41,6 +44,18 @@ public class ServiceInfo {
     
     @JsonProperty("database_connections")
     private List<String> databaseConnections = new ArrayList<>();
+    
+    @JsonProperty("produces_messages")
+    private List<MessagingEndpoint> producedMessages = new ArrayList<>();
+    
+    @JsonProperty("consumes_messages")
+    private List<MessagingEndpoint> consumedMessages = new ArrayList<>();
+    
+    @JsonProperty("gateway_routes")
+    private List<GatewayRoute> gatewayRoutes = new ArrayList<>();
+    
+    @JsonProperty("performance_hotspots")
+    private List<PerformanceHotspot> performanceHotspots = new ArrayList<>();
 
     // Constructors
     public ServiceInfo() {}
@@ -124,6 +139,14 @@ public class ServiceInfo {
         this.mainClass = mainClass;
     }
 
+    public String getMavenParent() {
+        return mavenParent;
+    }
+
+    public void setMavenParent(String mavenParent) {
+        this.mavenParent = mavenParent;
+    }
+
     public List<ServiceDependency> getDependencies() {
         return dependencies;
     }
@@ -147,4 +170,36 @@ public class ServiceInfo {
     public void setDatabaseConnections(List<String> databaseConnections) {
         this.databaseConnections = databaseConnections;
     }
-}
\ No newline at end of file
+
+    public List<MessagingEndpoint> getProducedMessages() {
+        return producedMessages;
+    }
+
+    public void setProducedMessages(List<MessagingEndpoint> producedMessages) {
+        this.producedMessages = producedMessages;
+    }
+
+    public List<MessagingEndpoint> getConsumedMessages() {
+        return consumedMessages;
+    }
+
+    public void setConsumedMessages(List<MessagingEndpoint> consumedMessages) {
+        this.consumedMessages = consumedMessages;
+    }
+
+    public List<GatewayRoute> getGatewayRoutes() {
+        return gatewayRoutes;
+    }
+
+    public void setGatewayRoutes(List<GatewayRoute> gatewayRoutes) {
+        this.gatewayRoutes = gatewayRoutes;
+    }
+
+    public List<PerformanceHotspot> getPerformanceHotspots() {
+        return performanceHotspots;
+    }
+
+    public void setPerformanceHotspots(List<PerformanceHotspot> performanceHotspots) {
+        this.performanceHotspots = performanceHotspots;
+    }
+}
@@ -0,0 +1,731 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.model.MessagingEndpoint;
+import org.objectweb.asm.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads compiled classes (class directories or jars) instead of Java sources (--mode=bytecode).
+ *
+ * Every class is opened with ASM's ClassReader, which only indexes the constant pool; its string
+ * constants are collected for endpoint-usage lookups. Only classes whose bytes mention one of the
+ * trigger names (mappings, controllers, Feign, listeners, templates, HTTP clients) are visited in full to extract:
+ * - @RestController/@Controller with @RequestMapping and @*Mapping paths (exposed endpoints)
+ * - @FeignClient name/url and the mapping paths of its methods
+ * - @KafkaListener topics, @RabbitListener queues (including @QueueBinding/@Queue)
+ * - KafkaTemplate.send / RabbitTemplate.convertAndSend destinations loaded as constants
+ * - HTTP client calls together with the URL constants, @Value placeholders or getProperty keys of the method
+ *
+ * Values are kept raw (placeholders unresolved); GenericDependencyScanner resolves them against the
+ * service's properties and builds the same ServiceDependency model as the source scan.
+ */
+public class BytecodeClassScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BytecodeClassScanner.class);
+
+    private static final int CONSTANT_STRING_TAG = 8;
+    private static final List<byte[]> TRIGGERS = Stream.of(
+        "Mapping;", "Controller;", "FeignClient;", "Listener;", "Template", "Client", "http", "getProperty", "Value;"
+    ).map(trigger -> trigger.getBytes(StandardCharsets.US_ASCII)).collect(Collectors.toList());
+
+    private static final Set<String> KAFKA_TEMPLATE_TYPES = Set.of("KafkaTemplate", "KafkaOperations", "ReactiveKafkaProducerTemplate");
+    private static final Set<String> RABBIT_TEMPLATE_TYPES = Set.of("RabbitTemplate", "AmqpTemplate", "RabbitOperations", "RabbitMessagingTemplate");
+    private static final Set<String> RABBIT_SEND_METHODS = Set.of("convertAndSend", "send", "convertSendAndReceive");
+    private static final Set<String> PROPERTY_RESOLVER_TYPES = Set.of("Environment", "ConfigurableEnvironment", "PropertyResolver");
+    private static final String STRING_DESCRIPTOR = "Ljava/lang/String;";
+
+    private final DependencyPatternMatcher patternMatcher;
+
+    public BytecodeClassScanner(DependencyPatternMatcher patternMatcher) {
+        this.patternMatcher = patternMatcher;
+    }
+
+    /**
+     * Compiled output of a module: Maven/Gradle class directories holding at least one class file
+     * (resources alone are copied there before anything compiles), otherwise the jars built into
+     * target/ or build/libs.
+     */
+    public static List<Path> findClassRoots(Path servicePath) {
+        List<Path> roots = new ArrayList<>();
+        for (String classDir : List.of("target/classes", "build/classes/java/main", "build/classes/kotlin/main")) {
+            Path candidate = servicePath.resolve(classDir);
+            if (Files.isDirectory(candidate) && newestModified(candidate, AnalyzerConstants.CLASS_EXTENSION) > 0) {
+                roots.add(candidate);
+            }
+        }
+        if (!roots.isEmpty()) {
+            return roots;
+        }
+
+        for (String jarDir : List.of(AnalyzerConstants.TARGET_DIR, "build/libs")) {
+            Path candidate = servicePath.resolve(jarDir);
+            if (!Files.isDirectory(candidate)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(candidate)) {
+                files.filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.endsWith(AnalyzerConstants.JAR_EXTENSION)
+                        && !name.endsWith("-sources.jar") && !name.endsWith("-javadoc.jar") && !name.endsWith("-tests.jar");
+                }).sorted().forEach(roots::add);
+            } catch (IOException e) {
+                logger.debug("[BYTECODE] Could not list {}: {}", candidate, e.getMessage());
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * True when a main source file was changed after the newest class file or jar in the roots was
+     * written, i.e. the compiled output does not reflect the sources any more.
+     */
+    public static boolean isOlderThanSources(Path servicePath, List<Path> roots) {
+        long compiled = 0;
+        for (Path root : roots) {
+            compiled = Math.max(compiled, Files.isDirectory(root)
+                ? newestModified(root, AnalyzerConstants.CLASS_EXTENSION) : lastModified(root));
+        }
+        return newestModified(servicePath.resolve(AnalyzerConstants.SRC_MAIN_JAVA), AnalyzerConstants.JAVA_EXTENSION) > compiled;
+    }
+
+    // Newest modification time of the files with the extension under dir; 0 when there are none
+    private static long newestModified(Path dir, String extension) {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(file -> file.toString().endsWith(extension))
+                .mapToLong(BytecodeClassScanner::lastModified)
+                .max().orElse(0);
+        } catch (IOException | UncheckedIOException e) {
+            logger.debug("[BYTECODE] Could not list {}: {}", dir, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Scan class directories and/or jar files (including third-party jars).
+     */
+    public ScanResult scan(List<Path> roots) {
+        ScanResult result = new ScanResult();
+        long start = System.nanoTime();
+
+        for (Path root : roots) {
+            try {
+                if (Files.isDirectory(root)) {
+                    scanDirectory(root, result);
+                } else if (root.getFileName().toString().endsWith(AnalyzerConstants.JAR_EXTENSION)) {
+                    scanJar(root, result);
+                }
+            } catch (IOException e) {
+                logger.error("[BYTECODE] Failed to read {}: {}", root, e.getMessage(), e);
+            }
+        }
+
+        logger.info("[BYTECODE] Read {} classes ({} visited in full) from {} in {} ms",
+            result.classesRead, result.classesVisited, roots, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void scanDirectory(Path root, ScanResult result) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path classFile : files.filter(file -> file.toString().endsWith(AnalyzerConstants.CLASS_EXTENSION))
+                    .collect(Collectors.toList())) {
+                scanClass(Files.readAllBytes(classFile), result);
+            }
+        }
+    }
+
+    private void scanJar(Path jar, ScanResult result) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                // Fat jars keep application classes under BOOT-INF/classes; nested library jars are not opened
+                if (entry.isDirectory() || !entry.getName().endsWith(AnalyzerConstants.CLASS_EXTENSION)
+                        || entry.getName().startsWith("META-INF/")) {
+                    continue;
+                }
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    scanClass(in.readAllBytes(), result);
+                }
+            }
+        }
+    }
+
+    void scanClass(byte[] bytes, ScanResult result) {
+        ClassReader reader;
+        try {
+            reader = new ClassReader(bytes);
+        } catch (IllegalArgumentException e) {
+            logger.debug("[BYTECODE] Skipping unreadable class file: {}", e.getMessage());
+            return;
+        }
+        result.classesRead++;
+        collectStringConstants(reader, bytes, result.stringConstants);
+
+        if (!containsAny(bytes)) {
+            return;
+        }
+        result.classesVisited++;
+        reader.accept(new FactsClassVisitor(result), ClassReader.SKIP_FRAMES);
+    }
+
+    private static void collectStringConstants(ClassReader reader, byte[] bytes, Set<String> constants) {
+        char[] buffer = new char[reader.getMaxStringLength()];
+        for (int i = 1; i < reader.getItemCount(); i++) {
+            int offset = reader.getItem(i);
+            if (offset > 0 && bytes[offset - 1] == CONSTANT_STRING_TAG) {
+                Object value = reader.readConst(i, buffer);
+                if (value instanceof String) {
+                    constants.add((String) value);
+                }
+            }
+        }
+    }
+
+    private static boolean containsAny(byte[] bytes) {
+        for (byte[] trigger : TRIGGERS) {
+            if (indexOf(bytes, trigger) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] needle) {
+        outer:
+        for (int i = 0; i <= bytes.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (bytes[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /** Simple class name of an internal name or descriptor: Lorg/x/RestTemplate; -> RestTemplate */
+    private static String simpleName(String internalNameOrDescriptor) {
+        String name = internalNameOrDescriptor;
+        if (name.startsWith("L") && name.endsWith(";")) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    private static String brokerOfType(String simpleTypeName) {
+        if (KAFKA_TEMPLATE_TYPES.contains(simpleTypeName)) {
+            return AnalyzerConstants.KAFKA_BROKER;
+        }
+        if (RABBIT_TEMPLATE_TYPES.contains(simpleTypeName)) {
+            return AnalyzerConstants.RABBITMQ_BROKER;
+        }
+        return null;
+    }
+
+    private static int leadingStringParameters(String methodDescriptor) {
+        int count = 0;
+        for (Type argument : Type.getArgumentTypes(methodDescriptor)) {
+            if (!STRING_DESCRIPTOR.equals(argument.getDescriptor())) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Everything found in one service's compiled classes.
+     */
+    public static class ScanResult {
+        private final List<String> endpoints = new ArrayList<>();
+        private final List<FeignClientFacts> feignClients = new ArrayList<>();
+        private final List<HttpCallFacts> httpCalls = new ArrayList<>();
+        private final List<MessagingEndpoint> producedMessages = new ArrayList<>();
+        private final List<MessagingEndpoint> consumedMessages = new ArrayList<>();
+        private final Set<String> stringConstants = new HashSet<>();
+        private int classesRead;
+        private int classesVisited;
+
+        public List<String> getEndpoints() { return endpoints; }
+        public List<FeignClientFacts> getFeignClients() { return feignClients; }
+        public List<HttpCallFacts> getHttpCalls() { return httpCalls; }
+        public List<MessagingEndpoint> getProducedMessages() { return producedMessages; }
+        public List<MessagingEndpoint> getConsumedMessages() { return consumedMessages; }
+        /** String constants and annotation string values of all classes */
+        public Set<String> getStringConstants() { return stringConstants; }
+        public int getClassesRead() { return classesRead; }
+    }
+
+    /**
+     * A @FeignClient interface: raw name/url attributes and the mapping paths of its methods.
+     */
+    public static class FeignClientFacts {
+        private final String name;
+        private final String url;
+        private final List<String> endpointPaths;
+        private final String sourceFile;
+
+        FeignClientFacts(String name, String url, List<String> endpointPaths, String sourceFile) {
+            this.name = name;
+            this.url = url;
+            this.endpointPaths = endpointPaths;
+            this.sourceFile = sourceFile;
+        }
+
+        public String getName() { return name; }
+        public String getUrl() { return url; }
+        public List<String> getEndpointPaths() { return endpointPaths; }
+        public String getSourceFile() { return sourceFile; }
+    }
+
+    /**
+     * A method calling an HTTP client, with the URL candidates it loads: literal URLs first,
+     * then ${...} placeholders from @Value fields/parameters and getProperty keys.
+     */
+    public static class HttpCallFacts {
+        private final String clientType;
+        private final List<String> urlCandidates;
+        private final String sourceFile;
+        private final String method;
+
+        HttpCallFacts(String clientType, List<String> urlCandidates, String sourceFile, String method) {
+            this.clientType = clientType;
+            this.urlCandidates = urlCandidates;
+            this.sourceFile = sourceFile;
+            this.method = method;
+        }
+
+        public String getClientType() { return clientType; }
+        public List<String> getUrlCandidates() { return urlCandidates; }
+        public String getSourceFile() { return sourceFile; }
+        public String getMethod() { return method; }
+    }
+
+    /**
+     * String attribute values of an annotation (arrays flattened), with nested annotations.
+     */
+    private static class AnnotationValues extends AnnotationVisitor {
+        final String simpleName;
+        final String qualifiedName;
+        final Map<String, List<String>> values = new LinkedHashMap<>();
+        final List<AnnotationValues> nested = new ArrayList<>();
+        private final Set<String> stringConstants;
+
+        AnnotationValues(String descriptor, Set<String> stringConstants) {
+            super(Opcodes.ASM9);
+            this.simpleName = simpleName(descriptor);
+            this.qualifiedName = Type.getType(descriptor).getClassName();
+            this.stringConstants = stringConstants;
+        }
+
+        List<String> get(String attribute) {
+            return values.getOrDefault(attribute, List.of());
+        }
+
+        String first(String... attributes) {
+            for (String attribute : attributes) {
+                if (!get(attribute).isEmpty()) {
+                    return get(attribute).get(0);
+                }
+            }
+            return null;
+        }
+
+        /** First value starting with "/" - same rule as the source scan's quoted-path lookup */
+        String firstPath() {
+            for (List<String> attributeValues : values.values()) {
+                for (String value : attributeValues) {
+                    if (value.startsWith("/")) {
+                        return value;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            add(name, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            return new AnnotationVisitor(Opcodes.ASM9) {
+                @Override
+                public void visit(String ignored, Object value) {
+                    add(name, value);
+                }
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String ignored, String descriptor) {
+                    return AnnotationValues.this.visitAnnotation(name, descriptor);
+                }
+            };
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            AnnotationValues child = new AnnotationValues(descriptor, stringConstants);
+            nested.add(child);
+            return child;
+        }
+
+        private void add(String name, Object value) {
+            if (value instanceof String) {
+                values.computeIfAbsent(name, k -> new ArrayList<>()).add((String) value);
+                stringConstants.add((String) value);
+            }
+        }
+
+        List<AnnotationValues> allNested() {
+            List<AnnotationValues> all = new ArrayList<>();
+            for (AnnotationValues child : nested) {
+                all.add(child);
+                all.addAll(child.allNested());
+            }
+            return all;
+        }
+    }
+
+    private class FactsClassVisitor extends ClassVisitor {
+        private final ScanResult result;
+        private final List<AnnotationValues> classAnnotations = new ArrayList<>();
+        private final Map<String, String> fieldPlaceholders = new HashMap<>(); // @Value("${...}") fields
+        private final Map<String, String> fieldConstants = new HashMap<>();    // static final String fields
+        private final List<String> feignEndpointPaths = new ArrayList<>();
+        private String internalName;
+        private String simpleClassName;
+        private String sourceFile;
+
+        FactsClassVisitor(ScanResult result) {
+            super(Opcodes.ASM9);
+            this.result = result;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            internalName = name;
+            simpleClassName = simpleName(name);
+            sourceFile = name + AnalyzerConstants.CLASS_EXTENSION;
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            if (source != null) {
+                int slash = internalName.lastIndexOf('/');
+                String packagePath = slash >= 0 ? internalName.substring(0, slash + 1) : "";
+                String sourceRoot = source.endsWith(".kt") ? "src/main/kotlin/" : AnalyzerConstants.SRC_MAIN_JAVA + "/";
+                sourceFile = sourceRoot + packagePath + source;
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            AnnotationValues annotation = new AnnotationValues(descriptor, result.stringConstants);
+            classAnnotations.add(annotation);
+            return annotation;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            if (value instanceof String) {
+                fieldConstants.put(name, (String) value);
+                result.stringConstants.add((String) value);
+            }
+            return new FieldVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                    if (!"Value".equals(simpleName(annotationDescriptor))) {
+                        return null;
+                    }
+                    return new AnnotationVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visit(String attribute, Object annotationValue) {
+                            if (annotationValue instanceof String) {
+                                fieldPlaceholders.put(name, (String) annotationValue);
+                            }
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            return new FactsMethodVisitor(this, name);
+        }
+
+        @Override
+        public void visitEnd() {
+            for (AnnotationValues annotation : classAnnotations) {
+                if (patternMatcher.isFeignClient(annotation.qualifiedName)) {
+                    String name = annotation.first("name", "value");
+                    String url = annotation.first("url");
+                    result.feignClients.add(new FeignClientFacts(name, url, new ArrayList<>(feignEndpointPaths), sourceFile));
+                    logger.debug("[BYTECODE] Feign client {} (name={}, url={}) paths {}", simpleClassName, name, url, feignEndpointPaths);
+                }
+            }
+        }
+
+        boolean isController() {
+            return classAnnotations.stream().anyMatch(annotation -> annotation.simpleName.contains("Controller"));
+        }
+
+        boolean isFeignClient() {
+            return classAnnotations.stream().anyMatch(annotation -> patternMatcher.isFeignClient(annotation.qualifiedName));
+        }
+
+        String basePath() {
+            String basePath = "";
+            for (AnnotationValues annotation : classAnnotations) {
+                if (annotation.simpleName.contains("RequestMapping")) {
+                    String path = annotation.firstPath();
+                    if (path != null) {
+                        basePath = path;
+                    }
+                }
+            }
+            return basePath;
+        }
+    }
+
+    private class FactsMethodVisitor extends MethodVisitor {
+        private final FactsClassVisitor owner;
+        private final String methodName;
+        private final List<AnnotationValues> annotations = new ArrayList<>();
+        private final List<String> literalUrls = new ArrayList<>();
+        private final List<String> placeholderUrls = new ArrayList<>();
+        private Integer firstLine;
+        private Integer currentLine;
+        private String httpClientType;
+        private String lastString;
+        private String pendingBroker;              // template field loaded, send not yet seen
+        private List<String> pendingStrings;       // string arguments loaded after the template
+        private Integer pendingLine;
+
+        FactsMethodVisitor(FactsClassVisitor owner, String methodName) {
+            super(Opcodes.ASM9);
+            this.owner = owner;
+            this.methodName = methodName;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            AnnotationValues annotation = new AnnotationValues(descriptor, owner.result.stringConstants);
+            annotations.add(annotation);
+            return annotation;
+        }
+
+        @Override
+        public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible) {
+            if (!"Value".equals(simpleName(descriptor))) {
+                return null;
+            }
+            return new AnnotationVisitor(Opcodes.ASM9) {
+                @Override
+                public void visit(String name, Object value) {
+                    if (value instanceof String && ((String) value).contains("${")) {
+                        placeholderUrls.add((String) value);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            if (firstLine == null) {
+                firstLine = line;
+            }
+            currentLine = line;
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            if (value instanceof String) {
+                loadString((String) value);
+            }
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String fieldOwner, String name, String descriptor) {
+            String broker = brokerOfType(simpleName(descriptor));
+            if (broker != null && (opcode == Opcodes.GETFIELD || opcode == Opcodes.GETSTATIC)) {
+                pendingBroker = broker;
+                pendingStrings = new ArrayList<>();
+                pendingLine = currentLine;
+                return;
+            }
+            if (!fieldOwner.equals(owner.internalName)) {
+                return;
+            }
+            String placeholder = owner.fieldPlaceholders.get(name);
+            if (placeholder != null) {
+                if (placeholder.contains("${")) {
+                    placeholderUrls.add(placeholder);
+                }
+                addPending(placeholder);
+            } else if (owner.fieldConstants.containsKey(name)) {
+                loadString(owner.fieldConstants.get(name));
+            }
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String callOwner, String name, String descriptor, boolean isInterface) {
+            String ownerName = simpleName(callOwner);
+            String broker = brokerOfType(ownerName);
+
+            if (broker != null && broker.equals(pendingBroker)) {
+                recordProducer(broker, name, descriptor);
+            } else if ("getProperty".equals(name) && PROPERTY_RESOLVER_TYPES.contains(ownerName) && lastString != null) {
+                placeholderUrls.add("${" + lastString + "}");
+            }
+
+            if (httpClientType == null && patternMatcher.isHttpClientCall(ownerName, name)) {
+                httpClientType = ownerName.contains("RestTemplate") ? "rest-template"
+                    : ownerName.contains("WebClient") ? "web-client" : "http-client";
+            }
+        }
+
+        private void recordProducer(String broker, String name, String descriptor) {
+            List<String> strings = pendingStrings;
+            if (AnalyzerConstants.KAFKA_BROKER.equals(broker)) {
+                if (!"send".equals(name) || strings.isEmpty()) {
+                    return;
+                }
+                // send(topic, ...) or send(new ProducerRecord(topic, ...)) - the topic is the first string loaded
+                addProducer(broker, strings.get(0), null);
+            } else {
+                int leadingStrings = leadingStringParameters(descriptor);
+                if (!RABBIT_SEND_METHODS.contains(name) || leadingStrings == 0 || strings.size() < leadingStrings) {
+                    return; // convertAndSend(message) uses the template defaults
+                }
+                // convertAndSend(routingKey, message) or convertAndSend(exchange, routingKey, message)
+                addProducer(broker, strings.get(leadingStrings - 1), leadingStrings >= 2 ? strings.get(0) : null);
+            }
+            pendingBroker = null;
+            pendingStrings = null;
+        }
+
+        private void addProducer(String broker, String destination, String exchange) {
+            MessagingEndpoint endpoint = createEndpoint(broker, destination, pendingLine != null ? pendingLine : currentLine);
+            endpoint.setExchange(exchange);
+            owner.result.producedMessages.add(endpoint);
+        }
+
+        private MessagingEndpoint createEndpoint(String broker, String destination, Integer line) {
+            MessagingEndpoint endpoint = new MessagingEndpoint(broker, destination);
+            endpoint.setSourceFile(owner.sourceFile);
+            endpoint.setLineNumber(line);
+            endpoint.setMethod(owner.simpleClassName + "." + methodName);
+            return endpoint;
+        }
+
+        private void loadString(String value) {
+            lastString = value;
+            if (value.startsWith(AnalyzerConstants.HTTP_PREFIX) || value.startsWith(AnalyzerConstants.HTTPS_PREFIX)) {
+                literalUrls.add(value);
+            }
+            addPending(value);
+        }
+
+        private void addPending(String value) {
+            if (pendingStrings != null) {
+                pendingStrings.add(value);
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            ScanResult result = owner.result;
+            boolean controller = owner.isController();
+            boolean feignClient = owner.isFeignClient();
+            String basePath = controller ? owner.basePath() : "";
+
+            for (AnnotationValues annotation : annotations) {
+                String name = annotation.simpleName;
+                if (name.contains("Mapping")) {
+                    String methodPath = annotation.firstPath();
+                    if (methodPath == null) {
+                        continue;
+                    }
+                    if (controller) {
+                        String fullPath = combinePaths(basePath, methodPath);
+                        result.endpoints.add(fullPath);
+                        // Method-level path too, as the source scan does for Feign clients with a base URL
+                        if (!basePath.isEmpty() && !methodPath.equals(fullPath)) {
+                            result.endpoints.add(methodPath);
+                        }
+                    }
+                    if (feignClient) {
+                        owner.feignEndpointPaths.add(methodPath);
+                    }
+                } else if (name.endsWith("KafkaListener")) {
+                    for (String topic : annotation.get("topics")) {
+                        result.consumedMessages.add(createEndpoint(AnalyzerConstants.KAFKA_BROKER, topic, firstLine));
+                    }
+                } else if (name.endsWith("RabbitListener")) {
+                    for (String queue : annotation.get("queues")) {
+                        result.consumedMessages.add(createEndpoint(AnalyzerConstants.RABBITMQ_BROKER, queue, firstLine));
+                    }
+                    for (AnnotationValues nested : annotation.allNested()) {
+                        if (nested.simpleName.endsWith("Queue")) {
+                            for (String queue : nested.get("value")) {
+                                result.consumedMessages.add(createEndpoint(AnalyzerConstants.RABBITMQ_BROKER, queue, firstLine));
+                            }
+                            for (String queue : nested.get("name")) {
+                                result.consumedMessages.add(createEndpoint(AnalyzerConstants.RABBITMQ_BROKER, queue, firstLine));
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (httpClientType != null && (!literalUrls.isEmpty() || !placeholderUrls.isEmpty())) {
+                List<String> candidates = new ArrayList<>(literalUrls);
+                candidates.addAll(placeholderUrls);
+                result.httpCalls.add(new HttpCallFacts(httpClientType, candidates, owner.sourceFile,
+                    owner.simpleClassName + "." + methodName));
+            }
+        }
+    }
+
+    private static String combinePaths(String basePath, String methodPath) {
+        if (basePath.isEmpty()) {
+            return methodPath;
+        }
+        if (methodPath.isEmpty()) {
+            return basePath;
+        }
+        if (basePath.endsWith("/")) {
+            basePath = basePath.substring(0, basePath.length() - 1);
+        }
+        if (!methodPath.startsWith("/")) {
+            methodPath = "/" + methodPath;
+        }
+        return basePath + methodPath;
+    }
+}
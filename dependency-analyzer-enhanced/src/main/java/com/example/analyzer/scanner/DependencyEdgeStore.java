@@ -0,0 +1,135 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.model.DependencyEvidence;
+import com.example.analyzer.model.ServiceDependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Deduplicates dependencies to one edge per (from, target) pair.
+ *
+ * Service names are interned to ints and edges are keyed by the packed long (from << 32 | target)
+ * in an open-addressing table, so adding an edge allocates no key objects. When an edge is seen
+ * again, the dependency type with the better rank in the precedence table wins; every detection
+ * is kept as {@link DependencyEvidence} on the surviving dependency. Insertion order is preserved.
+ */
+public class DependencyEdgeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyEdgeStore.class);
+
+    /** Default precedence: prefer feign-client, then maven-dependency; other types keep the first occurrence. */
+    public static final List<String> DEFAULT_TYPE_PRECEDENCE = List.of(
+        AnalyzerConstants.FEIGN_CLIENT_TYPE,
+        "maven-dependency"
+    );
+
+    private static final int INITIAL_CAPACITY = 64; // power of two
+    private static final int UNRANKED = Integer.MAX_VALUE;
+
+    private final Map<String, Integer> typeRanks = new HashMap<>();
+    private final Map<String, Integer> serviceIds = new HashMap<>();
+
+    private final List<ServiceDependency> edges = new ArrayList<>();
+    private long[] slotKeys = new long[INITIAL_CAPACITY];
+    private int[] slotEdges = new int[INITIAL_CAPACITY]; // edge index + 1, 0 = empty slot
+    private int added;
+
+    public DependencyEdgeStore(List<String> typePrecedence) {
+        List<String> precedence = typePrecedence != null ? typePrecedence : DEFAULT_TYPE_PRECEDENCE;
+        for (int i = 0; i < precedence.size(); i++) {
+            typeRanks.putIfAbsent(precedence.get(i), i);
+        }
+    }
+
+    public void add(ServiceDependency dependency) {
+        added++;
+        long key = ((long) intern(dependency.getFromService()) << 32) | (intern(dependency.getTargetService()) & 0xFFFFFFFFL);
+
+        int slot = findSlot(key);
+        if (slotEdges[slot] == 0) {
+            dependency.getEvidence().add(new DependencyEvidence(dependency));
+            edges.add(dependency);
+            slotKeys[slot] = key;
+            slotEdges[slot] = edges.size();
+            if (edges.size() * 2 > slotKeys.length) {
+                resize();
+            }
+            return;
+        }
+
+        int index = slotEdges[slot] - 1;
+        ServiceDependency existing = edges.get(index);
+        existing.getEvidence().add(new DependencyEvidence(dependency));
+
+        if (rank(dependency.getDependencyType()) < rank(existing.getDependencyType())) {
+            logger.debug("[UPDATE] Replacing {} with {} for {} -> {}", existing.getDependencyType(),
+                dependency.getDependencyType(), dependency.getFromService(), dependency.getTargetService());
+            dependency.setEvidence(existing.getEvidence());
+            edges.set(index, dependency);
+        } else {
+            logger.debug("[SKIP]  Merging duplicate {} -> {}: {} (keeping {})", dependency.getFromService(),
+                dependency.getTargetService(), dependency.getDependencyType(), existing.getDependencyType());
+        }
+    }
+
+    public void addAll(Collection<ServiceDependency> dependencies) {
+        for (ServiceDependency dependency : dependencies) {
+            add(dependency);
+        }
+    }
+
+    /**
+     * Unique dependencies in first-seen order.
+     */
+    public List<ServiceDependency> toDependencies() {
+        logger.info("[STATS] Deduplicated dependencies: {} -> {} unique", added, edges.size());
+        return new ArrayList<>(edges);
+    }
+
+    private int rank(String dependencyType) {
+        return typeRanks.getOrDefault(dependencyType, UNRANKED);
+    }
+
+    private int intern(String serviceName) {
+        Integer id = serviceIds.get(serviceName);
+        if (id == null) {
+            id = serviceIds.size();
+            serviceIds.put(serviceName, id);
+        }
+        return id;
+    }
+
+    private int findSlot(long key) {
+        int mask = slotKeys.length - 1;
+        int slot = (int) (mix(key) & mask);
+        while (slotEdges[slot] != 0 && slotKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = slotKeys;
+        int[] oldEdges = slotEdges;
+        slotKeys = new long[oldKeys.length * 2];
+        slotEdges = new int[oldEdges.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldEdges[i] != 0) {
+                int slot = findSlot(oldKeys[i]);
+                slotKeys[slot] = oldKeys[i];
+                slotEdges[slot] = oldEdges[i];
+            }
+        }
+    }
+
+    private static long mix(long key) {
+        // Murmur3 finalizer - spreads the packed ids over the whole table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.config.AnalyzerConfiguration;
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * dependency_patterns from analyzer-config.yml compiled once into immutable matchers.
+ *
+ * feign_clients entries are annotation names ("@FeignClient", "FeignClient" or a fully qualified name).
+ * rest_templates entries may be:
+ * - an identifier ("RestTemplate", "webClient"): matched inside identifiers of the method body,
+ *   all identifiers sharing one precompiled alternation
+ * - a call signature ("InternalHttpGateway#call", "apiClient.exchange()", "*#retrieve"): matched
+ *   against method calls by method name and receiver
+ * - "regex:..." or any other text: a precompiled regex searched in the method source
+ */
+public final class DependencyPatternMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyPatternMatcher.class);
+
+    private static final String REGEX_PREFIX = "regex:";
+    private static final String ANY_RECEIVER = "*";
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final Pattern CALL_SIGNATURE = Pattern.compile(
+        "^([A-Za-z_$*][A-Za-z0-9_$]*)(?:#|\\.)([A-Za-z_$][A-Za-z0-9_$]*)(?:\\(\\))?$");
+
+    private final Set<String> feignAnnotations;
+    private final Pattern httpClientIdentifiers; // null when no identifier patterns are configured
+    private final Map<String, Set<String>> httpClientCalls; // method name -> receivers (lower case, "*" = any)
+    private final List<Pattern> httpClientSourcePatterns;
+    private final List<String> httpClientTokens; // literal identifiers and call method names
+
+    private DependencyPatternMatcher(Set<String> feignAnnotations, Pattern httpClientIdentifiers,
+                                     Map<String, Set<String>> httpClientCalls, List<Pattern> httpClientSourcePatterns,
+                                     List<String> httpClientTokens) {
+        this.feignAnnotations = feignAnnotations;
+        this.httpClientIdentifiers = httpClientIdentifiers;
+        this.httpClientCalls = httpClientCalls;
+        this.httpClientSourcePatterns = httpClientSourcePatterns;
+        this.httpClientTokens = httpClientTokens;
+    }
+
+    /**
+     * Compile the configured patterns; missing lists fall back to the defaults.
+     */
+    public static DependencyPatternMatcher compile(AnalyzerConfiguration.DependencyPatternsConfig patterns) {
+        AnalyzerConfiguration.DependencyPatternsConfig defaults = AnalyzerConfiguration.getDefault().getDependencyPatterns();
+        List<String> feignClients = patterns != null && patterns.getFeignClients() != null
+            ? patterns.getFeignClients() : defaults.getFeignClients();
+        List<String> restTemplates = patterns != null && patterns.getRestTemplates() != null
+            ? patterns.getRestTemplates() : defaults.getRestTemplates();
+
+        // @FeignClient is always recognised; configured names extend it
+        Set<String> annotations = new HashSet<>();
+        annotations.add("FeignClient");
+        for (String feignClient : feignClients) {
+            String name = feignClient.trim();
+            name = name.startsWith("@") ? name.substring(1) : name;
+            if (name.isEmpty()) {
+                continue;
+            }
+            annotations.add(name);
+            annotations.add(simpleName(name));
+        }
+
+        List<String> identifiers = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        Map<String, Set<String>> calls = new HashMap<>();
+        List<Pattern> sourcePatterns = new ArrayList<>();
+        for (String restTemplate : restTemplates) {
+            String pattern = restTemplate.trim();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+
+            java.util.regex.Matcher call = CALL_SIGNATURE.matcher(pattern);
+            if (pattern.startsWith(REGEX_PREFIX)) {
+                try {
+                    sourcePatterns.add(Pattern.compile(pattern.substring(REGEX_PREFIX.length())));
+                } catch (PatternSyntaxException e) {
+                    logger.warn("[CONFIG] Ignoring invalid rest_templates regex '{}': {}", pattern, e.getDescription());
+                }
+            } else if (IDENTIFIER.matcher(pattern).matches()) {
+                identifiers.add(Pattern.quote(pattern));
+                tokens.add(pattern);
+            } else if (call.matches()) {
+                calls.computeIfAbsent(call.group(2), k -> new HashSet<>()).add(call.group(1).toLowerCase());
+                tokens.add(call.group(2));
+            } else {
+                sourcePatterns.add(Pattern.compile(Pattern.quote(pattern)));
+            }
+        }
+
+        Map<String, Set<String>> frozenCalls = new HashMap<>();
+        calls.forEach((method, receivers) -> frozenCalls.put(method, Set.copyOf(receivers)));
+
+        DependencyPatternMatcher matcher = new DependencyPatternMatcher(
+            Set.copyOf(annotations),
+            identifiers.isEmpty() ? null : Pattern.compile(String.join("|", identifiers)),
+            Map.copyOf(frozenCalls),
+            List.copyOf(sourcePatterns),
+            List.copyOf(tokens)
+        );
+        logger.info("[CONFIG] Compiled dependency patterns: {} Feign annotations, {} HTTP client identifiers, {} call signatures, {} source patterns",
+            annotations.size(), identifiers.size(), calls.size(), sourcePatterns.size());
+        return matcher;
+    }
+
+    /**
+     * True when the annotation (simple or qualified name) declares a Feign-style client.
+     */
+    public boolean isFeignClient(AnnotationExpr annotation) {
+        return isFeignClient(annotation.getNameAsString());
+    }
+
+    public boolean isFeignClient(String annotationName) {
+        return feignAnnotations.contains(annotationName) || feignAnnotations.contains(simpleName(annotationName));
+    }
+
+    /**
+     * True when the method body uses one of the configured HTTP clients.
+     * Identifiers are read from the parser's tokens, so the method is only printed for source patterns.
+     */
+    public boolean usesHttpClient(MethodDeclaration method) {
+        if (httpClientIdentifiers != null) {
+            Optional<Boolean> tokenMatch = method.getTokenRange().map(tokens -> {
+                for (JavaToken token : tokens) {
+                    if (token.getCategory().isIdentifier() && httpClientIdentifiers.matcher(token.getText()).find()) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (tokenMatch.orElseGet(() -> httpClientIdentifiers.matcher(method.toString()).find())) {
+                return true;
+            }
+        }
+
+        if (!httpClientCalls.isEmpty()) {
+            for (MethodCallExpr call : method.findAll(MethodCallExpr.class)) {
+                Set<String> receivers = httpClientCalls.get(call.getNameAsString());
+                if (receivers != null && (receivers.contains(ANY_RECEIVER) || call.getScope()
+                        .map(scope -> receivers.contains(simpleName(scope.toString()).toLowerCase()))
+                        .orElse(false))) {
+                    return true;
+                }
+            }
+        }
+
+        if (!httpClientSourcePatterns.isEmpty()) {
+            String source = method.toString();
+            for (Pattern pattern : httpClientSourcePatterns) {
+                if (pattern.matcher(source).find()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True when a call to ownerType.methodName (as seen in bytecode) matches an identifier or call signature pattern.
+     */
+    public boolean isHttpClientCall(String ownerType, String methodName) {
+        if (httpClientIdentifiers != null && httpClientIdentifiers.matcher(ownerType).find()) {
+            return true;
+        }
+        Set<String> receivers = httpClientCalls.get(methodName);
+        return receivers != null && (receivers.contains(ANY_RECEIVER) || receivers.contains(ownerType.toLowerCase()));
+    }
+
+    /**
+     * Tokens at least one of which must appear in a file's text for any Feign or HTTP client pattern
+     * to match it, or null when a source pattern is configured (a regex has no such literal).
+     */
+    public Set<String> triggerTokens() {
+        if (!httpClientSourcePatterns.isEmpty()) {
+            return null;
+        }
+        Set<String> tokens = new HashSet<>(httpClientTokens);
+        for (String annotation : feignAnnotations) {
+            tokens.add(simpleName(annotation));
+        }
+        return tokens;
+    }
+
+    private static String simpleName(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1) : name;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.model.GatewayRoute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads gateway routes from configuration that has already been parsed:
+ * - YAML trees: spring.cloud.gateway[.server.webflux].routes (list) and zuul.routes (map)
+ * - .properties: spring.cloud.gateway.routes[N].* indexed keys and zuul.routes.NAME.*
+ *
+ * Only route definitions are read, so unrelated id:/uri: keys elsewhere in the file are ignored.
+ */
+public class GatewayRouteDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayRouteDetector.class);
+
+    private static final List<String> GATEWAY_ROUTE_PREFIXES = List.of(
+        "spring.cloud.gateway.routes",
+        "spring.cloud.gateway.server.webflux.routes"
+    );
+    private static final Pattern INDEXED_ROUTE_KEY = Pattern.compile(
+        "^(spring\\.cloud\\.gateway(?:\\.server\\.webflux)?\\.routes)\\[(\\d+)]\\.(.+)$");
+    private static final Pattern ZUUL_ROUTE_KEY = Pattern.compile("^zuul\\.routes\\.([^.]+)(?:\\.(.+))?$");
+
+    /**
+     * Routes from a parsed YAML document.
+     */
+    public List<GatewayRoute> fromYaml(Map<String, Object> tree, String sourceFile) {
+        List<GatewayRoute> routes = new ArrayList<>();
+
+        for (String prefix : GATEWAY_ROUTE_PREFIXES) {
+            Object routeList = navigate(tree, prefix);
+            if (routeList instanceof List) {
+                for (Object routeNode : (List<?>) routeList) {
+                    if (routeNode instanceof Map) {
+                        GatewayRoute route = gatewayRouteFromMap((Map<?, ?>) routeNode);
+                        if (route != null) {
+                            routes.add(withSource(route, sourceFile));
+                        }
+                    }
+                }
+            }
+        }
+
+        Object zuulRoutes = navigate(tree, "zuul.routes");
+        if (zuulRoutes instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) zuulRoutes).entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                GatewayRoute route;
+                if (entry.getValue() instanceof Map) {
+                    Map<?, ?> routeMap = (Map<?, ?>) entry.getValue();
+                    route = zuulRoute(name, asString(routeMap.get("path")),
+                        firstNonNull(asString(routeMap.get("serviceId")), asString(routeMap.get("service-id"))),
+                        asString(routeMap.get("url")), asString(routeMap.get("stripPrefix")), asString(routeMap.get("strip-prefix")));
+                } else {
+                    // zuul.routes.users: /api/users/** - shorthand, serviceId is the route name
+                    route = zuulRoute(name, asString(entry.getValue()), null, null, null, null);
+                }
+                routes.add(withSource(route, sourceFile));
+            }
+        }
+
+        logRoutes(routes, sourceFile);
+        return routes;
+    }
+
+    /**
+     * Routes from a flat .properties map.
+     */
+    public List<GatewayRoute> fromProperties(Map<String, String> properties, String sourceFile) {
+        Map<String, Map<String, Object>> indexedRoutes = new TreeMap<>();
+        Map<String, Map<String, String>> zuulRoutes = new TreeMap<>();
+
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            Matcher indexed = INDEXED_ROUTE_KEY.matcher(entry.getKey());
+            if (indexed.matches()) {
+                String routeKey = indexed.group(1) + "[" + String.format("%05d", Integer.parseInt(indexed.group(2))) + "]";
+                Map<String, Object> route = indexedRoutes.computeIfAbsent(routeKey, k -> new LinkedHashMap<>());
+                String attribute = indexed.group(3);
+                if (attribute.startsWith("predicates[") || attribute.startsWith("filters[")) {
+                    // predicates[0]=Path=/api/** and predicates[0].args.pattern=/api/**
+                    String listName = attribute.substring(0, attribute.indexOf('['));
+                    @SuppressWarnings("unchecked")
+                    Map<String, String> items = (Map<String, String>) route.computeIfAbsent(listName, k -> new TreeMap<String, String>());
+                    String itemKey = attribute.substring(listName.length());
+                    items.put(itemKey, entry.getValue());
+                } else {
+                    route.put(attribute, entry.getValue());
+                }
+                continue;
+            }
+
+            Matcher zuul = ZUUL_ROUTE_KEY.matcher(entry.getKey());
+            if (zuul.matches()) {
+                zuulRoutes.computeIfAbsent(zuul.group(1), k -> new HashMap<>())
+                    .put(zuul.group(2) != null ? zuul.group(2) : "path", entry.getValue());
+            }
+        }
+
+        List<GatewayRoute> routes = new ArrayList<>();
+        for (Map<String, Object> routeAttributes : indexedRoutes.values()) {
+            GatewayRoute route = new GatewayRoute(asString(routeAttributes.get("id")), asString(routeAttributes.get("uri")));
+            for (String list : List.of("predicates", "filters")) {
+                Object items = routeAttributes.get(list);
+                if (items instanceof Map) {
+                    for (Map.Entry<?, ?> item : ((Map<?, ?>) items).entrySet()) {
+                        String itemKey = String.valueOf(item.getKey());
+                        String value = asString(item.getValue());
+                        if (itemKey.contains(".args.")) {
+                            // [0].args.pattern=/api/** paired with [0].name=Path
+                            Object name = ((Map<?, ?>) items).get(itemKey.substring(0, itemKey.indexOf(".args.")) + ".name");
+                            if (name != null) {
+                                applyShortcut(route, name + "=" + value);
+                            }
+                        } else if (!itemKey.endsWith(".name")) {
+                            applyShortcut(route, value);
+                        }
+                    }
+                }
+            }
+            if (route.getUri() != null) {
+                routes.add(withSource(route, sourceFile));
+            }
+        }
+        for (Map.Entry<String, Map<String, String>> entry : zuulRoutes.entrySet()) {
+            Map<String, String> attributes = entry.getValue();
+            routes.add(withSource(zuulRoute(entry.getKey(), attributes.get("path"),
+                firstNonNull(attributes.get("serviceId"), attributes.get("service-id")), attributes.get("url"),
+                attributes.get("stripPrefix"), attributes.get("strip-prefix")), sourceFile));
+        }
+
+        logRoutes(routes, sourceFile);
+        return routes;
+    }
+
+    private GatewayRoute gatewayRouteFromMap(Map<?, ?> routeMap) {
+        String uri = asString(routeMap.get("uri"));
+        if (uri == null) {
+            return null;
+        }
+        GatewayRoute route = new GatewayRoute(asString(routeMap.get("id")), uri);
+
+        for (String list : List.of("predicates", "filters")) {
+            Object items = routeMap.get(list);
+            if (!(items instanceof List)) {
+                continue;
+            }
+            for (Object item : (List<?>) items) {
+                if (item instanceof Map) {
+                    // Fully expanded form: {name: Path, args: {pattern: /api/**}} or {name: StripPrefix, args: {parts: 1}}
+                    Map<?, ?> expanded = (Map<?, ?>) item;
+                    String name = asString(expanded.get("name"));
+                    Object args = expanded.get("args");
+                    if (name != null && args instanceof Map) {
+                        for (Object arg : ((Map<?, ?>) args).values()) {
+                            applyShortcut(route, name + "=" + arg);
+                        }
+                    }
+                } else if (item != null) {
+                    applyShortcut(route, item.toString());
+                }
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Apply a shortcut predicate/filter such as Path=/a/**,/b/** or StripPrefix=1.
+     */
+    private void applyShortcut(GatewayRoute route, String shortcut) {
+        int eq = shortcut.indexOf('=');
+        if (eq < 0) {
+            return;
+        }
+        String name = shortcut.substring(0, eq).trim();
+        String args = shortcut.substring(eq + 1).trim();
+
+        if ("Path".equals(name)) {
+            List<String> patterns = new ArrayList<>(route.getPathPatterns());
+            for (String pattern : args.split(",")) {
+                if (!pattern.isBlank()) {
+                    patterns.add(pattern.trim());
+                }
+            }
+            route.setPathPatterns(patterns);
+        } else if ("StripPrefix".equals(name)) {
+            try {
+                route.setStripPrefix(Integer.parseInt(args));
+            } catch (NumberFormatException e) {
+                logger.debug("[GATEWAY] Ignoring non-numeric StripPrefix: {}", args);
+            }
+        }
+    }
+
+    private GatewayRoute zuulRoute(String name, String path, String serviceId, String url,
+                                   String stripPrefix, String stripPrefixDashed) {
+        GatewayRoute route = new GatewayRoute(name, url != null ? url : "lb://" + (serviceId != null ? serviceId : name));
+        if (path != null) {
+            route.setPathPatterns(List.of(path));
+        }
+        // Zuul strips the route prefix unless strip-prefix: false
+        String strip = firstNonNull(stripPrefix, stripPrefixDashed);
+        if (path != null && !"false".equalsIgnoreCase(strip)) {
+            route.setStripPrefix(1);
+        }
+        return route;
+    }
+
+    private GatewayRoute withSource(GatewayRoute route, String sourceFile) {
+        route.setSourceFile(sourceFile);
+        return route;
+    }
+
+    private void logRoutes(List<GatewayRoute> routes, String sourceFile) {
+        for (GatewayRoute route : routes) {
+            logger.info("[GATEWAY] Route {} -> {} paths {} (strip {}) in {}",
+                route.getId(), route.getUri(), route.getPathPatterns(), route.getStripPrefix(), sourceFile);
+        }
+    }
+
+    private static Object navigate(Map<String, Object> tree, String dottedPath) {
+        Object current = tree;
+        for (String key : dottedPath.split("\\.")) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<?, ?>) current).get(key);
+        }
+        return current;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString().trim() : null;
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
+    }
+}
@@ -2,13 +2,22 @@ package com.example.analyzer.scanner;
 
 import com.example.analyzer.AnalyzerConstants;
 import com.example.analyzer.config.AnalyzerConfiguration;
+import com.example.analyzer.model.GatewayRoute;
+import com.example.analyzer.model.MessagingEndpoint;
 import com.example.analyzer.model.ServiceInfo;
 import com.example.analyzer.model.ServiceDependency;
-import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.ArrayInitializerExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NormalAnnotationExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.expr.VariableDeclarationExpr;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,22 +29,101 @@ import java.io.FileReader;
 import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class GenericDependencyScanner {
 
     private static final Logger logger = LoggerFactory.getLogger(GenericDependencyScanner.class);
+    private static final java.util.regex.Pattern PLACEHOLDER_PATTERN = java.util.regex.Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?}");
 
+    // Tokens of files that can declare a String constant, an @Value field or a @ConfigurationProperties bean
+    private static final List<String> SYMBOL_TRIGGER_TOKENS = List.of("final String", "@Value", "@ConfigurationProperties");
+    
     private final AnalyzerConfiguration config;
     private final boolean includeAll;
-    private final JavaParser javaParser = new JavaParser();
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
     private Map<String, String> serviceProperties = new HashMap<>();
     private Map<String, List<String>> serviceEndpointsMap = new HashMap<>(); // service -> list of endpoints
+    private Map<String, Map<String, Object>> serviceConfigTrees = new LinkedHashMap<>(); // config file -> parsed YAML
+    private Map<String, Map<String, String>> servicePropertyFiles = new LinkedHashMap<>(); // config file -> .properties entries
+    private final DependencyPatternMatcher patternMatcher;
+    private final MessagingDetector messagingDetector;
+    private final GatewayRouteDetector gatewayRouteDetector = new GatewayRouteDetector();
+    private final BytecodeClassScanner bytecodeScanner; // null in source mode
+    private final Map<Path, Optional<BytecodeClassScanner.ScanResult>> bytecodeResults = new HashMap<>(); // service path -> compiled classes
+    private JavaSourcePipeline sourcePipeline; // started on first source scan
+    private final SourceTriggerFilter endpointTriggers; // files that can declare a mapping
+    private final Set<String> clientTriggerTokens; // Feign/HTTP client and messaging tokens; null = no pre-filter
+    private SourceTriggerFilter dependencyTriggers; // files that can hold a client, messaging or hotspot hit; null = parse all
+    private int triggerFeignTypeCount; // feignClientTypes.size() when dependencyTriggers was built
+    private final Set<String> feignClientTypes = new HashSet<>(); // simple names of Feign client interfaces, project-wide
+    private final PerformanceSmellDetector smellDetector; // null when performance_hotspots is off
+    private final SourceSymbolIndex symbolIndex = new SourceSymbolIndex(this::resolvePlaceholders, this::resolveProperty);
+    private final Set<Path> indexedSourceRoots = new HashSet<>(); // service paths whose sources are in symbolIndex
+    private boolean symbolIndexLogged;
     
     public GenericDependencyScanner(AnalyzerConfiguration config, boolean includeAll) {
+        this(config, includeAll, AnalyzerConstants.SCAN_MODE_SOURCE);
+    }
+    
+    public GenericDependencyScanner(AnalyzerConfiguration config, boolean includeAll, String scanMode) {
         this.config = config;
         this.includeAll = includeAll;
+        this.patternMatcher = DependencyPatternMatcher.compile(config.getDependencyPatterns());
+        this.messagingDetector = new MessagingDetector(this::resolvePlaceholders);
+        this.bytecodeScanner = AnalyzerConstants.SCAN_MODE_BYTECODE.equals(scanMode)
+            ? new BytecodeClassScanner(patternMatcher) : null;
+        
+        // Endpoints need an @*Mapping annotation; dependencies need a Feign/HTTP client pattern or a messaging token
+        // The endpoint pass also fills the symbol index, so it parses files declaring constants or bound fields too
+        List<String> endpointTokens = new ArrayList<>(SYMBOL_TRIGGER_TOKENS);
+        endpointTokens.add("Mapping");
+        this.endpointTriggers = SourceTriggerFilter.of(endpointTokens);
+        this.smellDetector = config.getOutputFormats() != null && config.getOutputFormats().isPerformanceHotspots()
+            ? new PerformanceSmellDetector(patternMatcher, feignClientTypes) : null;
+        Set<String> clientTokens = patternMatcher.triggerTokens();
+        if (clientTokens != null) {
+            Set<String> tokens = new HashSet<>(clientTokens);
+            tokens.addAll(MessagingDetector.triggerTokens());
+            if (smellDetector != null) {
+                tokens.addAll(PerformanceSmellDetector.triggerTokens());
+            }
+            this.clientTriggerTokens = tokens;
+            this.dependencyTriggers = SourceTriggerFilter.of(tokens);
+            logger.info("[CONFIG] Lexical pre-filter tokens: {}", dependencyTriggers.getTokens());
+        } else {
+            this.clientTriggerTokens = null;
+            this.dependencyTriggers = null;
+            logger.info("[CONFIG] rest_templates has source patterns - lexical pre-filter disabled for dependency scanning");
+        }
+    }
+    
+    /**
+     * Pre-filter for the dependency pass. Hotspot detection also needs the files calling a Feign client,
+     * which name the client's type but no configured token, so the filter grows with the Feign types found.
+     */
+    private SourceTriggerFilter dependencyTriggers() {
+        if (clientTriggerTokens != null && smellDetector != null && feignClientTypes.size() != triggerFeignTypeCount) {
+            Set<String> tokens = new HashSet<>(clientTriggerTokens);
+            tokens.addAll(feignClientTypes);
+            dependencyTriggers = SourceTriggerFilter.of(tokens);
+            triggerFeignTypeCount = feignClientTypes.size();
+            logger.debug("[CONFIG] Lexical pre-filter extended with {} Feign client types", triggerFeignTypeCount);
+        }
+        return dependencyTriggers;
+    }
+    
+    /**
+     * Add the source to the symbol index and remember the Feign client interfaces it declares.
+     */
+    private void indexSymbols(CompilationUnit cu) {
+        symbolIndex.index(cu);
+        for (ClassOrInterfaceDeclaration type : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+            if (type.getAnnotations().stream().anyMatch(patternMatcher::isFeignClient)) {
+                feignClientTypes.add(type.getNameAsString());
+            }
+        }
     }
     
     /**
@@ -49,14 +137,22 @@ public class GenericDependencyScanner {
      */
     public void buildServiceEndpointsMap(List<ServiceInfo> allServices, Path projectRoot) {
         serviceEndpointsMap.clear();
-        
+        refreshServiceEndpoints(allServices, projectRoot);
+    }
+    
+    /**
+     * Re-extract endpoints for the given services only, keeping every other entry of the map.
+     * Used by change-scoped analysis where unchanged services come from the baseline.
+     */
+    public void refreshServiceEndpoints(List<ServiceInfo> services, Path projectRoot) {
         int totalEndpoints = 0;
-        logger.info("[LIST] Building endpoint map for {} services...", allServices.size());
+        logger.info("[LIST] Building endpoint map for {} services...", services.size());
         
-        for (ServiceInfo service : allServices) {
+        for (ServiceInfo service : services) {
             Path servicePath = projectRoot.resolve(service.getPath());
             List<String> endpoints = extractServiceEndpoints(servicePath);
             serviceEndpointsMap.put(service.getName(), endpoints);
+            service.setExposedEndpoints(new ArrayList<>(endpoints));
             
             if (!endpoints.isEmpty()) {
                 logger.info("   [OK] {}: {} endpoints", service.getName(), endpoints.size());
@@ -69,7 +165,14 @@ public class GenericDependencyScanner {
             }
         }
         
-        logger.info("[STATS] Total endpoints mapped: {} across {} services", totalEndpoints, allServices.size());
+        logger.info("[STATS] Total endpoints mapped: {} across {} services", totalEndpoints, services.size());
+    }
+    
+    /**
+     * Register endpoints already known for a service (e.g. from a cached baseline) without parsing it.
+     */
+    public void registerServiceEndpoints(ServiceInfo service) {
+        serviceEndpointsMap.put(service.getName(), new ArrayList<>(service.getExposedEndpoints()));
     }
     
     /**
@@ -82,31 +185,37 @@ public class GenericDependencyScanner {
         logger.info("EXTRACTING ENDPOINTS FROM: {}", servicePath.getFileName());
         logger.info("Full path: {}", servicePath.toAbsolutePath());
         
+        BytecodeClassScanner.ScanResult compiled = bytecodeResult(servicePath);
+        if (compiled != null) {
+            endpoints.addAll(compiled.getEndpoints());
+            logger.info("[BYTECODE] {} endpoints from compiled classes of {}: {}", endpoints.size(), servicePath.getFileName(), endpoints);
+            return endpoints;
+        }
+        
         try {
             // Use case-insensitive pattern to handle both .java and .Java on Windows
             PathMatcher javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**/*.{java,JAVA,Java}");
             
-            try (var stream = Files.walk(servicePath)) {
-                List<Path> javaFiles = stream
-                    .filter(javaMatcher::matches)
-                    .filter(path -> !path.toString().contains("/test/") && !path.toString().contains("\\test\\"))  // Exclude test directories only
-                    .collect(Collectors.toList());
-                
-                logger.info("Found {} Java files to scan", javaFiles.size());
-                
-                if (javaFiles.size() > 0 && javaFiles.size() <= 5) {
-                    logger.info("Files found:");
-                    javaFiles.forEach(f -> logger.info("  - {}", f.getFileName()));
-                }
-                
-                for (Path javaFile : javaFiles) {
-                    List<String> fileEndpoints = extractEndpointsFromController(javaFile);
+            List<Path> javaFiles = sourcePipeline().process(servicePath,
+                path -> javaMatcher.matches(path)
+                    && !path.toString().contains("/test/") && !path.toString().contains("\\test\\"),  // Exclude test directories only
+                endpointTriggers,
+                (javaFile, cu) -> {
+                    indexSymbols(cu);
+                    List<String> fileEndpoints = extractEndpointsFromController(cu, javaFile);
                     if (!fileEndpoints.isEmpty()) {
                         logger.info("  [FOUND] {} endpoints in {}: {}", 
                             fileEndpoints.size(), javaFile.getFileName(), fileEndpoints);
                     }
                     endpoints.addAll(fileEndpoints);
-                }
+                });
+            
+            indexedSourceRoots.add(servicePath);
+            logger.info("Found {} Java files to scan", javaFiles.size());
+            
+            if (javaFiles.size() > 0 && javaFiles.size() <= 5) {
+                logger.info("Files found:");
+                javaFiles.forEach(f -> logger.info("  - {}", f.getFileName()));
             }
         } catch (Exception e) {
             logger.error("[ERROR] Failed to extract endpoints from {}: {}", servicePath, e.getMessage(), e);
@@ -126,17 +235,10 @@ public class GenericDependencyScanner {
      * Extract endpoints from @RestController classes
      * Handles @RequestMapping, @GetMapping, @PostMapping, etc.
      */
-    private List<String> extractEndpointsFromController(Path javaFile) {
+    private List<String> extractEndpointsFromController(CompilationUnit cu, Path javaFile) {
         List<String> endpoints = new ArrayList<>();
         
         try {
-            logger.debug("Parsing controller file: {}", javaFile.getFileName());
-            CompilationUnit cu = javaParser.parse(javaFile).getResult().orElse(null);
-            if (cu == null) {
-                logger.warn("Failed to parse controller file: {}", javaFile);
-                return endpoints;
-            }
-            
             List<ClassOrInterfaceDeclaration> classes = cu.findAll(ClassOrInterfaceDeclaration.class);
             logger.debug("Found {} classes in {}", classes.size(), javaFile.getFileName());
             
@@ -237,6 +339,9 @@ public class GenericDependencyScanner {
     
     public List<ServiceDependency> scanDependencies(ServiceInfo service, List<ServiceInfo> allServices, Path projectRoot) {
         List<ServiceDependency> dependencies = new ArrayList<>();
+        service.getProducedMessages().clear();
+        service.getConsumedMessages().clear();
+        service.getPerformanceHotspots().clear();
         
         // Skip gateway services and libraries (unless --include-all is specified)
         if (!includeAll && (service.getName().toLowerCase().contains("gateway") || service.getName().toLowerCase().contains("lib"))) {
@@ -256,18 +361,25 @@ public class GenericDependencyScanner {
                 dependencies.addAll(scanMavenDependencies(servicePath, allServices, projectRoot));
             }
             
-            // Scan Java files for Feign clients, REST templates, etc.
+            // Scan Java files (or their compiled classes in bytecode mode) for Feign clients, REST templates,
+            // messaging producers/consumers, etc.
             if ("java".equals(service.getLanguage())) {
-                dependencies.addAll(scanJavaFiles(servicePath, allServices));
+                BytecodeClassScanner.ScanResult compiled = bytecodeResult(servicePath);
+                if (compiled != null) {
+                    dependencies.addAll(scanClassFiles(service, compiled, allServices));
+                } else {
+                    ensureSymbolIndex(allServices, projectRoot);
+                    dependencies.addAll(scanJavaFiles(service, servicePath, allServices));
+                }
             }
             
             // Scan configuration files for gateway routes, etc. (especially for gateway-service)
             if (includeAll || service.getName().toLowerCase().contains("gateway")) {
-                dependencies.addAll(scanConfigurationFiles(servicePath, allServices));
+                dependencies.addAll(scanConfigurationFiles(service, servicePath, allServices));
             }
             
-            // Scan for messaging dependencies
-            dependencies.addAll(scanMessagingDependencies(servicePath, allServices));
+            // Messaging topics/queues are recorded on the service while scanning Java files;
+            // producers are joined to consumers across services by MessagingTopicIndex
             
             // ENDPOINT-FIRST DETECTION: Search for this service using other services' endpoints
             dependencies.addAll(scanForEndpointUsageByThisService(service, allServices, projectRoot));
@@ -415,35 +527,9 @@ public class GenericDependencyScanner {
      * Even if there are multiple Feign client methods or multiple RestTemplate calls
      */
     private List<ServiceDependency> deduplicateDependencies(List<ServiceDependency> dependencies) {
-        Map<String, ServiceDependency> uniqueDeps = new LinkedHashMap<>();
-        
-        for (ServiceDependency dep : dependencies) {
-            String key = dep.getFromService() + " -> " + dep.getTargetService();
-            
-            // Keep the first occurrence, or prefer feign-client over other types
-            if (!uniqueDeps.containsKey(key)) {
-                uniqueDeps.put(key, dep);
-            } else {
-                ServiceDependency existing = uniqueDeps.get(key);
-                // Prefer feign-client type over others, then maven-dependency
-                if ("feign-client".equals(dep.getDependencyType()) && 
-                    !"feign-client".equals(existing.getDependencyType())) {
-                    logger.info("[UPDATE] Replacing {} with {} for {}", existing.getDependencyType(), dep.getDependencyType(), key);
-                    uniqueDeps.put(key, dep);
-                } else if ("maven-dependency".equals(dep.getDependencyType()) && 
-                          !"feign-client".equals(existing.getDependencyType()) &&
-                          !"maven-dependency".equals(existing.getDependencyType())) {
-                    logger.info("[UPDATE] Replacing {} with {} for {}", existing.getDependencyType(), dep.getDependencyType(), key);
-                    uniqueDeps.put(key, dep);
-                } else {
-                    logger.info("[SKIP]  Skipping duplicate {}: {} (keeping {})", key, dep.getDependencyType(), existing.getDependencyType());
-                }
-            }
-        }
-        
-        logger.info("[STATS] Deduplicated dependencies: {} -> {} unique", dependencies.size(), uniqueDeps.size());
-        
-        return new ArrayList<>(uniqueDeps.values());
+        DependencyEdgeStore edgeStore = new DependencyEdgeStore(config.getDependencyTypePrecedence());
+        edgeStore.addAll(dependencies);
+        return edgeStore.toDependencies();
     }
     
     /**
@@ -528,6 +614,14 @@ public class GenericDependencyScanner {
     private boolean searchForEndpointInService(String endpoint, Path servicePath, String targetServiceName) {
         logger.info("    [SEARCHING] Looking for \"{}\" in {} ...", endpoint, servicePath.getFileName());
         
+        // Bytecode mode: string constants of the compiled classes stand in for string literals in the sources
+        BytecodeClassScanner.ScanResult compiled = bytecodeResult(servicePath);
+        if (compiled != null) {
+            boolean found = compiled.getStringConstants().contains(endpoint);
+            logger.info("    [RESULT] Endpoint \"{}\" {} in compiled classes of {}", endpoint, found ? "found" : "NOT found", servicePath.getFileName());
+            return found;
+        }
+        
         try {
             PathMatcher javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**/*.{java,JAVA,Java}");
             
@@ -559,20 +653,28 @@ public class GenericDependencyScanner {
         return false;
     }
     
-    private List<ServiceDependency> scanJavaFiles(Path servicePath, List<ServiceInfo> allServices) {
+    private List<ServiceDependency> scanJavaFiles(ServiceInfo service, Path servicePath, List<ServiceInfo> allServices) {
         List<ServiceDependency> dependencies = new ArrayList<>();
         
         try {
             PathMatcher javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**/*.java");
+            Predicate<Path> sources = path -> javaMatcher.matches(path)
+                && !path.toString().contains("/test/") && !path.toString().contains("\\test\\");  // Exclude test directories only
+            PerformanceSmellDetector.ServiceScan smells = smellDetector != null ? smellDetector.newScan(service) : null;
+            
+            sourcePipeline().process(servicePath, sources, dependencyTriggers(),
+                (javaFile, cu) -> {
+                    dependencies.addAll(analyzeJavaFile(cu, javaFile, service, servicePath, allServices));
+                    if (smells != null) {
+                        smells.add(cu, servicePath.relativize(javaFile).toString());
+                    }
+                });
             
-            try (var stream = Files.walk(servicePath)) {
-                List<Path> javaFiles = stream
-                    .filter(javaMatcher::matches)
-                    .filter(path -> !path.toString().contains("/test/") && !path.toString().contains("\\test\\"))  // Exclude test directories only
-                    .collect(Collectors.toList());
-                
-                for (Path javaFile : javaFiles) {
-                    dependencies.addAll(analyzeJavaFile(javaFile, servicePath, allServices));
+            if (smells != null) {
+                scanHotspotCallers(smells, servicePath, sources);
+                smells.finish();
+                if (!service.getPerformanceHotspots().isEmpty()) {
+                    logger.info("[PERF] {} performance hotspots in {}", service.getPerformanceHotspots().size(), service.getName());
                 }
             }
             
@@ -583,45 +685,211 @@ public class GenericDependencyScanner {
         return dependencies;
     }
     
-    private List<ServiceDependency> analyzeJavaFile(Path javaFile, Path servicePath, List<ServiceInfo> allServices) {
+    /**
+     * A controller calling a service class that calls a Feign client names neither, so the pre-filter
+     * skips it. Parse the skipped files mentioning a class that makes remote calls, round after round
+     * until no new class turns out to make one.
+     */
+    private void scanHotspotCallers(PerformanceSmellDetector.ServiceScan smells, Path servicePath, Predicate<Path> sources) {
+        if (dependencyTriggers() == null) {
+            return; // every file was parsed already
+        }
+        Set<String> scannedTypes = new HashSet<>();
+        Set<String> remoteTypes = smells.remoteTypes();
+        while (scannedTypes.addAll(remoteTypes)) {
+            List<Path> added = sourcePipeline().process(servicePath,
+                path -> sources.test(path) && !smells.contains(servicePath.relativize(path).toString()),
+                SourceTriggerFilter.of(remoteTypes),
+                (javaFile, cu) -> smells.add(cu, servicePath.relativize(javaFile).toString()));
+            logger.debug("[PERF] Caller round over {} remote classes checked {} more files in {}",
+                remoteTypes.size(), added.size(), servicePath.getFileName());
+            remoteTypes = smells.remoteTypes();
+        }
+    }
+    
+    /**
+     * Index the sources of every service the endpoint pass did not parse (compiled services in bytecode
+     * mode, baseline services in --since mode), so constants shared across services and libraries resolve
+     * the same way in every mode.
+     */
+    private void ensureSymbolIndex(List<ServiceInfo> allServices, Path projectRoot) {
+        PathMatcher javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**/*.java");
+        SourceTriggerFilter symbolTriggers = null;
+        for (ServiceInfo other : allServices) {
+            Path otherPath = projectRoot.resolve(other.getPath());
+            if (!"java".equals(other.getLanguage()) || !indexedSourceRoots.add(otherPath)) {
+                continue;
+            }
+            if (symbolTriggers == null) {
+                symbolTriggers = SourceTriggerFilter.of(SYMBOL_TRIGGER_TOKENS);
+            }
+            sourcePipeline().process(otherPath,
+                path -> javaMatcher.matches(path)
+                    && !path.toString().contains("/test/") && !path.toString().contains("\\test\\"),
+                symbolTriggers,
+                (javaFile, cu) -> indexSymbols(cu));
+        }
+        if (!symbolIndexLogged) {
+            symbolIndex.logSummary();
+            symbolIndexLogged = true;
+        }
+    }
+    
+    /**
+     * Shared walker/reader/parser pipeline for Java sources, started on first use so bytecode-only
+     * runs never spawn its threads.
+     */
+    private JavaSourcePipeline sourcePipeline() {
+        if (sourcePipeline == null) {
+            AnalyzerConfiguration.ScanPipelineConfig pipeline = config.getScanPipeline();
+            sourcePipeline = pipeline != null
+                ? new JavaSourcePipeline(pipeline.getIoThreads(), pipeline.getParserThreads(), pipeline.getQueueCapacity())
+                : new JavaSourcePipeline(0, 0, 0);
+        }
+        return sourcePipeline;
+    }
+    
+    /**
+     * Log the source pipeline's per-stage metrics and stop its threads.
+     */
+    public void shutdown() {
+        if (sourcePipeline != null) {
+            sourcePipeline.logSummary();
+            sourcePipeline.close();
+            sourcePipeline = null;
+        }
+    }
+    
+    /**
+     * Compiled classes of a service in bytecode mode, read once and shared by endpoint extraction
+     * and dependency scanning. Null in source mode, or when the service has no compiled classes or
+     * they are older than its sources, in which case the sources are parsed instead.
+     */
+    private BytecodeClassScanner.ScanResult bytecodeResult(Path servicePath) {
+        if (bytecodeScanner == null) {
+            return null;
+        }
+        return bytecodeResults.computeIfAbsent(servicePath, path -> {
+            List<Path> roots = BytecodeClassScanner.findClassRoots(path);
+            if (roots.isEmpty()) {
+                logger.warn("[BYTECODE] No compiled classes or jars in {} - falling back to source scanning", path.getFileName());
+                return Optional.empty();
+            }
+            if (BytecodeClassScanner.isOlderThanSources(path, roots)) {
+                logger.warn("[BYTECODE] Compiled classes of {} are older than its sources - falling back to source scanning", path.getFileName());
+                return Optional.empty();
+            }
+            BytecodeClassScanner.ScanResult compiled = bytecodeScanner.scan(roots);
+            if (compiled.getClassesRead() == 0) {
+                logger.warn("[BYTECODE] No readable classes in {} - falling back to source scanning", roots);
+                return Optional.empty();
+            }
+            return Optional.of(compiled);
+        }).orElse(null);
+    }
+    
+    /**
+     * Bytecode counterpart of scanJavaFiles: turns the facts read from class files into the same
+     * dependencies and messaging endpoints, resolving placeholders against this service's properties.
+     */
+    private List<ServiceDependency> scanClassFiles(ServiceInfo service, BytecodeClassScanner.ScanResult compiled, List<ServiceInfo> allServices) {
+        List<ServiceDependency> dependencies = new ArrayList<>();
+        
+        for (BytecodeClassScanner.FeignClientFacts feignClient : compiled.getFeignClients()) {
+            try {
+                logger.info("[SCAN] Analyzing Feign client in {}: {} (name={}, url={})", service.getName(),
+                    feignClient.getSourceFile(), feignClient.getName(), feignClient.getUrl());
+                ServiceDependency dependency = resolveFeignDependency(service.getName(), feignClient.getName(), feignClient.getUrl(),
+                    new ArrayList<>(feignClient.getEndpointPaths()), feignClient.getSourceFile(), null, allServices);
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            } catch (Exception e) {
+                logger.error("Error extracting Feign dependency: {}", e.getMessage(), e);
+            }
+        }
+        
+        for (BytecodeClassScanner.HttpCallFacts httpCall : compiled.getHttpCalls()) {
+            String url = null;
+            for (String candidate : httpCall.getUrlCandidates()) {
+                String resolved = resolvePlaceholders(candidate);
+                if (resolved.startsWith(AnalyzerConstants.HTTP_PREFIX) || resolved.startsWith(AnalyzerConstants.HTTPS_PREFIX)) {
+                    url = resolved;
+                    break;
+                }
+            }
+            if (url != null) {
+                ServiceDependency dependency = buildHttpClientDependency(service.getName(), httpCall.getClientType(), url,
+                    httpCall.getSourceFile(), allServices);
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
+            }
+        }
+        
+        for (MessagingEndpoint produced : compiled.getProducedMessages()) {
+            MessagingEndpoint endpoint = resolveMessagingEndpoint(produced);
+            if (endpoint != null) {
+                service.getProducedMessages().add(endpoint);
+                logger.info("[MESSAGING] {} publishes to {} '{}' in {}", service.getName(), endpoint.getBroker(), endpoint.getDestination(), endpoint.getMethod());
+            }
+        }
+        for (MessagingEndpoint consumed : compiled.getConsumedMessages()) {
+            MessagingEndpoint endpoint = resolveMessagingEndpoint(consumed);
+            if (endpoint != null) {
+                service.getConsumedMessages().add(endpoint);
+                logger.info("[MESSAGING] {} consumes {} '{}' in {}", service.getName(), endpoint.getBroker(), endpoint.getDestination(), endpoint.getMethod());
+            }
+        }
+        
+        return dependencies;
+    }
+    
+    /**
+     * Copy of a raw messaging endpoint read from bytecode with its destination resolved; SpEL and blank names are skipped.
+     */
+    private MessagingEndpoint resolveMessagingEndpoint(MessagingEndpoint raw) {
+        String destination = raw.getDestination();
+        if (destination == null || destination.isBlank() || destination.startsWith("#{")) {
+            return null;
+        }
+        MessagingEndpoint endpoint = new MessagingEndpoint(raw.getBroker(), resolvePlaceholders(destination.trim()));
+        endpoint.setExchange(raw.getExchange() != null ? resolvePlaceholders(raw.getExchange()) : null);
+        endpoint.setSourceFile(raw.getSourceFile());
+        endpoint.setLineNumber(raw.getLineNumber());
+        endpoint.setMethod(raw.getMethod());
+        return endpoint;
+    }
+    
+    private List<ServiceDependency> analyzeJavaFile(CompilationUnit cu, Path javaFile, ServiceInfo service, Path servicePath, List<ServiceInfo> allServices) {
         List<ServiceDependency> dependencies = new ArrayList<>();
         
         try {
-            CompilationUnit cu = javaParser.parse(javaFile).getResult().orElse(null);
-            if (cu == null) {
-                return dependencies;
-            }
-            
             // Look for Feign clients
             cu.findAll(AnnotationExpr.class).forEach(annotation -> {
-                String annotationName = annotation.getNameAsString();
-                
-                for (String feignPattern : config.getDependencyPatterns().getFeignClients()) {
-                    if (annotationName.contains(feignPattern) || annotationName.equals("FeignClient")) {
-                        // Get the parent interface/class to extract method mappings
-                        com.github.javaparser.ast.Node parent = annotation.getParentNode().orElse(null);
-                        ServiceDependency dependency = extractFeignDependency(annotation, parent, javaFile, servicePath, allServices);
-                        if (dependency != null) {
-                            dependencies.add(dependency);
-                        }
+                if (patternMatcher.isFeignClient(annotation)) {
+                    // Get the parent interface/class to extract method mappings
+                    com.github.javaparser.ast.Node parent = annotation.getParentNode().orElse(null);
+                    ServiceDependency dependency = extractFeignDependency(annotation, parent, javaFile, servicePath, allServices);
+                    if (dependency != null) {
+                        dependencies.add(dependency);
                     }
                 }
             });
             
-            // Look for RestTemplate usage
+            // Look for RestTemplate/WebClient/HttpClient and configured client usage
             cu.findAll(MethodDeclaration.class).forEach(method -> {
-                String methodBody = method.toString();
-                
-                for (String restPattern : config.getDependencyPatterns().getRestTemplates()) {
-                    if (methodBody.contains(restPattern)) {
-                        ServiceDependency dependency = extractRestTemplateDependency(method, javaFile, servicePath, allServices);
-                        if (dependency != null) {
-                            dependencies.add(dependency);
-                        }
+                if (patternMatcher.usesHttpClient(method)) {
+                    ServiceDependency dependency = extractRestTemplateDependency(method, javaFile, servicePath, allServices);
+                    if (dependency != null) {
+                        dependencies.add(dependency);
                     }
                 }
             });
             
+            // Look for Kafka/RabbitMQ producers and consumers on the same AST
+            messagingDetector.detect(cu, servicePath.relativize(javaFile).toString(), service);
+            
             // Look for controller endpoints
             cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
                 classDecl.getAnnotations().forEach(annotation -> {
@@ -683,6 +951,12 @@ public class GenericDependencyScanner {
                     method.getAnnotations().forEach(methodAnnotation -> {
                         String methodAnnName = methodAnnotation.getNameAsString();
                         if (methodAnnName.contains("Mapping")) { // GetMapping, PostMapping, PutMapping, etc.
+                            String resolvedPath = resolveMappingPath(methodAnnotation);
+                            if (resolvedPath != null) {
+                                endpointPaths.add(resolvedPath);
+                                logger.debug("   [INFO] Found method endpoint: {}", resolvedPath);
+                                return;
+                            }
                             String methodAnnStr = methodAnnotation.toString();
                             String[] methodParts = methodAnnStr.split("[\"\']");
                             if (methodParts.length > 1) {
@@ -697,114 +971,124 @@ public class GenericDependencyScanner {
                 });
             }
             
-            // STRATEGY 1: Try URL-based endpoint matching FIRST (Most Accurate!)
-            String matchedServiceName = null;
+            return resolveFeignDependency(sourceServiceName, targetServiceName, targetServiceUrl, endpointPaths,
+                servicePath.relativize(javaFile).toString(), annotation.getBegin().map(pos -> pos.line).orElse(null), allServices);
             
-            if (targetServiceUrl != null && !targetServiceUrl.trim().isEmpty()) {
-                targetServiceUrl = targetServiceUrl.trim();
+        } catch (Exception e) {
+            logger.error("Error extracting Feign dependency: {}", e.getMessage(), e);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Resolve a Feign client (name/url from the annotation plus its method paths) to a target service.
+     * Shared by source and bytecode scanning.
+     */
+    private ServiceDependency resolveFeignDependency(String sourceServiceName, String targetServiceName, String targetServiceUrl,
+                                                     List<String> endpointPaths, String relativeFile, Integer lineNumber,
+                                                     List<ServiceInfo> allServices) {
+        // STRATEGY 1: Try URL-based endpoint matching FIRST (Most Accurate!)
+        String matchedServiceName = null;
+        
+        if (targetServiceUrl != null && !targetServiceUrl.trim().isEmpty()) {
+            targetServiceUrl = targetServiceUrl.trim();
+            
+            // Resolve property placeholders in URL like ${feign.ccg.url}
+            if (targetServiceUrl.startsWith("${") && targetServiceUrl.endsWith("}")) {
+                String propertyKey = targetServiceUrl.substring(2, targetServiceUrl.length() - 1);
+                logger.debug("   [PROP] Resolving URL property: {}", propertyKey);
                 
-                // Resolve property placeholders in URL like ${feign.ccg.url}
-                if (targetServiceUrl.startsWith("${") && targetServiceUrl.endsWith("}")) {
-                    String propertyKey = targetServiceUrl.substring(2, targetServiceUrl.length() - 1);
-                    logger.debug("   [PROP] Resolving URL property: {}", propertyKey);
-                    
-                    String resolvedValue = resolveProperty(propertyKey);
-                    if (resolvedValue != null) {
-                        logger.info("   [OK] Resolved {} = '{}' -> '{}'", propertyKey, targetServiceUrl, resolvedValue);
-                        targetServiceUrl = resolvedValue;
-                    } else {
-                        logger.warn("   [WARN]  URL Property '{}' not found in config files!", propertyKey);
-                        targetServiceUrl = null;
-                    }
+                String resolvedValue = resolveProperty(propertyKey);
+                if (resolvedValue != null) {
+                    logger.info("   [OK] Resolved {} = '{}' -> '{}'", propertyKey, targetServiceUrl, resolvedValue);
+                    targetServiceUrl = resolvedValue;
+                } else {
+                    logger.warn("   [WARN]  URL Property '{}' not found in config files!", propertyKey);
+                    targetServiceUrl = null;
                 }
+            }
+            
+            // Build full endpoint paths by combining URL base path with method paths
+            if (targetServiceUrl != null && !endpointPaths.isEmpty()) {
+                String basePath = extractPathFromUrl(targetServiceUrl);
+                logger.debug("   [LINK] Base path from URL: '{}'", basePath);
                 
-                // Build full endpoint paths by combining URL base path with method paths
-                if (targetServiceUrl != null && !endpointPaths.isEmpty()) {
-                    String basePath = extractPathFromUrl(targetServiceUrl);
-                    logger.debug("   [LINK] Base path from URL: '{}'", basePath);
+                for (String methodPath : endpointPaths) {
+                    String fullPath = basePath.isEmpty() ? methodPath : basePath + methodPath;
+                    logger.info("   [MATCH] Combined endpoint: {} + {} = {}", basePath, methodPath, fullPath);
                     
-                    for (String methodPath : endpointPaths) {
-                        String fullPath = basePath.isEmpty() ? methodPath : basePath + methodPath;
-                        logger.info("   [MATCH] Combined endpoint: {} + {} = {}", basePath, methodPath, fullPath);
-                        
-                        // Try to match this combined endpoint to a service
-                        matchedServiceName = extractServiceNameFromUrl(targetServiceUrl, fullPath, allServices);
-                        if (matchedServiceName != null) {
-                            logger.info("   [OK] Matched via endpoint lookup: {} -> {}", fullPath, matchedServiceName);
-                            break;
-                        }
-                    }
-                }
-                
-                // If no method paths or no match yet, try just the URL
-                if (matchedServiceName == null && targetServiceUrl != null) {
-                    logger.debug("   [MATCH] Using URL for endpoint-first matching: '{}'", targetServiceUrl);
-                    matchedServiceName = extractServiceNameFromUrl(targetServiceUrl, null, allServices);
+                    // Try to match this combined endpoint to a service
+                    matchedServiceName = extractServiceNameFromUrl(targetServiceUrl, fullPath, allServices);
                     if (matchedServiceName != null) {
-                        logger.info("   [OK] Matched via URL endpoint lookup: {} -> {}", targetServiceUrl, matchedServiceName);
+                        logger.info("   [OK] Matched via endpoint lookup: {} -> {}", fullPath, matchedServiceName);
+                        break;
                     }
                 }
             }
             
-            // STRATEGY 2: Fall back to name-based fuzzy matching
-            if (matchedServiceName == null && targetServiceName != null && !targetServiceName.trim().isEmpty()) {
-                targetServiceName = targetServiceName.trim();
-                
-                // Resolve property placeholders like ${feign.taskservice.name}
-                if (targetServiceName.startsWith("${") && targetServiceName.endsWith("}")) {
-                    String propertyKey = targetServiceName.substring(2, targetServiceName.length() - 1);
-                    logger.debug("   [PROP] Resolving name property: {}", propertyKey);
-                    logger.debug("   [MAVEN] Available properties: {}", serviceProperties.keySet());
-                    
-                    String resolvedValue = resolveProperty(propertyKey);
-                    if (resolvedValue != null) {
-                        logger.info("   [OK] Resolved {} = '{}' -> '{}'", propertyKey, targetServiceName, resolvedValue);
-                        targetServiceName = resolvedValue;
-                    } else {
-                        logger.warn("   [WARN]  Name Property '{}' not found in config files!", propertyKey);
-                        logger.warn("   [TIP] Available properties: {}", 
-                            serviceProperties.isEmpty() ? "NONE - config files not loaded?" : 
-                            String.join(", ", serviceProperties.keySet()));
-                        return null; // Can't resolve, skip this dependency
-                    }
+            // If no method paths or no match yet, try just the URL
+            if (matchedServiceName == null && targetServiceUrl != null) {
+                logger.debug("   [MATCH] Using URL for endpoint-first matching: '{}'", targetServiceUrl);
+                matchedServiceName = extractServiceNameFromUrl(targetServiceUrl, null, allServices);
+                if (matchedServiceName != null) {
+                    logger.info("   [OK] Matched via URL endpoint lookup: {} -> {}", targetServiceUrl, matchedServiceName);
                 }
+            }
+        }
+        
+        // STRATEGY 2: Fall back to name-based fuzzy matching
+        if (matchedServiceName == null && targetServiceName != null && !targetServiceName.trim().isEmpty()) {
+            targetServiceName = targetServiceName.trim();
+            
+            // Resolve property placeholders like ${feign.taskservice.name}
+            if (targetServiceName.startsWith("${") && targetServiceName.endsWith("}")) {
+                String propertyKey = targetServiceName.substring(2, targetServiceName.length() - 1);
+                logger.debug("   [PROP] Resolving name property: {}", propertyKey);
+                logger.debug("   [MAVEN] Available properties: {}", serviceProperties.keySet());
                 
-                logger.debug("   [MATCH] Using name for fuzzy matching: '{}'", targetServiceName);
-                
-                // Try to match with actual service names using fuzzy matching
-                matchedServiceName = findMatchingServiceName(targetServiceName, allServices);
-                if (matchedServiceName == null) {
-                    logger.warn("   [FAIL] No matching service found for '{}'", targetServiceName);
-                    matchedServiceName = targetServiceName; // Keep original if no match found
+                String resolvedValue = resolveProperty(propertyKey);
+                if (resolvedValue != null) {
+                    logger.info("   [OK] Resolved {} = '{}' -> '{}'", propertyKey, targetServiceName, resolvedValue);
+                    targetServiceName = resolvedValue;
                 } else {
-                    logger.info("   [OK] Matched via fuzzy name matching: {} -> {}", targetServiceName, matchedServiceName);
+                    logger.warn("   [WARN]  Name Property '{}' not found in config files!", propertyKey);
+                    logger.warn("   [TIP] Available properties: {}", 
+                        serviceProperties.isEmpty() ? "NONE - config files not loaded?" : 
+                        String.join(", ", serviceProperties.keySet()));
+                    return null; // Can't resolve, skip this dependency
                 }
             }
             
-            if (matchedServiceName != null) {
-                String relativeFile = servicePath.relativize(javaFile).toString();
-                ServiceDependency dependency = new ServiceDependency(
-                    sourceServiceName,        // fromService
-                    matchedServiceName,       // targetService (matched to actual service)
-                    "feign-client"           // dependencyType
-                );
-                dependency.setDescription("Feign client call to " + matchedServiceName);
-                dependency.setSourceFile(relativeFile);
-                dependency.setLineNumber(annotation.getBegin().map(pos -> pos.line).orElse(null));
-                
-                logger.info("[OK] Found Feign dependency: {} -> {}", sourceServiceName, matchedServiceName);
-                
-                return dependency;
+            logger.debug("   [MATCH] Using name for fuzzy matching: '{}'", targetServiceName);
+            
+            // Try to match with actual service names using fuzzy matching
+            matchedServiceName = findMatchingServiceName(targetServiceName, allServices);
+            if (matchedServiceName == null) {
+                logger.warn("   [FAIL] No matching service found for '{}'", targetServiceName);
+                matchedServiceName = targetServiceName; // Keep original if no match found
             } else {
-                logger.warn("   [FAIL] Could not determine target service from Feign client annotation");
-                return null;
+                logger.info("   [OK] Matched via fuzzy name matching: {} -> {}", targetServiceName, matchedServiceName);
             }
-            
-        } catch (Exception e) {
-            logger.error("Error extracting Feign dependency: {}", e.getMessage(), e);
         }
         
-        return null;
+        if (matchedServiceName != null) {
+            ServiceDependency dependency = new ServiceDependency(
+                sourceServiceName,        // fromService
+                matchedServiceName,       // targetService (matched to actual service)
+                "feign-client"           // dependencyType
+            );
+            dependency.setDescription("Feign client call to " + matchedServiceName);
+            dependency.setSourceFile(relativeFile);
+            dependency.setLineNumber(lineNumber);
+            
+            logger.info("[OK] Found Feign dependency: {} -> {}", sourceServiceName, matchedServiceName);
+            
+            return dependency;
+        } else {
+            logger.warn("   [FAIL] Could not determine target service from Feign client annotation");
+            return null;
+        }
     }
     
     /**
@@ -951,6 +1235,8 @@ public class GenericDependencyScanner {
      */
     private void loadServiceProperties(Path servicePath) {
         serviceProperties.clear();
+        serviceConfigTrees.clear();
+        servicePropertyFiles.clear();
         
         String serviceName = servicePath.getFileName().toString();
         logger.debug("Loading properties for service: {}", serviceName);
@@ -1035,6 +1321,10 @@ public class GenericDependencyScanner {
      */
     private void loadYamlProperties(Path yamlPath) throws Exception {
         Map<String, Object> yaml = yamlMapper.readValue(yamlPath.toFile(), Map.class);
+        if (yaml == null) {
+            return;
+        }
+        serviceConfigTrees.put(yamlPath.getFileName().toString(), yaml);
         flattenYamlProperties("", yaml, serviceProperties);
     }
     
@@ -1062,9 +1352,12 @@ public class GenericDependencyScanner {
         Properties props = new Properties();
         try (FileReader reader = new FileReader(propertiesPath.toFile())) {
             props.load(reader);
+            Map<String, String> entries = new HashMap<>();
             for (String key : props.stringPropertyNames()) {
                 serviceProperties.put(key, props.getProperty(key));
+                entries.put(key, props.getProperty(key));
             }
+            servicePropertyFiles.put(propertiesPath.getFileName().toString(), entries);
         }
     }
     
@@ -1105,6 +1398,24 @@ public class GenericDependencyScanner {
         return null;
     }
     
+    /**
+     * Resolve every ${key} / ${key:default} placeholder in a value against the service properties.
+     * Unresolvable placeholders are left as-is so identical raw placeholders still match each other.
+     */
+    private String resolvePlaceholders(String value) {
+        java.util.regex.Matcher matcher = PLACEHOLDER_PATTERN.matcher(value);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String replacement = resolveProperty(matcher.group(1).trim());
+            if (replacement == null) {
+                replacement = matcher.group(2) != null ? matcher.group(2) : matcher.group(0);
+            }
+            matcher.appendReplacement(resolved, java.util.regex.Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+    
     private ServiceDependency extractRestTemplateDependency(MethodDeclaration method, Path javaFile, Path servicePath, List<ServiceInfo> allServices) {
         try {
             String methodBody = method.toString();
@@ -1157,53 +1468,38 @@ public class GenericDependencyScanner {
                 }
             }
             
+            // Constants, @Value fields and @ConfigurationProperties getters, possibly declared in other files
+            if (foundUrl.get() == null) {
+                foundUrl.set(findUrlFromSymbols(method));
+            }
+            
             // Also check if any property in config contains a URL and is referenced in this method
             if (foundUrl.get() == null) {
                 foundUrl.set(findUrlFromProperties(methodBody));
             }
             
-            // Check if this method uses any HTTP client (RestTemplate, WebClient, HttpClient, Feign)
+            // The method already matched a configured HTTP client pattern; work out which client it is
             if (foundUrl.get() != null) {
-                boolean hasHttpClient = false;
                 String clientType = "http-client";
                 
                 for (String line : lines) {
                     if (line.contains("restTemplate") || line.contains("RestTemplate")) {
-                        hasHttpClient = true;
                         clientType = "rest-template";
                         break;
                     } else if (line.contains("webClient") || line.contains("WebClient")) {
-                        hasHttpClient = true;
                         clientType = "web-client";
                         break;
                     } else if (line.contains("httpClient") || line.contains("HttpClient")) {
-                        hasHttpClient = true;
                         clientType = "http-client";
                         break;
-                    } else if (line.contains(".get(") || line.contains(".post(") || 
+                    } else if (line.contains(".get(") || line.contains(".post(") ||
                                line.contains(".put(") || line.contains(".delete(")) {
-                        hasHttpClient = true;
                         break;
                     }
                 }
-                
-                if (hasHttpClient) {
-                    String targetServiceName = extractServiceNameFromUrl(foundUrl.get(), null, allServices);
-                    if (targetServiceName != null) {
-                        String relativeFile = servicePath.relativize(javaFile).toString();
-                        String sourceServiceName = servicePath.getFileName().toString();
-                        
-                        ServiceDependency dependency = new ServiceDependency(
-                            sourceServiceName,
-                            targetServiceName,
-                            clientType
-                        );
-                        dependency.setDescription("HTTP call to " + targetServiceName);
-                        dependency.setSourceFile(relativeFile);
-                        dependency.setEndpoint(foundUrl.get());
-                        return dependency;
-                    }
-                }
+
+                return buildHttpClientDependency(servicePath.getFileName().toString(), clientType, foundUrl.get(),
+                    servicePath.relativize(javaFile).toString(), allServices);
             }
             
         } catch (Exception e) {
@@ -1213,6 +1509,27 @@ public class GenericDependencyScanner {
         return null;
     }
     
+    /**
+     * HTTP client call to a URL, attributed to the service owning that URL (null when none does).
+     */
+    private ServiceDependency buildHttpClientDependency(String sourceServiceName, String clientType, String url,
+                                                        String relativeFile, List<ServiceInfo> allServices) {
+        String targetServiceName = extractServiceNameFromUrl(url, null, allServices);
+        if (targetServiceName == null) {
+            return null;
+        }
+        
+        ServiceDependency dependency = new ServiceDependency(
+            sourceServiceName,
+            targetServiceName,
+            clientType
+        );
+        dependency.setDescription("HTTP call to " + targetServiceName);
+        dependency.setSourceFile(relativeFile);
+        dependency.setEndpoint(url);
+        return dependency;
+    }
+    
     /**
      * Extract property placeholder from @Value("${property.name}")
      */
@@ -1237,6 +1554,48 @@ public class GenericDependencyScanner {
         return null;
     }
     
+    /**
+     * First call or constructor argument of the method that evaluates to an http(s) URL through the symbol index,
+     * e.g. restTemplate.postForEntity(Urls.PRODUCTS + "/special", ...) or webClient.get().uri(props.getBaseUrl()).
+     */
+    private String findUrlFromSymbols(MethodDeclaration method) {
+        List<Expression> arguments = new ArrayList<>();
+        method.findAll(MethodCallExpr.class).forEach(call -> arguments.addAll(call.getArguments()));
+        method.findAll(ObjectCreationExpr.class).forEach(creation -> arguments.addAll(creation.getArguments()));
+        
+        for (Expression argument : arguments) {
+            if (argument instanceof StringLiteralExpr) {
+                continue; // literals were already checked line by line
+            }
+            String value = symbolIndex.evaluate(argument);
+            if (value != null && (value.startsWith(AnalyzerConstants.HTTP_PREFIX) || value.startsWith(AnalyzerConstants.HTTPS_PREFIX))) {
+                logger.info("   [OK] Resolved {} = '{}' in {}", argument, value, method.getNameAsString());
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Path of a mapping annotation, also when given as a constant (@GetMapping(ApiPaths.USERS + "/{id}")).
+     */
+    private String resolveMappingPath(AnnotationExpr annotation) {
+        Expression value = null;
+        if (annotation instanceof SingleMemberAnnotationExpr) {
+            value = ((SingleMemberAnnotationExpr) annotation).getMemberValue();
+        } else if (annotation instanceof NormalAnnotationExpr) {
+            value = ((NormalAnnotationExpr) annotation).getPairs().stream()
+                .filter(pair -> pair.getNameAsString().equals("value") || pair.getNameAsString().equals("path"))
+                .map(MemberValuePair::getValue)
+                .findFirst().orElse(null);
+        }
+        if (value instanceof ArrayInitializerExpr) {
+            value = ((ArrayInitializerExpr) value).getValues().stream().findFirst().orElse(null);
+        }
+        String path = value != null ? symbolIndex.evaluate(value) : null;
+        return path != null && path.startsWith("/") ? path : null;
+    }
+    
     /**
      * Find URL from loaded properties that might be referenced in the method
      */
@@ -1584,10 +1943,13 @@ public class GenericDependencyScanner {
         return false;
     }
     
-    private List<ServiceDependency> scanConfigurationFiles(Path servicePath, List<ServiceInfo> allServices) {
+    private List<ServiceDependency> scanConfigurationFiles(ServiceInfo service, Path servicePath, List<ServiceInfo> allServices) {
         List<ServiceDependency> dependencies = new ArrayList<>();
         
         try {
+            // Gateway routes come from the config files already parsed by loadServiceProperties
+            dependencies.addAll(extractGatewayRoutes(service, servicePath, allServices));
+            
             // Look for application.yml and application.properties
             String[] configFiles = {"application.yml", "application.yaml", "application.properties"};
             
@@ -1611,11 +1973,6 @@ public class GenericDependencyScanner {
         try {
             String content = Files.readString(configFile);
             
-            // Look for gateway routes
-            if (content.contains("routes") && (content.contains("gateway") || content.contains("zuul"))) {
-                dependencies.addAll(extractGatewayRoutes(content, configFile, servicePath, allServices));
-            }
-            
             // Look for other service references
             for (ServiceInfo service : allServices) {
                 if (content.contains(service.getName()) && !service.getName().equals(servicePath.getFileName().toString())) {
@@ -1636,123 +1993,94 @@ public class GenericDependencyScanner {
         return dependencies;
     }
     
-    private List<ServiceDependency> extractGatewayRoutes(String content, Path configFile, Path servicePath, List<ServiceInfo> allServices) {
+    /**
+     * Read gateway routes (Spring Cloud Gateway and Zuul) from the parsed YAML trees and
+     * .properties entries of this service. Routes are recorded on the service and each
+     * resolved route target becomes a gateway dependency.
+     */
+    private List<ServiceDependency> extractGatewayRoutes(ServiceInfo service, Path servicePath, List<ServiceInfo> allServices) {
         List<ServiceDependency> dependencies = new ArrayList<>();
+        List<GatewayRoute> routes = new ArrayList<>();
         
-        logger.info("[GATEWAY] Extracting routes from {} for service {}", configFile.getFileName(), servicePath.getFileName());
+        logger.info("[GATEWAY] Extracting routes for service {}", servicePath.getFileName());
         
-        try {
-            String[] lines = content.split("\n");
-            String currentRoute = null;
-            
-            for (String line : lines) {
-                line = line.trim();
-                
-                // Look for route definitions
-                if (line.contains("- id:") || line.contains("id:")) {
-                    currentRoute = extractRouteId(line);
-                    logger.debug("[GATEWAY] Found route ID: {}", currentRoute);
-                }
-                
-                if (line.contains("uri:") && currentRoute != null) {
-                    String uri = extractUri(line);
-                    if (uri != null) {
-                        String serviceName = extractServiceNameFromUri(uri, allServices);
-                        logger.info("[GATEWAY] Route {} -> URI {} -> Service {}", currentRoute, uri, serviceName);
-                        if (serviceName != null) {
-                            ServiceDependency dependency = new ServiceDependency(
-                                servicePath.getFileName().toString(),  // fromService: gateway-service
-                                serviceName,                           // toService: user-service, etc.
-                                "gateway"                              // type - must match GATEWAY_DEPENDENCY_TYPE
-                            );
-                            dependency.setDescription("Gateway route to " + serviceName + " (route: " + currentRoute + ")");
-                            dependency.setSourceFile("src/main/resources/" + configFile.getFileName().toString());
-                            dependencies.add(dependency);
-                            logger.info("[GATEWAY] Added dependency: {} -> {}", servicePath.getFileName(), serviceName);
-                        }
-                    }
-                }
+        for (Map.Entry<String, Map<String, Object>> tree : serviceConfigTrees.entrySet()) {
+            routes.addAll(gatewayRouteDetector.fromYaml(tree.getValue(), "src/main/resources/" + tree.getKey()));
+        }
+        for (Map.Entry<String, Map<String, String>> properties : servicePropertyFiles.entrySet()) {
+            routes.addAll(gatewayRouteDetector.fromProperties(properties.getValue(), "src/main/resources/" + properties.getKey()));
+        }
+        
+        for (GatewayRoute route : routes) {
+            String serviceName = extractServiceNameFromUri(route.getUri(), allServices);
+            route.setTargetService(serviceName);
+            logger.info("[GATEWAY] Route {} -> URI {} -> Service {}", route.getId(), route.getUri(), serviceName);
+            if (serviceName == null || serviceName.equals(service.getName())) {
+                continue;
             }
             
-            logger.info("[GATEWAY] Extracted {} gateway route dependencies", dependencies.size());
-            
-        } catch (Exception e) {
-            logger.error("Error extracting gateway routes: {}", e.getMessage(), e);
+            ServiceDependency dependency = new ServiceDependency(
+                service.getName(),                     // fromService: gateway-service
+                serviceName,                           // toService: user-service, etc.
+                "gateway"                              // type - must match GATEWAY_DEPENDENCY_TYPE
+            );
+            dependency.setDescription("Gateway route to " + serviceName + " (route: " + route.getId() + ")");
+            dependency.setSourceFile(route.getSourceFile());
+            if (!route.getPathPatterns().isEmpty()) {
+                dependency.setEndpoint(route.getPathPatterns().get(0));
+            }
+            dependencies.add(dependency);
+            logger.info("[GATEWAY] Added dependency: {} -> {}", service.getName(), serviceName);
         }
         
+        service.setGatewayRoutes(routes);
+        logger.info("[GATEWAY] Extracted {} gateway route dependencies", dependencies.size());
         return dependencies;
     }
     
-    private String extractRouteId(String line) {
-        String[] parts = line.split(":");
-        if (parts.length > 1) {
-            return parts[1].trim().replaceAll("[\"\']", "");
-        }
-        return null;
-    }
-    
-    private String extractUri(String line) {
-        // Extract everything after "uri:" - handles lb://service-name and http://service:port formats
-        int index = line.indexOf("uri:");
-        if (index != -1) {
-            String uri = line.substring(index + 4).trim().replaceAll("[\"\']", "");
-            logger.debug("[GATEWAY] Extracted URI: {}", uri);
-            return uri;
-        }
-        return null;
-    }
-    
     private String extractServiceNameFromUri(String uri, List<ServiceInfo> allServices) {
+        if (uri == null) {
+            return null;
+        }
+        
         // Handle lb://service-name format
         if (uri.startsWith("lb://")) {
-            return uri.substring(5);
+            String serviceId = uri.substring(5).split("/")[0];
+            String matched = findMatchingServiceName(serviceId, allServices);
+            return matched != null ? matched : serviceId;
         }
         
-        // Handle http://service-name format
-        if (uri.startsWith(AnalyzerConstants.HTTP_PREFIX)) {
-            String serviceName = uri.substring(7).split("/")[0].split(":")[0];
-            return serviceName;
+        // Handle http://service-name:port format
+        if (uri.startsWith(AnalyzerConstants.HTTP_PREFIX) || uri.startsWith(AnalyzerConstants.HTTPS_PREFIX)) {
+            String matched = extractServiceNameFromUrl(uri, null, allServices);
+            return matched != null ? matched : uri.split("://")[1].split("/")[0].split(":")[0];
         }
         
         return null;
     }
     
-    private List<ServiceDependency> scanMessagingDependencies(Path servicePath, List<ServiceInfo> allServices) {
-        List<ServiceDependency> dependencies = new ArrayList<>();
-        
-        // Look for messaging patterns in Java files
-        try {
-            PathMatcher javaMatcher = FileSystems.getDefault().getPathMatcher("glob:**/*.java");
-            
-            try (var stream = Files.walk(servicePath)) {
-                List<Path> javaFiles = stream
-                    .filter(javaMatcher::matches)
-                    .collect(Collectors.toList());
-                
-                for (Path javaFile : javaFiles) {
-                    String content = Files.readString(javaFile);
-                    
-                    for (String messagingPattern : config.getDependencyPatterns().getMessagingQueues()) {
-                        if (content.contains(messagingPattern)) {
-                            // This indicates messaging dependency but hard to determine target service
-                            // We'll add it as a general messaging dependency
-                            ServiceDependency dependency = new ServiceDependency(
-                                "messaging-system",
-                                "messaging",
-                                "Uses messaging pattern: " + messagingPattern
-                            );
-                            dependency.setSourceFile(servicePath.relativize(javaFile).toString());
-                            dependencies.add(dependency);
+    /**
+     * Match every gateway route's path predicates (after StripPrefix) against the endpoints of
+     * its target service, so the fan-out of each route is known. Runs after all services are
+     * scanned, using the endpoint map.
+     */
+    public void computeGatewayFanOut(List<ServiceInfo> services) {
+        for (ServiceInfo service : services) {
+            for (GatewayRoute route : service.getGatewayRoutes()) {
+                List<String> matched = new ArrayList<>();
+                List<String> endpoints = serviceEndpointsMap.getOrDefault(route.getTargetService(), List.of());
+                for (String endpoint : endpoints) {
+                    for (java.util.regex.Pattern pattern : route.getCompiledPatterns()) {
+                        if (pattern.matcher(endpoint).matches()) {
+                            matched.add(endpoint);
                             break;
                         }
                     }
                 }
+                route.setMatchedEndpoints(matched);
+                logger.info("[GATEWAY] Route {} {} reaches {} of {} endpoints on {}", route.getId(),
+                    route.getPathPatterns(), matched.size(), endpoints.size(), route.getTargetService());
             }
-            
-        } catch (Exception e) {
-            logger.error("Error scanning messaging dependencies: {}", e.getMessage(), e);
         }
-        
-        return dependencies;
     }
-}
\ No newline at end of file
+}
@@ -184,6 +184,9 @@ public class GenericServiceDiscovery {
             
             service.setBuildTool("maven");
             service.setLanguage("java");
+            if (model.getParent() != null) {
+                service.setMavenParent(model.getParent().getGroupId() + ":" + model.getParent().getArtifactId());
+            }
             
             // Look for Spring Boot
             if (model.getDependencies().stream()
@@ -0,0 +1,151 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.model.ServiceInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the list of files changed since a git ref from the local repository
+ * and maps them to the services that own them.
+ *
+ * Only local plumbing commands are used (diff, ls-files, rev-parse) - no fetch, no network.
+ */
+public class GitChangeDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitChangeDetector.class);
+
+    private static final long GIT_TIMEOUT_SECONDS = 60;
+
+    private final Path projectRoot;
+
+    public GitChangeDetector(Path projectRoot) {
+        this.projectRoot = projectRoot.toAbsolutePath().normalize();
+    }
+
+    /**
+     * List files changed between the given ref and the working tree (committed, staged,
+     * unstaged and untracked), as absolute paths.
+     */
+    public Set<Path> findChangedFiles(String sinceRef) throws IOException {
+        // A ref starting with '-' would be read as an option
+        if (sinceRef == null || sinceRef.isBlank() || sinceRef.startsWith("-")) {
+            throw new IOException("Invalid git ref for --since: '" + sinceRef + "'");
+        }
+        try {
+            runGit("rev-parse", "--verify", "--quiet", sinceRef + "^{commit}");
+        } catch (IOException e) {
+            throw new IOException("Unknown git ref for --since: " + sinceRef, e);
+        }
+
+        Path repoRoot = Path.of(runGit("rev-parse", "--show-toplevel").trim());
+
+        // -z: NUL-separated, unquoted paths (no core.quotePath escaping of non-ASCII names)
+        Set<Path> changed = new LinkedHashSet<>();
+        for (String file : splitNul(runGit("diff", "--name-only", "-z", "--no-renames", sinceRef, "--"))) {
+            changed.add(repoRoot.resolve(file).normalize());
+        }
+        for (String file : splitNul(runGit("ls-files", "-z", "--others", "--exclude-standard"))) {
+            // ls-files reports paths relative to the working directory (projectRoot)
+            changed.add(projectRoot.resolve(file).normalize());
+        }
+
+        logger.info("[GIT] {} files changed since {}", changed.size(), sinceRef);
+        return changed;
+    }
+
+    /**
+     * Map changed files to the names of the services whose directory contains them.
+     * Nested services win over their parents (deepest path match).
+     */
+    public Set<String> findChangedServices(Set<Path> changedFiles, List<ServiceInfo> services) {
+        Set<String> changedServices = new LinkedHashSet<>();
+
+        for (Path file : changedFiles) {
+            ServiceInfo owner = null;
+            int ownerDepth = -1;
+
+            for (ServiceInfo service : services) {
+                Path servicePath = projectRoot.resolve(service.getPath()).normalize();
+                if (file.startsWith(servicePath) && servicePath.getNameCount() > ownerDepth) {
+                    owner = service;
+                    ownerDepth = servicePath.getNameCount();
+                }
+            }
+
+            if (owner != null) {
+                changedServices.add(owner.getName());
+            } else {
+                logger.debug("[GIT] {} is not owned by any service", file);
+            }
+        }
+
+        logger.info("[GIT] Changed services: {}", changedServices);
+        return changedServices;
+    }
+
+    private static List<String> splitNul(String output) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : output.split("\0")) {
+            if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Run git and return its stdout. Stderr is read separately so warnings never end up in the
+     * output; it is logged, and included in the exception when git fails.
+     */
+    private String runGit(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command)
+            .directory(projectRoot.toFile())
+            .start();
+
+        CompletableFuture<String> stderr = CompletableFuture.supplyAsync(() -> readAll(process.getErrorStream()));
+        String stdout;
+        try (InputStream in = process.getInputStream()) {
+            stdout = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try {
+            if (!process.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("git " + String.join(" ", args) + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+
+        String errors = stderr.join().trim();
+        if (process.exitValue() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + errors);
+        }
+        if (!errors.isEmpty()) {
+            logger.warn("[GIT] git {}: {}", args[0], errors);
+        }
+        return stdout;
+    }
+
+    private static String readAll(InputStream in) {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.analyzer.scanner;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Staged pipeline for Java sources: walker -> I/O readers -> parsers -> detector.
+ *
+ * - walker: one thread walking the directory tree, numbering files in walk order
+ * - readers: a fixed pool reading file contents, so slow (network) storage does not idle the CPU;
+ *   files without any trigger token of the run's {@link SourceTriggerFilter} are dropped here, unparsed
+ * - parsers: a pool sized to the available cores, one JavaParser per thread
+ * - detector: the calling thread, which receives compilation units in walk order
+ *
+ * Stages are joined by bounded queues, and the number of files between walker and detector is capped,
+ * so a fast walker blocks instead of buffering a whole monorepo in memory. Per-stage item counts,
+ * busy/blocked time and peak queue depth are kept for the run summary.
+ */
+public class JavaSourcePipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JavaSourcePipeline.class);
+
+    public static final int DEFAULT_IO_THREADS = 8;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final int ioThreads;
+    private final int parserThreads;
+    private final int queueCapacity;
+
+    private final BlockingQueue<SourceFile> readQueue;
+    private final BlockingQueue<SourceFile> parseQueue;
+    private final BlockingQueue<SourceFile> detectQueue;
+    private final Semaphore inFlight;
+
+    private final ExecutorService walkerPool;
+    private final ExecutorService readerPool;
+    private final ExecutorService parserPool;
+    private final ThreadLocal<JavaParser> parsers = ThreadLocal.withInitial(JavaParser::new);
+
+    private final StageMetrics walkStage = new StageMetrics("walk");
+    private final StageMetrics readStage = new StageMetrics("read");
+    private final StageMetrics parseStage = new StageMetrics("parse");
+    private final StageMetrics detectStage = new StageMetrics("detect");
+    private final LongAdder prefilterHits = new LongAdder();
+    private final LongAdder prefilterSkips = new LongAdder();
+    private final AtomicLong wallNanos = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    public JavaSourcePipeline(int ioThreads, int parserThreads, int queueCapacity) {
+        this.ioThreads = ioThreads > 0 ? ioThreads : DEFAULT_IO_THREADS;
+        this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+
+        this.readQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.parseQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.detectQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        // Everything between walker and detector, including files waiting for an earlier one to finish
+        this.inFlight = new Semaphore(this.queueCapacity * 3 + this.ioThreads + this.parserThreads);
+
+        this.walkerPool = Executors.newSingleThreadExecutor(daemonThreads("source-walker"));
+        this.readerPool = Executors.newFixedThreadPool(this.ioThreads, daemonThreads("source-reader"));
+        this.parserPool = Executors.newFixedThreadPool(this.parserThreads, daemonThreads("source-parser"));
+        for (int i = 0; i < this.ioThreads; i++) {
+            readerPool.execute(this::readLoop);
+        }
+        for (int i = 0; i < this.parserThreads; i++) {
+            parserPool.execute(this::parseLoop);
+        }
+        logger.debug("[PIPELINE] {} reader threads, {} parser threads, queue capacity {}",
+            this.ioThreads, this.parserThreads, this.queueCapacity);
+    }
+
+    /**
+     * Walk root, read every file accepted by the filter, parse those containing a trigger token
+     * (all of them when triggers is null), and hand each compilation unit to the detector on the
+     * calling thread, in walk order. Files that cannot be read or parsed are logged and skipped.
+     * Returns the walked files in walk order.
+     *
+     * If the detector throws or the caller is interrupted, the walk is stopped and the files still
+     * in the stages are drained before returning, so the next run starts with empty queues and
+     * every permit.
+     */
+    public List<Path> process(Path root, Predicate<Path> filter, SourceTriggerFilter triggers,
+                              BiConsumer<Path, CompilationUnit> detector) {
+        long start = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        int[] skipped = {0};
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> walker = walkerPool.submit(() -> {
+            walk(root, filter, triggers, stop);
+            return null;
+        });
+
+        Map<Integer, SourceFile> pending = new HashMap<>(); // completed out of order, waiting for their turn
+        int next = 0;
+        int received = 0;
+        int total = -1;
+        boolean drained = false;
+        try {
+            while (total < 0 || next < total) {
+                SourceFile file = detectQueue.take();
+                if (file.isEnd()) {
+                    total = file.sequence;
+                    continue;
+                }
+                received++;
+                pending.put(file.sequence, file);
+
+                SourceFile ready;
+                while ((ready = pending.remove(next)) != null) {
+                    files.add(ready.path);
+                    next++;
+                    try {
+                        if (ready.skipped) {
+                            skipped[0]++;
+                        } else if (ready.compilationUnit != null) {
+                            long detectStart = System.nanoTime();
+                            detector.accept(ready.path, ready.compilationUnit);
+                            detectStage.record(System.nanoTime() - detectStart, 0);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                }
+            }
+            drained = true;
+            walker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("[PIPELINE] Interrupted while scanning {}", root);
+        } catch (ExecutionException e) {
+            logger.error("[PIPELINE] Failed to walk {}: {}", root, e.getCause().getMessage(), e.getCause());
+        } finally {
+            if (!drained) {
+                stop.set(true);
+                inFlight.release(pending.size());
+                drain(received, total);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        wallNanos.addAndGet(elapsed);
+        runs.incrementAndGet();
+        logger.debug("[PIPELINE] {} files from {} in {} ms, {} skipped by the pre-filter",
+            files.size(), root.getFileName(), elapsed / 1_000_000, skipped[0]);
+        return files;
+    }
+
+    // Takes back every file of an abandoned run; the walker stops at the next file and sends the end marker
+    private void drain(int received, int total) {
+        boolean interrupted = Thread.interrupted();
+        while (total < 0 || received < total) {
+            try {
+                SourceFile file = detectQueue.take();
+                if (file.isEnd()) {
+                    total = file.sequence;
+                } else {
+                    received++;
+                    inFlight.release();
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void walk(Path root, Predicate<Path> filter, SourceTriggerFilter triggers, AtomicBoolean stop)
+            throws IOException, InterruptedException {
+        int sequence = 0;
+        try (Stream<Path> stream = Files.walk(root)) {
+            Iterator<Path> paths = stream.filter(filter).iterator();
+            long busyStart = System.nanoTime();
+            while (!stop.get() && paths.hasNext()) {
+                SourceFile file = new SourceFile(sequence, paths.next(), triggers);
+                long blockedStart = System.nanoTime();
+                inFlight.acquire();
+                if (stop.get()) {
+                    inFlight.release();
+                    break;
+                }
+                readQueue.put(file);
+                long blockedEnd = System.nanoTime();
+                walkStage.record(blockedStart - busyStart, blockedEnd - blockedStart);
+                walkStage.observeDepth(readQueue.size());
+                busyStart = blockedEnd;
+                sequence++;
+            }
+        } finally {
+            // The end marker carries the file count, so the detector knows when every file has come back
+            detectQueue.put(SourceFile.end(sequence));
+        }
+    }
+
+    private void readLoop() {
+        try {
+            while (true) {
+                SourceFile file = readQueue.take();
+                long busyStart = System.nanoTime();
+                try {
+                    // Scan the raw bytes first; only files with a trigger token are decoded and parsed
+                    byte[] bytes = Files.readAllBytes(file.path);
+                    if (file.triggers == null || file.triggers.matches(bytes)) {
+                        file.source = new String(bytes, StandardCharsets.UTF_8);
+                        prefilterHits.increment();
+                    } else {
+                        file.skipped = true;
+                        prefilterSkips.increment();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("[PIPELINE] Failed to read {}: {}", file.path, e.getMessage());
+                }
+                long blockedStart = System.nanoTime();
+                parseQueue.put(file);
+                readStage.record(blockedStart - busyStart, System.nanoTime() - blockedStart);
+                readStage.observeDepth(parseQueue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parseLoop() {
+        try {
+            while (true) {
+                SourceFile file = parseQueue.take();
+                long busyStart = System.nanoTime();
+                if (file.source != null) {
+                    try {
+                        file.compilationUnit = parsers.get().parse(file.source).getResult().orElse(null);
+                        if (file.compilationUnit == null) {
+                            logger.warn("[PIPELINE] Failed to parse {}", file.path);
+                        }
+                    } catch (RuntimeException e) {
+                        logger.warn("[PIPELINE] Failed to parse {}: {}", file.path, e.getMessage());
+                    }
+                    file.source = null;
+                }
+                long blockedStart = System.nanoTime();
+                detectQueue.put(file);
+                parseStage.record(blockedStart - busyStart, System.nanoTime() - blockedStart);
+                parseStage.observeDepth(detectQueue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cumulative per-stage metrics over every run of this pipeline.
+     */
+    public void logSummary() {
+        if (runs.get() == 0) {
+            return;
+        }
+        double wallSeconds = wallNanos.get() / 1_000_000_000.0;
+        logger.info("[STATS] Source pipeline: {} runs, {} ms wall time ({} readers, {} parsers, queue capacity {})",
+            runs.get(), wallNanos.get() / 1_000_000, ioThreads, parserThreads, queueCapacity);
+        long hits = prefilterHits.sum();
+        long skips = prefilterSkips.sum();
+        logger.info("[STATS]   pre-filter: {} files parsed, {} skipped without a trigger token ({}%)",
+            hits, skips, hits + skips > 0 ? Math.round(100.0 * skips / (hits + skips)) : 0);
+        for (StageMetrics stage : List.of(walkStage, readStage, parseStage, detectStage)) {
+            logger.info("[STATS]   {}: {} files, {} files/s, busy {} ms, blocked on next stage {} ms, peak queue depth {}",
+                stage.name, stage.items.sum(),
+                wallSeconds > 0 ? Math.round(stage.items.sum() / wallSeconds) : 0,
+                stage.busyNanos.sum() / 1_000_000, stage.blockedNanos.sum() / 1_000_000, stage.maxDepth.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        walkerPool.shutdownNow();
+        readerPool.shutdownNow();
+        parserPool.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One file moving through the stages; each field is written by one stage before handing it on.
+     */
+    private static final class SourceFile {
+        private final int sequence;
+        private final Path path; // null for the end marker
+        private final SourceTriggerFilter triggers; // null = parse unconditionally
+        private volatile String source;
+        private volatile boolean skipped;
+        private volatile CompilationUnit compilationUnit;
+
+        private SourceFile(int sequence, Path path, SourceTriggerFilter triggers) {
+            this.sequence = sequence;
+            this.path = path;
+            this.triggers = triggers;
+        }
+
+        private static SourceFile end(int fileCount) {
+            return new SourceFile(fileCount, null, null);
+        }
+
+        private boolean isEnd() {
+            return path == null;
+        }
+    }
+
+    private static final class StageMetrics {
+        private final String name;
+        private final LongAdder items = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+
+        private StageMetrics(String name) {
+            this.name = name;
+        }
+
+        private void record(long busy, long blocked) {
+            items.increment();
+            busyNanos.add(busy);
+            blockedNanos.add(blocked);
+        }
+
+        private void observeDepth(int depth) {
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.model.MessagingEndpoint;
+import com.example.analyzer.model.ServiceInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Extracts Kafka topics and RabbitMQ queues from an already parsed compilation unit.
+ *
+ * Producers: KafkaTemplate.send(topic, ...), KafkaTemplate.send(new ProducerRecord(topic, ...)),
+ *            RabbitTemplate/AmqpTemplate.convertAndSend([exchange,] routingKey, ...)
+ * Consumers: @KafkaListener(topics = ...), @RabbitListener(queues = ...) and @RabbitListener(bindings = @QueueBinding(value = @Queue(...)))
+ *
+ * Destinations given as literals, same-file constants or ${...} placeholders are resolved;
+ * the results are recorded on the owning ServiceInfo and joined across services by {@link MessagingTopicIndex}.
+ */
+public class MessagingDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagingDetector.class);
+
+    private static final Set<String> KAFKA_TEMPLATE_TYPES = Set.of("KafkaTemplate", "KafkaOperations", "ReactiveKafkaProducerTemplate");
+    private static final Set<String> RABBIT_TEMPLATE_TYPES = Set.of("RabbitTemplate", "AmqpTemplate", "RabbitOperations", "RabbitMessagingTemplate");
+    private static final Set<String> KAFKA_SEND_METHODS = Set.of("send");
+    private static final Set<String> RABBIT_SEND_METHODS = Set.of("convertAndSend", "send", "convertSendAndReceive");
+
+    // Every template type and listener above, and the kafkaTemplate/rabbitTemplate name fallback, contains one of these
+    private static final Set<String> TRIGGER_TOKENS = Set.of("Template", "Operations", "Listener");
+
+    private final UnaryOperator<String> placeholderResolver;
+
+    /**
+     * @param placeholderResolver resolves ${...} placeholders against the current service's properties
+     */
+    public MessagingDetector(UnaryOperator<String> placeholderResolver) {
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    /**
+     * Tokens at least one of which appears (ignoring case) in any file this detector finds something in.
+     */
+    public static Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
+
+    public void detect(CompilationUnit cu, String relativeFile, ServiceInfo service) {
+        Map<String, String> templateBrokers = findTemplateVariables(cu);
+
+        for (MethodCallExpr call : cu.findAll(MethodCallExpr.class)) {
+            String broker = brokerOfScope(call, templateBrokers);
+            if (broker != null) {
+                detectProducer(call, broker, cu, relativeFile, service);
+            }
+        }
+
+        for (AnnotationExpr annotation : cu.findAll(AnnotationExpr.class)) {
+            String name = annotation.getNameAsString();
+            if (name.endsWith("KafkaListener")) {
+                for (String topic : annotationValues(annotation, "topics", cu)) {
+                    addConsumer(service, AnalyzerConstants.KAFKA_BROKER, topic, annotation, relativeFile);
+                }
+            } else if (name.endsWith("RabbitListener")) {
+                for (String queue : annotationValues(annotation, "queues", cu)) {
+                    addConsumer(service, AnalyzerConstants.RABBITMQ_BROKER, queue, annotation, relativeFile);
+                }
+                for (AnnotationExpr nested : annotation.findAll(AnnotationExpr.class)) {
+                    if (nested != annotation && nested.getNameAsString().endsWith("Queue")) {
+                        for (String queue : annotationValues(nested, "value", cu)) {
+                            addConsumer(service, AnalyzerConstants.RABBITMQ_BROKER, queue, annotation, relativeFile);
+                        }
+                        for (String queue : annotationValues(nested, "name", cu)) {
+                            addConsumer(service, AnalyzerConstants.RABBITMQ_BROKER, queue, annotation, relativeFile);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void detectProducer(MethodCallExpr call, String broker, CompilationUnit cu, String relativeFile, ServiceInfo service) {
+        String methodName = call.getNameAsString();
+        List<Expression> args = call.getArguments();
+
+        if (AnalyzerConstants.KAFKA_BROKER.equals(broker)) {
+            if (!KAFKA_SEND_METHODS.contains(methodName) || args.isEmpty()) {
+                return;
+            }
+            Expression topicExpr = args.get(0);
+            // send(new ProducerRecord<>(topic, ...))
+            if (topicExpr instanceof ObjectCreationExpr) {
+                ObjectCreationExpr creation = (ObjectCreationExpr) topicExpr;
+                if (!creation.getType().getNameAsString().endsWith("ProducerRecord") || creation.getArguments().isEmpty()) {
+                    return;
+                }
+                topicExpr = creation.getArgument(0);
+            }
+            String topic = resolveString(topicExpr, cu);
+            if (topic != null) {
+                addProducer(service, broker, topic, null, call, relativeFile);
+            }
+            return;
+        }
+
+        if (!RABBIT_SEND_METHODS.contains(methodName) || args.size() < 2) {
+            return; // convertAndSend(message) uses the template defaults - nothing to resolve
+        }
+        // convertAndSend(routingKey, message) or convertAndSend(exchange, routingKey, message, ...)
+        String exchange = args.size() >= 3 ? resolveString(args.get(0), cu) : null;
+        String routingKey = resolveString(args.size() >= 3 ? args.get(1) : args.get(0), cu);
+        if (routingKey != null) {
+            addProducer(service, broker, routingKey, exchange, call, relativeFile);
+        }
+    }
+
+    private void addProducer(ServiceInfo service, String broker, String destination, String exchange, Node node, String relativeFile) {
+        MessagingEndpoint endpoint = createEndpoint(broker, destination, node, relativeFile);
+        endpoint.setExchange(exchange);
+        service.getProducedMessages().add(endpoint);
+        logger.info("[MESSAGING] {} publishes to {} '{}' in {}", service.getName(), broker, destination, endpoint.getMethod());
+    }
+
+    private void addConsumer(ServiceInfo service, String broker, String destination, Node node, String relativeFile) {
+        MessagingEndpoint endpoint = createEndpoint(broker, destination, node, relativeFile);
+        service.getConsumedMessages().add(endpoint);
+        logger.info("[MESSAGING] {} consumes {} '{}' in {}", service.getName(), broker, destination, endpoint.getMethod());
+    }
+
+    private MessagingEndpoint createEndpoint(String broker, String destination, Node node, String relativeFile) {
+        MessagingEndpoint endpoint = new MessagingEndpoint(broker, destination);
+        endpoint.setSourceFile(relativeFile);
+        endpoint.setLineNumber(node.getBegin().map(pos -> pos.line).orElse(null));
+        endpoint.setMethod(enclosingMethodName(node));
+        return endpoint;
+    }
+
+    /**
+     * Variable, field and parameter names declared with a Kafka or Rabbit template type, mapped to their broker.
+     */
+    private Map<String, String> findTemplateVariables(CompilationUnit cu) {
+        Map<String, String> templates = new HashMap<>();
+        for (VariableDeclarator variable : cu.findAll(VariableDeclarator.class)) {
+            String broker = brokerOfType(variable.getType().asString());
+            if (broker != null) {
+                templates.put(variable.getNameAsString(), broker);
+            }
+        }
+        for (Parameter parameter : cu.findAll(Parameter.class)) {
+            String broker = brokerOfType(parameter.getType().asString());
+            if (broker != null) {
+                templates.put(parameter.getNameAsString(), broker);
+            }
+        }
+        return templates;
+    }
+
+    private String brokerOfType(String typeName) {
+        int generics = typeName.indexOf('<');
+        String rawType = generics >= 0 ? typeName.substring(0, generics) : typeName;
+        rawType = rawType.substring(rawType.lastIndexOf('.') + 1);
+        if (KAFKA_TEMPLATE_TYPES.contains(rawType)) {
+            return AnalyzerConstants.KAFKA_BROKER;
+        }
+        if (RABBIT_TEMPLATE_TYPES.contains(rawType)) {
+            return AnalyzerConstants.RABBITMQ_BROKER;
+        }
+        return null;
+    }
+
+    private String brokerOfScope(MethodCallExpr call, Map<String, String> templateBrokers) {
+        Expression scope = call.getScope().orElse(null);
+        if (scope == null) {
+            return null;
+        }
+        String scopeName;
+        if (scope instanceof NameExpr) {
+            scopeName = ((NameExpr) scope).getNameAsString();
+        } else if (scope instanceof FieldAccessExpr) {
+            scopeName = ((FieldAccessExpr) scope).getNameAsString(); // this.kafkaTemplate
+        } else {
+            return null;
+        }
+
+        String broker = templateBrokers.get(scopeName);
+        if (broker != null) {
+            return broker;
+        }
+        // Declared elsewhere (e.g. a superclass) - fall back to the conventional bean names
+        String lower = scopeName.toLowerCase();
+        if (lower.contains("kafkatemplate")) {
+            return AnalyzerConstants.KAFKA_BROKER;
+        }
+        if (lower.contains("rabbittemplate") || lower.contains("amqptemplate")) {
+            return AnalyzerConstants.RABBITMQ_BROKER;
+        }
+        return null;
+    }
+
+    /**
+     * Values of an annotation attribute, for both attr = "x" and attr = {"x", "y"} forms.
+     * For "value", the single-member form @Queue("x") is accepted too.
+     */
+    private List<String> annotationValues(AnnotationExpr annotation, String attribute, CompilationUnit cu) {
+        Expression valueExpr = null;
+        if (annotation instanceof NormalAnnotationExpr) {
+            for (MemberValuePair pair : ((NormalAnnotationExpr) annotation).getPairs()) {
+                if (pair.getNameAsString().equals(attribute)) {
+                    valueExpr = pair.getValue();
+                }
+            }
+        } else if (annotation instanceof SingleMemberAnnotationExpr && "value".equals(attribute)) {
+            valueExpr = ((SingleMemberAnnotationExpr) annotation).getMemberValue();
+        }
+
+        List<String> values = new ArrayList<>();
+        if (valueExpr == null) {
+            return values;
+        }
+        List<Expression> expressions = valueExpr instanceof ArrayInitializerExpr
+            ? ((ArrayInitializerExpr) valueExpr).getValues()
+            : List.of(valueExpr);
+        for (Expression expression : expressions) {
+            String value = resolveString(expression, cu);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Resolve an expression to a destination name: string literals, same-file string constants
+     * and property placeholders. SpEL expressions and computed names are skipped.
+     */
+    private String resolveString(Expression expression, CompilationUnit cu) {
+        String raw = null;
+        if (expression instanceof StringLiteralExpr) {
+            raw = ((StringLiteralExpr) expression).asString();
+        } else if (expression instanceof NameExpr || expression instanceof FieldAccessExpr) {
+            String name = expression instanceof NameExpr
+                ? ((NameExpr) expression).getNameAsString()
+                : ((FieldAccessExpr) expression).getNameAsString();
+            raw = findStringConstant(name, cu);
+        }
+
+        if (raw == null || raw.isBlank() || raw.startsWith("#{")) {
+            return null;
+        }
+        return placeholderResolver.apply(raw.trim());
+    }
+
+    private String findStringConstant(String name, CompilationUnit cu) {
+        for (VariableDeclarator variable : cu.findAll(VariableDeclarator.class)) {
+            if (variable.getNameAsString().equals(name)) {
+                Expression initializer = variable.getInitializer().orElse(null);
+                if (initializer instanceof StringLiteralExpr) {
+                    return ((StringLiteralExpr) initializer).asString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private String enclosingMethodName(Node node) {
+        String methodName = node.findAncestor(MethodDeclaration.class)
+            .map(MethodDeclaration::getNameAsString)
+            .orElse(null);
+        String className = node.findAncestor(ClassOrInterfaceDeclaration.class)
+            .map(ClassOrInterfaceDeclaration::getNameAsString)
+            .orElse("?");
+        return methodName != null ? className + "." + methodName : className;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.model.MessagingEndpoint;
+import com.example.analyzer.model.ServiceDependency;
+import com.example.analyzer.model.ServiceInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Joins message producers to consumers across services through a (broker, destination) index.
+ * Each producer -> consumer pair in different services becomes one messaging dependency.
+ */
+public class MessagingTopicIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagingTopicIndex.class);
+
+    private final Map<String, List<Consumer>> consumersByDestination = new HashMap<>();
+
+    public MessagingTopicIndex(List<ServiceInfo> services) {
+        for (ServiceInfo service : services) {
+            for (MessagingEndpoint endpoint : service.getConsumedMessages()) {
+                consumersByDestination
+                    .computeIfAbsent(key(endpoint), k -> new ArrayList<>())
+                    .add(new Consumer(service.getName(), endpoint));
+            }
+        }
+    }
+
+    /**
+     * Create a dependency producer-service -> consumer-service for every matching destination.
+     * Dependencies are attached to the producing service and returned.
+     */
+    public List<ServiceDependency> linkProducersToConsumers(List<ServiceInfo> services) {
+        List<ServiceDependency> dependencies = new ArrayList<>();
+
+        for (ServiceInfo producer : services) {
+            for (MessagingEndpoint produced : producer.getProducedMessages()) {
+                List<Consumer> consumers = consumersByDestination.getOrDefault(key(produced), List.of());
+                if (consumers.isEmpty()) {
+                    logger.debug("[MESSAGING] No consumer found for {} '{}' published by {}",
+                        produced.getBroker(), produced.getDestination(), producer.getName());
+                }
+
+                for (Consumer consumer : consumers) {
+                    if (consumer.serviceName.equals(producer.getName())) {
+                        continue; // Self-consumption is not a service dependency
+                    }
+
+                    ServiceDependency dependency = new ServiceDependency(
+                        producer.getName(),
+                        consumer.serviceName,
+                        AnalyzerConstants.MESSAGING_TYPE
+                    );
+                    dependency.setDescription(String.format("%s publishes to %s '%s' consumed by %s",
+                        produced.getMethod(), produced.getBroker(), produced.getDestination(), consumer.endpoint.getMethod()));
+                    dependency.setSourceFile(produced.getSourceFile());
+                    dependency.setLineNumber(produced.getLineNumber());
+                    dependency.setEndpoint(produced.getDestination());
+
+                    producer.getDependencies().add(dependency);
+                    dependencies.add(dependency);
+
+                    logger.info("[MESSAGING] {} -> {} via {} '{}'",
+                        producer.getName(), consumer.serviceName, produced.getBroker(), produced.getDestination());
+                }
+            }
+        }
+
+        logger.info("[STATS] Linked {} messaging dependencies over {} destinations",
+            dependencies.size(), consumersByDestination.size());
+        return dependencies;
+    }
+
+    private static String key(MessagingEndpoint endpoint) {
+        return endpoint.getBroker() + ":" + endpoint.getDestination();
+    }
+
+    private static class Consumer {
+        final String serviceName;
+        final MessagingEndpoint endpoint;
+
+        Consumer(String serviceName, MessagingEndpoint endpoint) {
+            this.serviceName = serviceName;
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.model.PerformanceHotspot;
+import com.example.analyzer.model.ServiceInfo;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.*;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Flags latency smells on the ASTs the dependency scan already parses:
+ * - remote-call-in-loop: a remote call in a for/while/do loop or a forEach/stream lambda (N+1)
+ * - sequential-remote-calls: two or more remote calls in one method, none using another's result and
+ *   not in exclusive branches, made one after the other
+ * - blocking-reactive-call: block()/blockFirst()/blockLast()/blockOptional() on a reactive chain
+ *
+ * A call is remote when its receiver is a Feign client or matches a configured HTTP client pattern, or
+ * when it goes through other methods of the same service to such a call (analyticsService.generateX()
+ * calling restTemplate). Files are summarised one by one as the pipeline delivers them, keeping only
+ * names and line numbers; remote-ness is resolved over the whole service by {@link ServiceScan#finish()}.
+ */
+public class PerformanceSmellDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceSmellDetector.class);
+
+    // Calls whose lambda / method reference argument runs once per element
+    private static final Set<String> LOOP_METHODS = Set.of("forEach", "forEachOrdered", "map", "flatMap",
+        "mapToObj", "mapToInt", "mapToLong", "mapToDouble", "filter", "peek", "anyMatch", "allMatch",
+        "noneMatch", "removeIf", "replaceAll");
+    private static final Set<String> BLOCKING_METHODS = Set.of("block", "blockFirst", "blockLast", "blockOptional");
+
+    // Every blocking method above contains this; Feign types and configured clients come from the scanner
+    private static final Set<String> TRIGGER_TOKENS = Set.of("block");
+
+    private final DependencyPatternMatcher patternMatcher;
+    private final Set<String> feignClientTypes; // simple names, filled by the scanner's indexing pass
+
+    public PerformanceSmellDetector(DependencyPatternMatcher patternMatcher, Set<String> feignClientTypes) {
+        this.patternMatcher = patternMatcher;
+        this.feignClientTypes = feignClientTypes;
+    }
+
+    /**
+     * Tokens at least one of which appears (ignoring case) in any file with a blocking call.
+     */
+    public static Set<String> triggerTokens() {
+        return TRIGGER_TOKENS;
+    }
+
+    public ServiceScan newScan(ServiceInfo service) {
+        return new ServiceScan(service);
+    }
+
+    /**
+     * A call on a field, on this, or on a variable of an HTTP client or Feign type: the calls that can
+     * be remote, directly or through the callee's own calls.
+     */
+    private static final class CallSite {
+        final String receiver; // field or variable name; "this" for unqualified calls
+        final String receiverType; // type as written without type arguments (WebClient.Builder); null when unknown
+        final String method; // method invoked on the receiver
+        final String description; // receiver.method().next()... as written
+        final int line;
+        final String loop; // "for loop", "forEach lambda"...; null outside loops
+        final boolean deferred; // inside a lambda that is not a loop body (async, callbacks)
+        final boolean blocking; // the chain ends in block()
+
+        CallSite(String receiver, String receiverType, String method, String description, int line,
+                 String loop, boolean deferred, boolean blocking) {
+            this.receiver = receiver;
+            this.receiverType = receiverType;
+            this.method = method;
+            this.description = description;
+            this.line = line;
+            this.loop = loop;
+            this.deferred = deferred;
+            this.blocking = blocking;
+        }
+
+        String simpleType() {
+            if (receiverType == null) {
+                return null;
+            }
+            int dot = receiverType.lastIndexOf('.');
+            return dot >= 0 ? receiverType.substring(dot + 1) : receiverType;
+        }
+    }
+
+    /**
+     * What the service-wide resolution needs from one method.
+     */
+    private static final class MethodSummary {
+        final String type;
+        final String name;
+        final String sourceFile;
+        final List<CallSite> sites = new ArrayList<>();
+        boolean[][] linked; // i, j: one uses the other's result, or they never both run
+        final List<String[]> blockingCalls = new ArrayList<>(); // {line, description} of block() not on a call site
+
+        MethodSummary(String type, String name, String sourceFile) {
+            this.type = type;
+            this.name = name;
+            this.sourceFile = sourceFile;
+        }
+
+        boolean independentOf(int site, List<Integer> others) {
+            for (int other : others) {
+                if (linked[site][other]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Summaries of one service's sources; {@link #finish()} turns them into hotspots on the service.
+     */
+    public final class ServiceScan {
+        private final ServiceInfo service;
+        private final Set<String> files = new HashSet<>();
+        private final Map<String, List<MethodSummary>> methods = new HashMap<>(); // Type#method -> overloads
+        private final Map<String, Set<String>> subtypes = new HashMap<>(); // supertype -> classes extending / implementing it
+        private final Map<MethodSummary, Optional<String>> remotePaths = new HashMap<>();
+
+        private ServiceScan(ServiceInfo service) {
+            this.service = service;
+        }
+
+        public boolean contains(String relativeFile) {
+            return files.contains(relativeFile);
+        }
+
+        public void add(CompilationUnit cu, String relativeFile) {
+            if (!files.add(relativeFile)) {
+                return;
+            }
+            remotePaths.clear();
+            for (ClassOrInterfaceDeclaration type : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+                for (ClassOrInterfaceType supertype : type.getExtendedTypes()) {
+                    subtypes.computeIfAbsent(supertype.getNameAsString(), k -> new HashSet<>()).add(type.getNameAsString());
+                }
+                for (ClassOrInterfaceType supertype : type.getImplementedTypes()) {
+                    subtypes.computeIfAbsent(supertype.getNameAsString(), k -> new HashSet<>()).add(type.getNameAsString());
+                }
+            }
+            for (MethodDeclaration method : cu.findAll(MethodDeclaration.class)) {
+                if (method.getBody().isPresent()) {
+                    try {
+                        MethodSummary summary = summarize(method, relativeFile);
+                        methods.computeIfAbsent(summary.type + "#" + summary.name, k -> new ArrayList<>()).add(summary);
+                    } catch (RuntimeException e) {
+                        // A smell heuristic must never cost the dependency scan its file
+                        logger.debug("[PERF] Skipping {} in {}: {}", method.getNameAsString(), relativeFile, e.toString());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Classes (and their supertypes) with at least one method making a remote call, so callers hidden in
+         * files without any client token can be pulled into the scan.
+         */
+        public Set<String> remoteTypes() {
+            Set<String> types = new TreeSet<>();
+            for (List<MethodSummary> overloads : methods.values()) {
+                for (MethodSummary summary : overloads) {
+                    if (remotePath(summary, new HashSet<>()) != null) {
+                        types.add(summary.type);
+                    }
+                }
+            }
+            subtypes.forEach((supertype, classes) -> {
+                if (!Collections.disjoint(classes, types)) {
+                    types.add(supertype);
+                }
+            });
+            return types;
+        }
+
+        public void finish() {
+            List<PerformanceHotspot> hotspots = new ArrayList<>();
+            for (List<MethodSummary> overloads : methods.values()) {
+                for (MethodSummary summary : overloads) {
+                    hotspots.addAll(findHotspots(summary));
+                }
+            }
+            hotspots.sort(Comparator.comparing(PerformanceHotspot::getSourceFile)
+                .thenComparingInt(PerformanceHotspot::getLine)
+                .thenComparing(PerformanceHotspot::getType));
+            service.setPerformanceHotspots(hotspots);
+        }
+
+        private List<PerformanceHotspot> findHotspots(MethodSummary summary) {
+            List<PerformanceHotspot> hotspots = new ArrayList<>();
+            String method = summary.type + "#" + summary.name;
+
+            List<Integer> sequential = new ArrayList<>();
+            for (int i = 0; i < summary.sites.size(); i++) {
+                CallSite site = summary.sites.get(i);
+                String remote = remoteCall(site, new HashSet<>());
+                if (remote == null) {
+                    continue;
+                }
+                if (site.loop != null) {
+                    hotspots.add(new PerformanceHotspot(AnalyzerConstants.HOTSPOT_CALL_IN_LOOP, summary.sourceFile, site.line,
+                        method, List.of(remote),
+                        "Remote call in a " + site.loop + ": one round trip per element (N+1). Fetch in bulk or batch the calls."));
+                } else if (!site.deferred && summary.independentOf(i, sequential)) {
+                    sequential.add(i);
+                }
+            }
+
+            if (sequential.size() > 1) {
+                List<String> calls = new ArrayList<>();
+                Set<String> receivers = new HashSet<>();
+                for (int i : sequential) {
+                    CallSite site = summary.sites.get(i);
+                    calls.add(remoteCall(site, new HashSet<>()) + " (line " + site.line + ")");
+                    receivers.add(site.receiver + "." + site.method);
+                }
+                hotspots.add(new PerformanceHotspot(AnalyzerConstants.HOTSPOT_SEQUENTIAL_CALLS, summary.sourceFile,
+                    summary.sites.get(sequential.get(0)).line, method, calls,
+                    String.format("%d independent remote calls (%d distinct) made one after the other, so their latencies add up. " +
+                        "Run them concurrently (CompletableFuture, Mono.zip) or fetch the data in one call.",
+                        sequential.size(), receivers.size())));
+            }
+
+            for (CallSite site : summary.sites) {
+                if (site.blocking) {
+                    String remote = remoteCall(site, new HashSet<>());
+                    hotspots.add(blockingHotspot(summary, method, site.line, remote != null ? remote : site.description));
+                }
+            }
+            for (String[] call : summary.blockingCalls) {
+                hotspots.add(blockingHotspot(summary, method, Integer.parseInt(call[0]), call[1]));
+            }
+            return hotspots;
+        }
+
+        private PerformanceHotspot blockingHotspot(MethodSummary summary, String method, int line, String call) {
+            return new PerformanceHotspot(AnalyzerConstants.HOTSPOT_BLOCKING_CALL, summary.sourceFile, line, method, List.of(call),
+                "Blocks the calling thread until the reactive call completes. Return the Mono/Flux, or keep the call off request threads.");
+        }
+
+        /**
+         * The call as written, followed by the path to the HTTP/Feign call it ends in; null when not remote.
+         */
+        private String remoteCall(CallSite site, Set<MethodSummary> visiting) {
+            String simpleType = site.simpleType();
+            if (simpleType != null && feignClientTypes.contains(simpleType)) {
+                return site.description;
+            }
+            if ((site.receiverType != null && patternMatcher.isHttpClientCall(site.receiverType, site.method))
+                    || (!"this".equals(site.receiver) && patternMatcher.isHttpClientCall(site.receiver, site.method))) {
+                return site.description;
+            }
+            if (simpleType == null) {
+                return null;
+            }
+
+            List<String> candidates = new ArrayList<>();
+            candidates.add(simpleType);
+            candidates.addAll(subtypes.getOrDefault(simpleType, Set.of()));
+            for (String type : candidates) {
+                for (MethodSummary callee : methods.getOrDefault(type + "#" + site.method, List.of())) {
+                    String path = remotePath(callee, visiting);
+                    if (path != null) {
+                        return site.description + " -> " + path;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * First remote call the method makes on its own thread, or null.
+         */
+        private String remotePath(MethodSummary summary, Set<MethodSummary> visiting) {
+            Optional<String> known = remotePaths.get(summary);
+            if (known != null) {
+                return known.orElse(null);
+            }
+            if (!visiting.add(summary)) {
+                return null; // recursion; the outer frame decides
+            }
+            String path = null;
+            for (CallSite site : summary.sites) {
+                if (!site.deferred && (path = remoteCall(site, visiting)) != null) {
+                    break;
+                }
+            }
+            visiting.remove(summary);
+            if (visiting.isEmpty() || path != null) {
+                remotePaths.put(summary, Optional.ofNullable(path));
+            }
+            return path;
+        }
+    }
+
+    // ---- per-file summaries --------------------------------------------------------------------
+
+    private MethodSummary summarize(MethodDeclaration method, String relativeFile) {
+        String owner = method.findAncestor(TypeDeclaration.class).map(type -> type.getNameAsString()).orElse("?");
+        MethodSummary summary = new MethodSummary(owner, method.getNameAsString(), relativeFile);
+
+        Map<String, String> variableTypes = new HashMap<>();
+        method.findAncestor(ClassOrInterfaceDeclaration.class).ifPresent(type -> {
+            for (FieldDeclaration field : type.getFields()) {
+                field.getVariables().forEach(v -> variableTypes.put(v.getNameAsString(), typeName(v.getType())));
+            }
+        });
+        Set<String> fields = new HashSet<>(variableTypes.keySet());
+        Set<String> locals = new HashSet<>();
+        for (Parameter parameter : method.getParameters()) {
+            variableTypes.put(parameter.getNameAsString(), typeName(parameter.getType()));
+            locals.add(parameter.getNameAsString());
+        }
+        for (VariableDeclarator variable : method.findAll(VariableDeclarator.class)) {
+            variableTypes.put(variable.getNameAsString(), typeName(variable.getType()));
+            locals.add(variable.getNameAsString());
+        }
+
+        List<Node> siteNodes = new ArrayList<>();
+        for (MethodCallExpr call : method.findAll(MethodCallExpr.class)) {
+            if (!ownedBy(call, method) || isChainInterior(call)) {
+                continue;
+            }
+            List<String> chain = new ArrayList<>();
+            MethodCallExpr innermost = call;
+            chain.add(call.getNameAsString());
+            while (innermost.getScope().isPresent() && innermost.getScope().get().isMethodCallExpr()) {
+                innermost = innermost.getScope().get().asMethodCallExpr();
+                chain.add(0, innermost.getNameAsString());
+            }
+            boolean blocking = chain.stream().anyMatch(BLOCKING_METHODS::contains);
+
+            String receiver = receiverName(innermost.getScope().orElse(null));
+            String receiverType = receiver == null ? null
+                : "this".equals(receiver) ? summary.type : variableTypes.get(receiver);
+            boolean candidate = receiver != null && ("this".equals(receiver) || fields.contains(receiver)
+                || (locals.contains(receiver) && receiverType != null && isClientType(receiverType, innermost.getNameAsString())));
+            String description = ("this".equals(receiver) ? "" : receiver + ".") + String.join("().", chain) + "()";
+
+            if (candidate) {
+                String[] context = context(call, method);
+                summary.sites.add(new CallSite(receiver, receiverType, innermost.getNameAsString(), description,
+                    line(call), context[0], context[1] != null, blocking));
+                siteNodes.add(call);
+            } else if (blocking) {
+                summary.blockingCalls.add(new String[] { String.valueOf(line(call)), abbreviate(call.toString()) });
+            }
+        }
+
+        // Method references handed to loops or callbacks (ids.stream().map(client::getUser))
+        for (MethodReferenceExpr reference : method.findAll(MethodReferenceExpr.class)) {
+            String receiver = ownedBy(reference, method) ? receiverName(reference.getScope()) : null;
+            if (receiver == null || !"this".equals(receiver) && !fields.contains(receiver)) {
+                continue;
+            }
+            String[] context = context(reference, method);
+            summary.sites.add(new CallSite(receiver, "this".equals(receiver) ? summary.type : variableTypes.get(receiver),
+                reference.getIdentifier(), reference.toString(), line(reference), context[0], context[0] == null, false));
+            siteNodes.add(reference);
+        }
+
+        summary.linked = linkSites(method, siteNodes);
+        return summary;
+    }
+
+    private boolean isClientType(String type, String method) {
+        int dot = type.lastIndexOf('.');
+        return feignClientTypes.contains(dot >= 0 ? type.substring(dot + 1) : type) || patternMatcher.isHttpClientCall(type, method);
+    }
+
+    private static boolean ownedBy(Node node, MethodDeclaration method) {
+        return node.findAncestor(MethodDeclaration.class).map(m -> m == method).orElse(false);
+    }
+
+    // a.b().c(): b() is interior, only c() stands for the chain
+    private static boolean isChainInterior(MethodCallExpr call) {
+        return call.getParentNode()
+            .filter(parent -> parent instanceof MethodCallExpr
+                && ((MethodCallExpr) parent).getScope().map(scope -> scope == call).orElse(false))
+            .isPresent();
+    }
+
+    private static String receiverName(Expression scope) {
+        if (scope == null || scope.isThisExpr()) {
+            return "this";
+        }
+        if (scope.isNameExpr()) {
+            return scope.asNameExpr().getNameAsString();
+        }
+        if (scope.isFieldAccessExpr() && scope.asFieldAccessExpr().getScope().isThisExpr()) {
+            return scope.asFieldAccessExpr().getNameAsString();
+        }
+        return null;
+    }
+
+    /**
+     * {loop description or null, "deferred" or null} for a call inside the method.
+     */
+    private static String[] context(Node node, MethodDeclaration method) {
+        Node child = node;
+        Node parent = node.getParentNode().orElse(null);
+        while (parent != null && parent != method) {
+            if (parent instanceof ForEachStmt && ((ForEachStmt) parent).getIterable() != child) {
+                return new String[] { "for loop", null };
+            }
+            if (parent instanceof ForStmt && !isOneOf(child, ((ForStmt) parent).getInitialization())) {
+                return new String[] { "for loop", null };
+            }
+            if (parent instanceof WhileStmt) {
+                return new String[] { "while loop", null };
+            }
+            if (parent instanceof DoStmt) {
+                return new String[] { "do/while loop", null };
+            }
+            if ((child instanceof LambdaExpr || child instanceof MethodReferenceExpr) && parent instanceof MethodCallExpr
+                    && isOneOf(child, ((MethodCallExpr) parent).getArguments())) {
+                String name = ((MethodCallExpr) parent).getNameAsString();
+                return LOOP_METHODS.contains(name)
+                    ? new String[] { name + " lambda", null }
+                    : new String[] { null, "deferred" };
+            }
+            if (child instanceof LambdaExpr) {
+                return new String[] { null, "deferred" }; // stored or returned lambda
+            }
+            child = parent;
+            parent = parent.getParentNode().orElse(null);
+        }
+        return new String[] { null, null };
+    }
+
+    // NodeList.contains compares structurally; this is about the very node
+    private static boolean isOneOf(Node node, List<? extends Node> nodes) {
+        return nodes.stream().anyMatch(candidate -> candidate == node);
+    }
+
+    /**
+     * Pairs of call sites that cannot be made concurrently as they stand: one is nested in or uses the
+     * result of the other, or they sit in branches that never both run.
+     */
+    private static boolean[][] linkSites(MethodDeclaration method, List<Node> sites) {
+        int count = sites.size();
+        boolean[][] linked = new boolean[count][count];
+        if (count < 2) {
+            return linked;
+        }
+
+        List<Set<String>> results = new ArrayList<>();
+        for (Node site : sites) {
+            results.add(derivedVariables(method, site));
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                Node a = sites.get(i);
+                Node b = sites.get(j);
+                boolean link = a.isAncestorOf(b) || b.isAncestorOf(a)
+                    || usesAny(b, results.get(i)) || usesAny(a, results.get(j))
+                    || exclusive(a, b);
+                linked[i][j] = link;
+                linked[j][i] = link;
+            }
+        }
+        return linked;
+    }
+
+    // Variables holding the call's result, directly or through other assignments in the method
+    private static Set<String> derivedVariables(MethodDeclaration method, Node site) {
+        Set<String> derived = new HashSet<>();
+        Node node = site;
+        while (node.getParentNode().isPresent() && !(node instanceof Statement)) {
+            Node parent = node.getParentNode().get();
+            if (parent instanceof VariableDeclarator) {
+                derived.add(((VariableDeclarator) parent).getNameAsString());
+                break;
+            }
+            if (parent instanceof AssignExpr && ((AssignExpr) parent).getValue() == node) {
+                Expression target = ((AssignExpr) parent).getTarget();
+                if (target.isNameExpr()) {
+                    derived.add(target.asNameExpr().getNameAsString());
+                }
+                break;
+            }
+            node = parent;
+        }
+        if (derived.isEmpty()) {
+            return derived;
+        }
+
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (VariableDeclarator variable : method.findAll(VariableDeclarator.class)) {
+                if (!derived.contains(variable.getNameAsString())
+                        && variable.getInitializer().map(init -> usesAny(init, derived)).orElse(false)) {
+                    grown |= derived.add(variable.getNameAsString());
+                }
+            }
+            for (AssignExpr assign : method.findAll(AssignExpr.class)) {
+                if (assign.getTarget().isNameExpr() && !derived.contains(assign.getTarget().asNameExpr().getNameAsString())
+                        && usesAny(assign.getValue(), derived)) {
+                    grown |= derived.add(assign.getTarget().asNameExpr().getNameAsString());
+                }
+            }
+        }
+        return derived;
+    }
+
+    private static boolean usesAny(Node node, Set<String> variables) {
+        if (variables.isEmpty()) {
+            return false;
+        }
+        if (node instanceof NameExpr && variables.contains(((NameExpr) node).getNameAsString())) {
+            return true;
+        }
+        for (NameExpr name : node.findAll(NameExpr.class)) {
+            if (variables.contains(name.getNameAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // if/else, ?:, switch cases, try/catch and && / || operands: at most one of the two runs, or one only after the other
+    private static boolean exclusive(Node a, Node b) {
+        // Identity, not Node.equals: structurally equal subtrees in other branches must not match
+        Set<Node> ancestorsOfA = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node = a; node != null; node = node.getParentNode().orElse(null)) {
+            ancestorsOfA.add(node);
+        }
+        Node childB = b;
+        Node common = b.getParentNode().orElse(null);
+        while (common != null && !ancestorsOfA.contains(common)) {
+            childB = common;
+            common = common.getParentNode().orElse(null);
+        }
+        if (common == null) {
+            return false;
+        }
+        Node childA = a;
+        while (childA.getParentNode().orElse(null) != common) {
+            childA = childA.getParentNode().get();
+        }
+
+        if (common instanceof IfStmt) {
+            Expression condition = ((IfStmt) common).getCondition();
+            return childA != condition && childB != condition;
+        }
+        if (common instanceof ConditionalExpr) {
+            Expression condition = ((ConditionalExpr) common).getCondition();
+            return childA != condition && childB != condition;
+        }
+        if (common instanceof SwitchStmt || common instanceof SwitchExpr) {
+            return childA instanceof SwitchEntry && childB instanceof SwitchEntry;
+        }
+        if (common instanceof TryStmt) {
+            return childA instanceof CatchClause || childB instanceof CatchClause;
+        }
+        if (common instanceof BinaryExpr) {
+            BinaryExpr.Operator operator = ((BinaryExpr) common).getOperator();
+            return operator == BinaryExpr.Operator.AND || operator == BinaryExpr.Operator.OR;
+        }
+        return false;
+    }
+
+    private static String typeName(Type type) {
+        if (type.isClassOrInterfaceType()) {
+            return type.asClassOrInterfaceType().getNameWithScope();
+        }
+        return type.isVarType() ? null : type.asString();
+    }
+
+    private static int line(Node node) {
+        return node.getBegin().map(position -> position.line).orElse(0);
+    }
+
+    private static String abbreviate(String source) {
+        String flat = source.replaceAll("\\s+", "");
+        return flat.length() > 80 ? flat.substring(0, 77) + "..." : flat;
+    }
+}
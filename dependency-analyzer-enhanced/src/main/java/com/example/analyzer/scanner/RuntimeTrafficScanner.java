@@ -0,0 +1,667 @@
+package com.example.analyzer.scanner;
+
+import com.example.analyzer.AnalyzerConstants;
+import com.example.analyzer.config.AnalyzerConfiguration;
+import com.example.analyzer.model.EdgeTraffic;
+import com.example.analyzer.model.ServiceDependency;
+import com.example.analyzer.model.ServiceInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Weights dependency edges with traffic observed at runtime, read from local files:
+ * - access logs (Tomcat / Spring Boot common or combined format, optionally ending with the duration)
+ * - OpenTelemetry OTLP JSON span exports and Zipkin v2 JSON from Micrometer Tracing (CLIENT spans)
+ * - log_entries exported from logging-service (mongoexport JSON, one delivery per entry)
+ *
+ * Files are streamed line by line or token by token, never loaded whole, and parsed in parallel.
+ * Memory is bounded by the distinct (caller, callee, endpoint) keys: ids in paths fold into {id},
+ * latencies go into fixed-size histograms, and keys beyond max_endpoints count as (other).
+ */
+public class RuntimeTrafficScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeTrafficScanner.class);
+
+    private static final String FORMAT_AUTO = "auto";
+    private static final String FORMAT_ACCESS_LOG = "access-log";
+    private static final String FORMAT_OTEL = "otel";
+    private static final String FORMAT_ZIPKIN = "zipkin";
+    private static final String FORMAT_LOG_ENTRIES = "log-entries";
+
+    // %h %l %u %t "%r" %s %b, optionally "%{Referer}i" "%{User-Agent}i", optionally a trailing duration
+    private static final String DEFAULT_ACCESS_LOG_PATTERN =
+        "^(?<caller>\\S+) \\S+ \\S+ \\[[^\\]]+\\] \"(?<method>[A-Z]+) (?<path>\\S+)[^\"]*\" (?<status>\\d{3}) \\S+"
+            + "(?: \"[^\"]*\" \"[^\"]*\")?(?: (?<duration>\\d+(?:\\.\\d+)?))?";
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]*}");
+    private static final String UNKNOWN_CALLER = "(unknown)";
+    private static final String OTHER_ENDPOINT = "(other)";
+    private static final int SNIFF_BYTES = 64 * 1024;
+    private static final int READ_BUFFER_CHARS = 1 << 20;
+
+    private final AnalyzerConfiguration.RuntimeTrafficConfig config;
+    private final Path projectRoot;
+    private final List<ServiceInfo> services;
+    private final Map<String, String> serviceNames = new HashMap<>(); // lower-case -> service name
+    private final Pattern accessLogPattern;
+    private final boolean accessLogHasCaller;
+    private final boolean accessLogHasDuration;
+    private final double durationToMicros;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    public RuntimeTrafficScanner(AnalyzerConfiguration.RuntimeTrafficConfig config, Path projectRoot, List<ServiceInfo> services) {
+        this.config = config;
+        this.projectRoot = projectRoot;
+        this.services = services;
+        services.forEach(service -> serviceNames.put(service.getName().toLowerCase(Locale.ROOT), service.getName()));
+
+        String pattern = config.getAccessLogPattern() != null && !config.getAccessLogPattern().isBlank()
+            ? config.getAccessLogPattern() : DEFAULT_ACCESS_LOG_PATTERN;
+        if (!pattern.contains("(?<path>")) {
+            throw new IllegalArgumentException("runtime_traffic.access_log_pattern needs a named group 'path': " + pattern);
+        }
+        this.accessLogPattern = Pattern.compile(pattern);
+        this.accessLogHasCaller = pattern.contains("(?<caller>");
+        this.accessLogHasDuration = pattern.contains("(?<duration>");
+        String unit = config.getAccessLogDurationUnit() == null ? "ms" : config.getAccessLogDurationUnit();
+        switch (unit) {
+            case "us":
+                durationToMicros = 1;
+                break;
+            case "s":
+                durationToMicros = 1_000_000;
+                break;
+            case "ms":
+                durationToMicros = 1_000;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown runtime_traffic.access_log_duration_unit '" + unit + "' (expected ms, us or s)");
+        }
+    }
+
+    /**
+     * Stream every source and set {@link ServiceDependency#getTraffic()} on the edges the traffic
+     * belongs to. Returns the traffic no edge could take, one pseudo-edge per (caller, callee).
+     */
+    public List<ServiceDependency> weigh(List<ServiceDependency> dependencies) throws IOException {
+        List<Path> files = resolveSources();
+        if (files.isEmpty()) {
+            logger.warn("[TRAFFIC] No files match runtime_traffic.sources {}", config.getSources());
+            return new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (Path file : files) {
+            bytes += Files.size(file);
+        }
+        Aggregate total = parseAll(files);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info("[TRAFFIC] {} calls from {} files ({} MB) in {} ms ({} MB/s), {} unparsed lines",
+            total.calls, files.size(), bytes / (1024 * 1024), millis, bytes / 1024 / millis, total.skippedLines);
+
+        return attach(total, dependencies);
+    }
+
+    private List<Path> resolveSources() throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String source : config.getSources()) {
+            int wildcard = firstWildcard(source);
+            if (wildcard < 0) {
+                Path path = projectRoot.resolve(source);
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else if (Files.isDirectory(path)) {
+                    try (Stream<Path> walk = Files.walk(path)) {
+                        walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+                    }
+                } else {
+                    logger.warn("[TRAFFIC] Source not found: {}", path);
+                }
+                continue;
+            }
+
+            // Walk only below the part of the glob without wildcards
+            String base = source.substring(0, source.lastIndexOf('/', wildcard) + 1);
+            Path root = projectRoot.toAbsolutePath().normalize();
+            Path baseDir = root.resolve(base.isEmpty() ? "." : base).normalize();
+            if (!Files.isDirectory(baseDir)) {
+                logger.warn("[TRAFFIC] Source directory not found: {}", baseDir);
+                continue;
+            }
+            boolean absolute = Paths.get(base.isEmpty() ? "." : base).isAbsolute();
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + source);
+            try (Stream<Path> walk = Files.walk(baseDir)) {
+                walk.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(absolute ? path : root.relativize(path)))
+                    .sorted()
+                    .forEach(files::add);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static int firstWildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if ("*?[{".indexOf(glob.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * One task per file, each filling its own aggregate; merged once all are done.
+     */
+    private Aggregate parseAll(List<Path> files) throws IOException {
+        int threads = Math.min(files.size(), config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "traffic-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Aggregate>> futures = new ArrayList<>();
+            for (Path file : files) {
+                futures.add(executor.submit(() -> parseFile(file)));
+            }
+            Aggregate total = new Aggregate();
+            for (Future<Aggregate> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IOException("Runtime traffic parsing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing runtime traffic", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Aggregate parseFile(Path file) {
+        Aggregate aggregate = new Aggregate();
+        try {
+            String format = config.getFormat() == null || FORMAT_AUTO.equals(config.getFormat()) ? sniffFormat(file) : config.getFormat();
+            switch (format) {
+                case FORMAT_ACCESS_LOG:
+                    parseAccessLog(file, aggregate);
+                    break;
+                case FORMAT_OTEL:
+                    parseOtlp(file, aggregate);
+                    break;
+                case FORMAT_ZIPKIN:
+                    parseJsonRecords(file, span -> zipkinSpan(span, aggregate));
+                    break;
+                case FORMAT_LOG_ENTRIES:
+                    String callee = resolveService(config.getLogEntriesService());
+                    parseJsonRecords(file, entry -> aggregate.add(resolveService(entry.path("source").asText(null)), callee, null, -1));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown runtime_traffic.format '" + format
+                        + "' (expected auto, access-log, otel, zipkin or log-entries)");
+            }
+            logger.debug("[TRAFFIC] {} ({}): {} calls", file, format, aggregate.calls);
+        } catch (IOException e) {
+            logger.warn("[TRAFFIC] Could not read {}: {} - keeping {} calls read so far", file, e.getMessage(), aggregate.calls);
+        }
+        return aggregate;
+    }
+
+    private String sniffFormat(Path file) throws IOException {
+        String head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = new String(in.readNBytes(SNIFF_BYTES), StandardCharsets.ISO_8859_1);
+        }
+        if (head.contains("\"resourceSpans\"")) {
+            return FORMAT_OTEL;
+        }
+        if (head.contains("\"traceId\"")) {
+            return FORMAT_ZIPKIN;
+        }
+        if (head.contains("\"source\"") && head.contains("\"message\"")) {
+            return FORMAT_LOG_ENTRIES;
+        }
+        return FORMAT_ACCESS_LOG;
+    }
+
+    private void parseAccessLog(Path file, Aggregate aggregate) throws IOException {
+        String callee = serviceForFile(file);
+        if (callee == null) {
+            logger.warn("[TRAFFIC] Skipping access log {}: no service name in its path", file);
+            return;
+        }
+        // Request lines are ASCII (paths are percent-encoded), so skip UTF-8 decoding
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.ISO_8859_1), READ_BUFFER_CHARS)) {
+            Matcher matcher = accessLogPattern.matcher("");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!matcher.reset(line).find()) {
+                    aggregate.skippedLines++;
+                    continue;
+                }
+                String caller = accessLogHasCaller ? resolveService(matcher.group("caller")) : null;
+                long micros = -1;
+                String duration = accessLogHasDuration ? matcher.group("duration") : null;
+                if (duration != null) {
+                    micros = Math.round(Double.parseDouble(duration) * durationToMicros);
+                }
+                aggregate.add(caller, callee, templatePath(matcher.group("path")), micros);
+            }
+        }
+    }
+
+    /**
+     * Root objects one after the other (NDJSON) or the elements of one top-level array, each read
+     * as a small tree.
+     */
+    private void parseJsonRecords(Path file, Consumer<JsonNode> handler) throws IOException {
+        try (JsonParser parser = jsonMapper.createParser(file.toFile())) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    handler.accept(parser.readValueAsTree());
+                }
+            }
+        }
+    }
+
+    /**
+     * OTLP exports nest resourceSpans / scopeSpans / spans and can hold millions of spans in one
+     * document, so only the resource and each span are materialized.
+     */
+    private void parseOtlp(Path file, Aggregate aggregate) throws IOException {
+        try (JsonParser parser = jsonMapper.createParser(file.toFile())) {
+            String service = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.getCurrentName();
+                if ("resource".equals(field) && parser.nextToken() == JsonToken.START_OBJECT) {
+                    JsonNode resource = parser.readValueAsTree();
+                    service = resolveService(attribute(resource.path("attributes"), "service.name"));
+                } else if ("spans".equals(field) && parser.nextToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        otlpSpan(parser.readValueAsTree(), service, aggregate);
+                    }
+                }
+            }
+        }
+    }
+
+    private void otlpSpan(JsonNode span, String caller, Aggregate aggregate) {
+        JsonNode kind = span.path("kind");
+        boolean client = kind.isNumber() ? kind.asInt() == 3 : "SPAN_KIND_CLIENT".equals(kind.asText());
+        if (!client) {
+            return; // server spans repeat what the client span already counted
+        }
+        JsonNode attributes = span.path("attributes");
+        String url = firstNonBlank(attribute(attributes, "url.full"), attribute(attributes, "http.url"));
+        String callee = firstNonBlank(attribute(attributes, "peer.service"), attribute(attributes, "server.address"),
+            attribute(attributes, "net.peer.name"), host(url));
+        if (callee == null) {
+            aggregate.skippedLines++;
+            return;
+        }
+        String endpoint = firstNonBlank(attribute(attributes, "http.route"), attribute(attributes, "url.path"),
+            attribute(attributes, "http.target"), url);
+        long startNanos = span.path("startTimeUnixNano").asLong();
+        long endNanos = span.path("endTimeUnixNano").asLong();
+        long micros = startNanos > 0 && endNanos >= startNanos ? (endNanos - startNanos) / 1_000 : -1;
+        aggregate.add(caller, resolveService(callee), templatePath(endpoint), micros);
+    }
+
+    private void zipkinSpan(JsonNode span, Aggregate aggregate) {
+        if (!"CLIENT".equals(span.path("kind").asText())) {
+            return;
+        }
+        JsonNode tags = span.path("tags");
+        String url = tags.path("http.url").asText(null);
+        String callee = firstNonBlank(span.path("remoteEndpoint").path("serviceName").asText(null),
+            tags.path("peer.service").asText(null), host(url));
+        if (callee == null) {
+            aggregate.skippedLines++;
+            return;
+        }
+        String endpoint = firstNonBlank(tags.path("http.route").asText(null), tags.path("http.path").asText(null), url);
+        long micros = span.has("duration") ? span.path("duration").asLong() : -1; // Zipkin durations are microseconds
+        aggregate.add(resolveService(span.path("localEndpoint").path("serviceName").asText(null)),
+            resolveService(callee), templatePath(endpoint), micros);
+    }
+
+    private static String attribute(JsonNode attributes, String key) {
+        for (JsonNode attribute : attributes) {
+            if (key.equals(attribute.path("key").asText())) {
+                JsonNode value = attribute.path("value");
+                for (String type : new String[] {"stringValue", "intValue"}) {
+                    if (value.has(type)) {
+                        return value.get(type).asText();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String host(String url) {
+        if (url == null) {
+            return null;
+        }
+        int scheme = url.indexOf("://");
+        if (scheme < 0) {
+            return null;
+        }
+        int slash = url.indexOf('/', scheme + 3);
+        return slash < 0 ? url.substring(scheme + 3) : url.substring(scheme + 3, slash);
+    }
+
+    /**
+     * Known service for a host, peer.service or serviceName value (ports and DNS suffixes dropped);
+     * other names are kept as they are, IP addresses and "-" give null (caller unknown).
+     */
+    private String resolveService(String raw) {
+        if (raw == null || raw.isBlank() || "-".equals(raw)) {
+            return null;
+        }
+        String name = raw.trim().toLowerCase(Locale.ROOT);
+        int scheme = name.indexOf("://");
+        if (scheme >= 0) {
+            name = name.substring(scheme + 3);
+        }
+        int end = name.length();
+        for (char separator : new char[] {'/', ':'}) {
+            int index = name.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        name = name.substring(0, end);
+        if (name.isEmpty() || name.startsWith("[") || name.chars().allMatch(c -> Character.isDigit(c) || c == '.')) {
+            return null;
+        }
+        String known = serviceNames.get(name);
+        if (known == null && name.indexOf('.') > 0) {
+            known = serviceNames.get(name.substring(0, name.indexOf('.'))); // order-service.default.svc.cluster.local
+        }
+        return known != null ? known : name;
+    }
+
+    /**
+     * Service an access log belongs to: the service directory containing it, else the longest
+     * service name that is a path segment or starts the file name (order-service-access.log).
+     */
+    private String serviceForFile(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        for (ServiceInfo service : services) {
+            if (service.getPath() != null && !service.getPath().isEmpty() && !".".equals(service.getPath())
+                    && absolute.startsWith(projectRoot.resolve(service.getPath()).toAbsolutePath().normalize())) {
+                return service.getName();
+            }
+        }
+        String best = null;
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (ServiceInfo service : services) {
+            String name = service.getName().toLowerCase(Locale.ROOT);
+            boolean segment = false;
+            for (Path part : absolute) {
+                segment |= part.toString().toLowerCase(Locale.ROOT).equals(name);
+            }
+            if ((segment || fileName.startsWith(name)) && (best == null || name.length() > best.length())) {
+                best = service.getName();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Path without scheme, host and query, with numeric, UUID and long hex segments folded into {id}
+     * so per-entity URLs collapse into one key.
+     */
+    static String templatePath(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        int start = 0;
+        int scheme = raw.indexOf("://");
+        if (scheme >= 0) {
+            start = raw.indexOf('/', scheme + 3);
+            if (start < 0) {
+                return "/";
+            }
+        }
+        int end = raw.length();
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+            }
+        }
+        // One pass over the segments: this runs once per log line
+        StringBuilder template = new StringBuilder(end - start);
+        int segmentStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || raw.charAt(i) == '/') {
+                if (i > segmentStart) {
+                    template.append('/');
+                    if (isIdSegment(raw, segmentStart, i)) {
+                        template.append("{id}");
+                    } else {
+                        template.append(raw, segmentStart, i);
+                    }
+                }
+                segmentStart = i + 1;
+            }
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static boolean isIdSegment(String path, int from, int to) {
+        int length = to - from;
+        boolean digits = true;
+        boolean hex = true;
+        for (int i = from; i < to && (digits || hex); i++) {
+            char c = path.charAt(i);
+            digits &= c >= '0' && c <= '9';
+            hex &= Character.digit(c, 16) >= 0 || (length == 36 && c == '-');
+        }
+        return digits || (hex && length >= 16);
+    }
+
+    private static String normalizeTemplate(String path) {
+        return path == null ? null : PATH_VARIABLE.matcher(path).replaceAll("{id}");
+    }
+
+    /**
+     * Hand each aggregated key to its edge: the caller -> callee edge when the caller is known,
+     * otherwise the only edge into the callee (or the only one declaring that endpoint).
+     */
+    private List<ServiceDependency> attach(Aggregate total, List<ServiceDependency> dependencies) {
+        Map<String, List<ServiceDependency>> edgesByPair = new HashMap<>();
+        Map<String, List<ServiceDependency>> edgesInto = new HashMap<>();
+        for (ServiceDependency dep : dependencies) {
+            if (AnalyzerConstants.CALL_MODE_BUILD.equals(dep.getCallMode())) {
+                continue;
+            }
+            edgesByPair.computeIfAbsent(dep.getFromService() + " -> " + dep.getToService(), k -> new ArrayList<>()).add(dep);
+            edgesInto.computeIfAbsent(dep.getToService(), k -> new ArrayList<>()).add(dep);
+        }
+        Map<String, Map<String, String>> templates = new HashMap<>();
+        for (ServiceInfo service : services) {
+            Map<String, String> byNormalized = new HashMap<>();
+            service.getExposedEndpoints().forEach(endpoint -> byNormalized.putIfAbsent(normalizeTemplate(endpoint), endpoint));
+            templates.put(service.getName(), byNormalized);
+        }
+
+        Map<ServiceDependency, Map<String, Counter>> weights = new IdentityHashMap<>();
+        Map<List<String>, Map<String, Counter>> unmatched = new TreeMap<>(Comparator.comparing((List<String> pair) -> pair.get(0))
+            .thenComparing(pair -> pair.get(1)));
+        long attachedCalls = 0;
+        for (Map.Entry<TrafficKey, Counter> entry : total.counters.entrySet()) {
+            TrafficKey key = entry.getKey();
+            String endpoint = key.endpoint == null ? null
+                : templates.getOrDefault(key.callee, Map.of()).getOrDefault(normalizeTemplate(key.endpoint), key.endpoint);
+            ServiceDependency edge = edgeFor(key.caller, key.callee, endpoint, edgesByPair, edgesInto);
+            Map<String, Counter> byEndpoint = edge != null
+                ? weights.computeIfAbsent(edge, k -> new LinkedHashMap<>())
+                : unmatched.computeIfAbsent(Arrays.asList(key.caller != null ? key.caller : UNKNOWN_CALLER, key.callee),
+                    k -> new LinkedHashMap<>());
+            byEndpoint.computeIfAbsent(endpoint, k -> new Counter()).merge(entry.getValue());
+            if (edge != null) {
+                attachedCalls += entry.getValue().calls;
+            }
+        }
+
+        weights.forEach((edge, byEndpoint) -> edge.setTraffic(toTraffic(byEndpoint)));
+        List<ServiceDependency> runtimeOnly = new ArrayList<>();
+        unmatched.forEach((pair, byEndpoint) -> {
+            ServiceDependency dependency = new ServiceDependency(pair.get(0), pair.get(1), "runtime");
+            dependency.setDescription(UNKNOWN_CALLER.equals(pair.get(0))
+                ? "Caller not identified and no single detected caller of " + pair.get(1)
+                : "Observed at runtime, no dependency detected in the code");
+            dependency.setTraffic(toTraffic(byEndpoint));
+            runtimeOnly.add(dependency);
+        });
+
+        logger.info("[TRAFFIC] {} calls weighted onto {} edges; {} calls on {} caller/callee pairs without a matching edge",
+            attachedCalls, weights.size(), total.calls - attachedCalls, runtimeOnly.size());
+        return runtimeOnly;
+    }
+
+    private static ServiceDependency edgeFor(String caller, String callee, String endpoint,
+                                             Map<String, List<ServiceDependency>> edgesByPair,
+                                             Map<String, List<ServiceDependency>> edgesInto) {
+        if (caller != null) {
+            List<ServiceDependency> edges = edgesByPair.get(caller + " -> " + callee);
+            return edges == null ? null : edges.get(0);
+        }
+        List<ServiceDependency> into = edgesInto.getOrDefault(callee, List.of());
+        if (into.stream().map(ServiceDependency::getFromService).distinct().count() == 1) {
+            return into.get(0);
+        }
+        if (endpoint != null) {
+            String wanted = normalizeTemplate(endpoint);
+            List<ServiceDependency> declaring = into.stream()
+                .filter(dep -> wanted.equals(normalizeTemplate(templatePath(dep.getEndpoint()))))
+                .collect(Collectors.toList());
+            if (declaring.stream().map(ServiceDependency::getFromService).distinct().count() == 1) {
+                return declaring.get(0);
+            }
+        }
+        return null;
+    }
+
+    private static EdgeTraffic toTraffic(Map<String, Counter> byEndpoint) {
+        Counter total = new Counter();
+        byEndpoint.values().forEach(total::merge);
+        EdgeTraffic traffic = new EdgeTraffic(total.calls, total.latencies.percentileMs(50), total.latencies.percentileMs(99));
+        byEndpoint.entrySet().stream()
+            .filter(entry -> entry.getKey() != null)
+            .sorted(Comparator.comparingLong((Map.Entry<String, Counter> entry) -> -entry.getValue().calls)
+                .thenComparing(Map.Entry::getKey))
+            .forEach(entry -> traffic.getEndpoints().add(new EdgeTraffic.EndpointTraffic(entry.getKey(),
+                entry.getValue().calls, entry.getValue().latencies.percentileMs(50), entry.getValue().latencies.percentileMs(99))));
+        return traffic;
+    }
+
+    private static final class TrafficKey {
+        final String caller; // null when the source does not say
+        final String callee;
+        final String endpoint;
+
+        TrafficKey(String caller, String callee, String endpoint) {
+            this.caller = caller;
+            this.callee = callee;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TrafficKey)) {
+                return false;
+            }
+            TrafficKey other = (TrafficKey) o;
+            return Objects.equals(caller, other.caller) && Objects.equals(callee, other.callee)
+                && Objects.equals(endpoint, other.endpoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(caller, callee, endpoint);
+        }
+    }
+
+    private static final class Counter {
+        long calls;
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        void merge(Counter other) {
+            calls += other.calls;
+            latencies.merge(other.latencies);
+        }
+    }
+
+    /**
+     * Per-file (then merged) call counts; one per parser thread, so no locking.
+     */
+    private final class Aggregate {
+        final Map<TrafficKey, Counter> counters = new HashMap<>();
+        long calls;
+        long skippedLines;
+
+        void add(String caller, String callee, String endpoint, long micros) {
+            if (callee == null) {
+                skippedLines++;
+                return;
+            }
+            TrafficKey key = new TrafficKey(caller, callee, endpoint);
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                if (counters.size() >= config.getMaxEndpoints() && config.getMaxEndpoints() > 0) {
+                    key = new TrafficKey(caller, callee, OTHER_ENDPOINT);
+                }
+                counter = counters.computeIfAbsent(key, k -> new Counter());
+            }
+            counter.calls++;
+            if (micros >= 0) {
+                counter.latencies.record(micros);
+            }
+            calls++;
+        }
+
+        void merge(Aggregate other) {
+            other.counters.forEach((key, counter) -> counters.computeIfAbsent(key, k -> new Counter()).merge(counter));
+            calls += other.calls;
+            skippedLines += other.skippedLines;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.analyzer.scanner;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.nodeTypes.NodeWithSimpleName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Project-wide table of the string symbols an HTTP call can be built from, filled from every parsed
+ * compilation unit and queried with hash lookups instead of JavaParser's symbol solver:
+ * - final String fields and interface constants: literal, number or concatenation initializers,
+ *   kept as literal parts plus references to other constants (resolved on first lookup)
+ * - @Value("${...}") fields, kept as their placeholder
+ * - @ConfigurationProperties(prefix) classes, so props.getUrl() maps to prefix.url
+ * - superclasses, so inherited fields resolve too
+ *
+ * Keys are qualified class names ("com.x.Urls.BASE", "com.x.Client#baseUrl"). References that cannot be
+ * qualified from the imports fall back to the simple class name when it is unique.
+ * Only symbols are stored, never AST nodes, so indexed files can be released after parsing.
+ */
+public class SourceSymbolIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceSymbolIndex.class);
+
+    private static final int MAX_DEPTH = 16;
+    private static final String AMBIGUOUS = "";
+
+    private final Map<String, List<String>> constants = new HashMap<>(); // Class.NAME -> parts; "=text" literal, otherwise a constant key candidate list joined by '|'
+    private final Map<String, String> valueFields = new HashMap<>(); // Class#field -> @Value expression
+    private final Map<String, String> configurationPrefixes = new HashMap<>(); // class -> prefix
+    private final Map<String, String> superclasses = new HashMap<>(); // class -> superclass
+    private final Map<String, String> simpleClassNames = new HashMap<>(); // simple name -> class (AMBIGUOUS if several)
+    private final Map<String, Optional<String>> resolvedConstants = new HashMap<>();
+
+    private final UnaryOperator<String> placeholderResolver;
+    private final UnaryOperator<String> propertyResolver;
+
+    /**
+     * @param placeholderResolver resolves ${...} placeholders against the current service's properties
+     * @param propertyResolver    looks up a single property key of the current service (null when absent)
+     */
+    public SourceSymbolIndex(UnaryOperator<String> placeholderResolver, UnaryOperator<String> propertyResolver) {
+        this.placeholderResolver = placeholderResolver;
+        this.propertyResolver = propertyResolver;
+    }
+
+    /**
+     * Record the symbols declared in a compilation unit.
+     */
+    public void index(CompilationUnit cu) {
+        resolvedConstants.clear();
+        for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+            String className = qualifiedName(type);
+            registerClass(className);
+
+            if (type instanceof ClassOrInterfaceDeclaration) {
+                ClassOrInterfaceDeclaration classDecl = (ClassOrInterfaceDeclaration) type;
+                classDecl.getExtendedTypes().stream().findFirst()
+                    .filter(extended -> !classDecl.isInterface())
+                    .ifPresent(extended -> superclasses.put(className, qualifyType(extended.getNameAsString(), cu, type)));
+            }
+            type.getAnnotationByName("ConfigurationProperties")
+                .map(annotation -> annotationAttribute(annotation, "prefix", "value"))
+                .ifPresent(prefix -> configurationPrefixes.put(className, prefix));
+
+            boolean isInterface = type instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) type).isInterface();
+            for (FieldDeclaration field : type.getFields()) {
+                Optional<String> value = field.getAnnotationByName("Value")
+                    .map(annotation -> annotationAttribute(annotation, "value"));
+                for (VariableDeclarator variable : field.getVariables()) {
+                    if (value.isPresent()) {
+                        valueFields.put(className + "#" + variable.getNameAsString(), value.get());
+                    } else if ((field.isFinal() || isInterface) && variable.getInitializer().isPresent()) {
+                        List<String> parts = constantParts(variable.getInitializer().get(), cu, type);
+                        if (parts != null) {
+                            constants.put(className + "." + variable.getNameAsString(), parts);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Value of a string expression inside a method: literals, concatenations, local variables,
+     * constants of any indexed class, @Value fields and @ConfigurationProperties getters.
+     * Null when any part of it is unknown (parameters, method results, ...).
+     */
+    public String evaluate(Expression expression) {
+        return evaluate(expression, 0);
+    }
+
+    private String evaluate(Expression expression, int depth) {
+        if (depth > MAX_DEPTH) {
+            return null;
+        }
+        if (expression instanceof StringLiteralExpr) {
+            return ((StringLiteralExpr) expression).asString();
+        }
+        if (expression instanceof TextBlockLiteralExpr) {
+            return ((TextBlockLiteralExpr) expression).asString();
+        }
+        if (expression instanceof IntegerLiteralExpr || expression instanceof LongLiteralExpr) {
+            return ((LiteralStringValueExpr) expression).getValue();
+        }
+        if (expression instanceof EnclosedExpr) {
+            return evaluate(((EnclosedExpr) expression).getInner(), depth + 1);
+        }
+        if (expression instanceof BinaryExpr) {
+            BinaryExpr binary = (BinaryExpr) expression;
+            if (binary.getOperator() != BinaryExpr.Operator.PLUS) {
+                return null;
+            }
+            String left = evaluate(binary.getLeft(), depth + 1);
+            String right = left != null ? evaluate(binary.getRight(), depth + 1) : null;
+            return right != null ? left + right : null;
+        }
+        if (expression instanceof NameExpr) {
+            return evaluateName(((NameExpr) expression).getNameAsString(), expression, depth);
+        }
+        if (expression instanceof FieldAccessExpr) {
+            FieldAccessExpr access = (FieldAccessExpr) expression;
+            String name = access.getNameAsString();
+            if (access.getScope() instanceof ThisExpr) {
+                return enclosingClass(expression).map(type -> fieldValue(qualifiedName(type), name, depth)).orElse(null);
+            }
+            return compilationUnit(expression)
+                .map(cu -> constant(qualifyType(access.getScope().toString(), cu, enclosingClass(expression).orElse(null)) + "." + name, depth))
+                .orElse(null);
+        }
+        if (expression instanceof MethodCallExpr) {
+            return evaluateGetter((MethodCallExpr) expression);
+        }
+        return null;
+    }
+
+    private String evaluateName(String name, Expression expression, int depth) {
+        // Local variable declared in the enclosing method or constructor
+        Optional<CallableDeclaration<?>> body = expression.findAncestor(CallableDeclaration.class)
+            .map(declaration -> (CallableDeclaration<?>) declaration);
+        if (body.isPresent()) {
+            for (VariableDeclarator local : body.get().findAll(VariableDeclarator.class)) {
+                if (local.getNameAsString().equals(name) && !(local.getParentNode().orElse(null) instanceof FieldDeclaration)) {
+                    return local.getInitializer().map(init -> evaluate(init, depth + 1)).orElse(null);
+                }
+            }
+            boolean parameter = body.get().getParameters().stream()
+                .anyMatch(p -> p.getNameAsString().equals(name));
+            if (parameter) {
+                return null;
+            }
+        }
+
+        // Field of the enclosing class or one of its superclasses
+        Optional<TypeDeclaration<?>> type = enclosingClass(expression);
+        if (type.isPresent()) {
+            String value = fieldValue(qualifiedName(type.get()), name, depth);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        // import static com.x.Urls.BASE / com.x.Urls.*
+        Optional<CompilationUnit> cu = compilationUnit(expression);
+        if (cu.isPresent()) {
+            for (ImportDeclaration importDecl : cu.get().getImports()) {
+                if (!importDecl.isStatic()) {
+                    continue;
+                }
+                String imported = importDecl.getNameAsString();
+                String key = importDecl.isAsterisk() ? imported + "." + name
+                    : imported.endsWith("." + name) ? imported : null;
+                String value = key != null ? constant(key, depth) : null;
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * props.getUrl() / this.props.getBaseUrl() on a @ConfigurationProperties bean -> value of prefix.url / prefix.base-url.
+     */
+    private String evaluateGetter(MethodCallExpr call) {
+        String method = call.getNameAsString();
+        if (!call.getArguments().isEmpty() || call.getScope().isEmpty()
+                || !(method.startsWith("get") && method.length() > 3)) {
+            return null;
+        }
+        Expression scope = call.getScope().get();
+        String variable = scope instanceof NameExpr ? ((NameExpr) scope).getNameAsString()
+            : scope instanceof FieldAccessExpr && ((FieldAccessExpr) scope).getScope() instanceof ThisExpr
+                ? ((FieldAccessExpr) scope).getNameAsString() : null;
+        Optional<CompilationUnit> cu = compilationUnit(call);
+        Optional<TypeDeclaration<?>> type = enclosingClass(call);
+        if (variable == null || cu.isEmpty() || type.isEmpty()) {
+            return null;
+        }
+
+        String typeName = declaredType(variable, call, type.get());
+        String prefix = typeName != null ? configurationPrefixes.get(qualifyType(typeName, cu.get(), type.get())) : null;
+        if (prefix == null) {
+            return null;
+        }
+        String property = Character.toLowerCase(method.charAt(3)) + method.substring(4);
+        String value = propertyResolver.apply(prefix + "." + property);
+        if (value == null) {
+            value = propertyResolver.apply(prefix + "." + property.replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase());
+        }
+        return value != null ? placeholderResolver.apply(value) : null;
+    }
+
+    /**
+     * Type of a local variable, parameter or field visible from the given node, as written in the source.
+     */
+    private String declaredType(String variable, Node node, TypeDeclaration<?> type) {
+        Optional<CallableDeclaration<?>> callable = node.findAncestor(CallableDeclaration.class)
+            .map(declaration -> (CallableDeclaration<?>) declaration);
+        if (callable.isPresent()) {
+            for (Parameter parameter : callable.get().getParameters()) {
+                if (parameter.getNameAsString().equals(variable)) {
+                    return rawType(parameter.getType().asString());
+                }
+            }
+            for (VariableDeclarator local : callable.get().findAll(VariableDeclarator.class)) {
+                if (local.getNameAsString().equals(variable)) {
+                    return rawType(local.getType().asString());
+                }
+            }
+        }
+        return type.getFieldByName(variable)
+            .flatMap(field -> field.getVariables().stream().filter(v -> v.getNameAsString().equals(variable)).findFirst())
+            .map(v -> rawType(v.getType().asString()))
+            .orElse(null);
+    }
+
+    private String fieldValue(String className, String field, int depth) {
+        String current = className;
+        for (int level = 0; current != null && level < MAX_DEPTH; level++) {
+            String value = constant(current + "." + field, depth);
+            if (value != null) {
+                return value;
+            }
+            String placeholder = valueFields.get(current + "#" + field);
+            if (placeholder != null) {
+                return placeholderResolver.apply(placeholder);
+            }
+            current = superclasses.get(current);
+        }
+        return null;
+    }
+
+    private String constant(String key, int depth) {
+        List<String> parts = constants.get(key);
+        if (parts == null) {
+            int dot = key.lastIndexOf('.');
+            int classDot = dot > 0 ? key.lastIndexOf('.', dot - 1) : -1;
+            // Simple-name fallback: Urls.BASE when the class could not be qualified from the imports
+            String simpleClass = dot > 0 ? key.substring(classDot + 1, dot) : null;
+            String qualified = simpleClass != null ? simpleClassNames.get(simpleClass) : null;
+            if (qualified == null || qualified.equals(AMBIGUOUS) || qualified.equals(key.substring(0, dot))) {
+                return null;
+            }
+            key = qualified + key.substring(dot);
+            parts = constants.get(key);
+            if (parts == null) {
+                return null;
+            }
+        }
+        Optional<String> cached = resolvedConstants.get(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        if (depth > MAX_DEPTH) {
+            return null; // reference cycle
+        }
+
+        StringBuilder value = new StringBuilder();
+        for (String part : parts) {
+            if (part.startsWith("=")) {
+                value.append(part, 1, part.length());
+                continue;
+            }
+            String resolved = null;
+            for (String candidate : part.split("\\|")) {
+                resolved = constant(candidate, depth + 1);
+                if (resolved != null) {
+                    break;
+                }
+            }
+            if (resolved == null) {
+                resolvedConstants.put(key, Optional.empty());
+                return null;
+            }
+            value.append(resolved);
+        }
+        resolvedConstants.put(key, Optional.of(value.toString()));
+        return value.toString();
+    }
+
+    /**
+     * Initializer as literal parts and constant references, or null when it is not a constant string expression.
+     */
+    private List<String> constantParts(Expression expression, CompilationUnit cu, TypeDeclaration<?> type) {
+        if (expression instanceof StringLiteralExpr) {
+            return List.of("=" + ((StringLiteralExpr) expression).asString());
+        }
+        if (expression instanceof TextBlockLiteralExpr) {
+            return List.of("=" + ((TextBlockLiteralExpr) expression).asString());
+        }
+        if (expression instanceof IntegerLiteralExpr || expression instanceof LongLiteralExpr) {
+            return List.of("=" + ((LiteralStringValueExpr) expression).getValue());
+        }
+        if (expression instanceof EnclosedExpr) {
+            return constantParts(((EnclosedExpr) expression).getInner(), cu, type);
+        }
+        if (expression instanceof BinaryExpr && ((BinaryExpr) expression).getOperator() == BinaryExpr.Operator.PLUS) {
+            List<String> left = constantParts(((BinaryExpr) expression).getLeft(), cu, type);
+            List<String> right = left != null ? constantParts(((BinaryExpr) expression).getRight(), cu, type) : null;
+            if (right == null) {
+                return null;
+            }
+            List<String> parts = new ArrayList<>(left);
+            parts.addAll(right);
+            return parts;
+        }
+        if (expression instanceof NameExpr) {
+            // Same class (or an enclosing one), then static imports
+            String name = ((NameExpr) expression).getNameAsString();
+            List<String> candidates = new ArrayList<>();
+            for (Node node = type; node != null; node = node.getParentNode().orElse(null)) {
+                if (node instanceof TypeDeclaration) {
+                    candidates.add(qualifiedName((TypeDeclaration<?>) node) + "." + name);
+                }
+            }
+            for (ImportDeclaration importDecl : cu.getImports()) {
+                if (importDecl.isStatic()) {
+                    String imported = importDecl.getNameAsString();
+                    if (importDecl.isAsterisk()) {
+                        candidates.add(imported + "." + name);
+                    } else if (imported.endsWith("." + name)) {
+                        candidates.add(imported);
+                    }
+                }
+            }
+            return List.of(String.join("|", candidates));
+        }
+        if (expression instanceof FieldAccessExpr) {
+            FieldAccessExpr access = (FieldAccessExpr) expression;
+            return List.of(qualifyType(access.getScope().toString(), cu, type) + "." + access.getNameAsString());
+        }
+        return null;
+    }
+
+    /**
+     * Qualified name of a type as referenced from a compilation unit: already qualified, nested in the
+     * current type, single-type import, or same package.
+     */
+    private String qualifyType(String typeName, CompilationUnit cu, TypeDeclaration<?> context) {
+        if (typeName.contains(".") && Character.isLowerCase(typeName.charAt(0))) {
+            return typeName;
+        }
+        String first = typeName.contains(".") ? typeName.substring(0, typeName.indexOf('.')) : typeName;
+        String rest = typeName.substring(first.length());
+        if (context != null) {
+            for (Node node = context; node != null; node = node.getParentNode().orElse(null)) {
+                if (node instanceof TypeDeclaration && ((NodeWithSimpleName<?>) node).getNameAsString().equals(first)) {
+                    return qualifiedName((TypeDeclaration<?>) node) + rest;
+                }
+            }
+        }
+        for (ImportDeclaration importDecl : cu.getImports()) {
+            if (!importDecl.isStatic() && !importDecl.isAsterisk() && importDecl.getNameAsString().endsWith("." + first)) {
+                return importDecl.getNameAsString() + rest;
+            }
+        }
+        return cu.getPackageDeclaration().map(pkg -> pkg.getNameAsString() + ".").orElse("") + typeName;
+    }
+
+    private void registerClass(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        simpleClassNames.merge(simpleName, className, (existing, added) -> existing.equals(added) ? existing : AMBIGUOUS);
+    }
+
+    private static String qualifiedName(TypeDeclaration<?> type) {
+        return type.getFullyQualifiedName().orElse(type.getNameAsString());
+    }
+
+    private static Optional<TypeDeclaration<?>> enclosingClass(Node node) {
+        return node.findAncestor(TypeDeclaration.class).map(type -> (TypeDeclaration<?>) type);
+    }
+
+    private static Optional<CompilationUnit> compilationUnit(Node node) {
+        return node.findCompilationUnit();
+    }
+
+    private static String rawType(String type) {
+        int generics = type.indexOf('<');
+        return generics >= 0 ? type.substring(0, generics) : type;
+    }
+
+    /**
+     * @Value("${x}"), @ConfigurationProperties("p") or @ConfigurationProperties(prefix = "p"): first string
+     * found among the given attribute names (or the single member).
+     */
+    private static String annotationAttribute(AnnotationExpr annotation, String... names) {
+        if (annotation instanceof SingleMemberAnnotationExpr) {
+            Expression value = ((SingleMemberAnnotationExpr) annotation).getMemberValue();
+            return value instanceof StringLiteralExpr ? ((StringLiteralExpr) value).asString() : null;
+        }
+        if (annotation instanceof NormalAnnotationExpr) {
+            for (String name : names) {
+                for (MemberValuePair pair : ((NormalAnnotationExpr) annotation).getPairs()) {
+                    if (pair.getNameAsString().equals(name) && pair.getValue() instanceof StringLiteralExpr) {
+                        return ((StringLiteralExpr) pair.getValue()).asString();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public void logSummary() {
+        logger.info("[STATS] Symbol index: {} constants, {} @Value fields, {} @ConfigurationProperties classes",
+            constants.size(), valueFields.size(), configurationPrefixes.size());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.analyzer.scanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Byte-level pre-filter deciding whether a source file is worth parsing.
+ *
+ * The trigger tokens are compiled into one Aho-Corasick automaton (a full 256-column transition
+ * table), so a file is scanned once, byte by byte, whatever the number of
+ * tokens. A file without any token cannot produce a detector hit and is skipped before JavaParser.
+ * Tokens only need to be necessary for a hit, not sufficient: false positives just cost a parse.
+ */
+public final class SourceTriggerFilter {
+
+    private static final int ALPHABET = 256;
+
+    private final int[][] transitions; // state -> byte -> next state
+    private final boolean[] accepting;
+    private final List<String> tokens;
+
+    private SourceTriggerFilter(int[][] transitions, boolean[] accepting, List<String> tokens) {
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.tokens = tokens;
+    }
+
+    public static SourceTriggerFilter of(Collection<String> triggerTokens) {
+        List<byte[]> patterns = new ArrayList<>();
+        Set<String> distinct = new TreeSet<>();
+        for (String token : triggerTokens) {
+            if (token != null && !token.isBlank() && distinct.add(token)) {
+                patterns.add(token.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        // Trie
+        List<int[]> gotos = new ArrayList<>();
+        List<Boolean> outputs = new ArrayList<>();
+        gotos.add(newState());
+        outputs.add(false);
+        for (byte[] pattern : patterns) {
+            int state = 0;
+            for (byte b : pattern) {
+                int symbol = b & 0xff;
+                if (gotos.get(state)[symbol] < 0) {
+                    gotos.get(state)[symbol] = gotos.size();
+                    gotos.add(newState());
+                    outputs.add(false);
+                }
+                state = gotos.get(state)[symbol];
+            }
+            outputs.set(state, true);
+        }
+
+        // Failure links folded into a complete transition table (breadth first)
+        int[][] transitions = gotos.toArray(new int[0][]);
+        boolean[] accepting = new boolean[transitions.length];
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = transitions[0][symbol];
+            if (next < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        accepting[0] = outputs.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] = outputs.get(state) || accepting[failure[state]];
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[next] = transitions[failure[state]][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+        return new SourceTriggerFilter(transitions, accepting, List.copyOf(distinct));
+    }
+
+    /**
+     * True when the bytes contain at least one trigger token, matched case-sensitively.
+     */
+    public boolean matches(byte[] bytes) {
+        int[][] table = transitions;
+        boolean[] done = accepting;
+        int state = 0;
+        for (byte b : bytes) {
+            state = table[state][b & 0xff];
+            if (done[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+}
@@ -1,13 +1,23 @@
 package com.demo.microservices.inventory.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.demo.microservices.inventory.dto.StockUpdateRequest;
+import com.demo.microservices.inventory.event.LowStockEventStream;
 import com.demo.microservices.inventory.model.Inventory;
 import com.demo.microservices.inventory.service.InventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -16,9 +26,39 @@ public class InventoryController {
     @Autowired
     private InventoryService inventoryService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private LowStockEventStream lowStockEventStream;
+    
+    /**
+     * All stock rows as one JSON array when the call has no cursor and no limit, so existing
+     * full-list callers keep working; the rows are streamed as they are read.
+     */
+    @GetMapping(params = {"!cursor", "!limit", "!format"})
+    public ResponseEntity<StreamingResponseBody> listInventory() {
+        return CursorPages.jsonArray(objectMapper, inventoryService::forEachInventory);
+    }
+    
+    /**
+     * Stock levels in id order, {@code limit} rows per call, with X-Next-Cursor and a Link header for
+     * the next page. /low-stock lists only the rows at or below their minimum stock level.
+     */
     @GetMapping
-    public List<Inventory> getAllInventory() {
-        return inventoryService.getAllInventory();
+    public ResponseEntity<List<Inventory>> getAllInventory(@RequestParam(required = false) Long cursor,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = CursorPages.pageSize(limit);
+        return CursorPages.page(inventoryService.getInventoryPage(cursor, pageSize), pageSize, Inventory::getId);
+    }
+    
+    /**
+     * Every stock row as NDJSON (?format=ndjson), one per line, for a stock count against the
+     * warehouse system.
+     */
+    @GetMapping(params = "format=ndjson", produces = CursorPages.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportInventory() {
+        return CursorPages.ndjson(objectMapper, inventoryService::forEachInventory);
     }
     
     @GetMapping("/{id}")
@@ -44,20 +84,49 @@ public class InventoryController {
         return inventoryService.getLowStockItems();
     }
     
+    // Server-sent "low-stock" / "restocked" events as items cross their minimum level
+    @GetMapping(path = "/low-stock/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockEvents() {
+        return lowStockEventStream.subscribe();
+    }
+    
+    @GetMapping("/ledger/hot")
+    public Map<Long, Long> getHotProducts() {
+        return inventoryService.getHotProducts();
+    }
+    
+    // 409 while another instance's hot-stock ledger holds the product; retry once it cools down
     @PostMapping
-    public Inventory createInventory(@RequestBody Inventory inventory) {
-        return inventoryService.saveInventory(inventory);
+    public ResponseEntity<Inventory> createInventory(@RequestBody Inventory inventory) {
+        try {
+            return ResponseEntity.ok(inventoryService.saveInventory(inventory));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
     
     @PutMapping("/{id}/stock")
     public ResponseEntity<Inventory> updateStock(@PathVariable Long id, @RequestBody StockUpdateRequest request) {
-        Inventory updated = inventoryService.updateStock(id, request.getQuantity());
+        Inventory updated;
+        try {
+            updated = inventoryService.updateStock(id, request.getQuantity());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
     }
     
+    // false when out of stock; 503 with the owner's Location while another instance's ledger holds the product
     @PutMapping("/reserve/{productId}/{quantity}")
-    public ResponseEntity<Boolean> reserveStock(@PathVariable Long productId, @PathVariable Integer quantity) {
+    public ResponseEntity<Boolean> reserveStock(@PathVariable Long productId, @PathVariable Integer quantity,
+                                                HttpServletRequest request) {
         boolean reserved = inventoryService.reserveStock(productId, quantity);
+        if (!reserved && quantity != null && quantity > 0 && inventoryService.isHeldByLedgerElsewhere(productId)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .location(inventoryService.ledgerOwnerLocation(request.getRequestURI()))
+                    .body(false);
+        }
         return ResponseEntity.ok(reserved);
     }
 }
\ No newline at end of file
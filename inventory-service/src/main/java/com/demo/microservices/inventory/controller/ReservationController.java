@@ -0,0 +1,128 @@
+package com.demo.microservices.inventory.controller;
+
+import com.demo.microservices.inventory.dto.ReservationRequest;
+import com.demo.microservices.inventory.dto.ReservationResult;
+import com.demo.microservices.inventory.ledger.HotStockLedger;
+import com.demo.microservices.inventory.model.Reservation;
+import com.demo.microservices.inventory.service.ReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Basket reservations: all lines are reserved in one call or none is. A held reservation is later
+ * committed (stock sold) or released (stock returned).
+ */
+@RestController
+@RequestMapping("/api/inventory/reservations")
+public class ReservationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
+    private static final int MAX_LINES = 500;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private HotStockLedger hotStockLedger;
+
+    // 409 when stock is short; 503 with the owner's Location when another instance's ledger holds a line
+    @PostMapping
+    public ResponseEntity<ReservationResult> reserve(@RequestBody ReservationRequest request,
+                                                     HttpServletRequest httpRequest) {
+        if (!isValid(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> productIds = request.getLines().stream().map(ReservationRequest.Line::getProductId).toList();
+        ReservationResult result = hotStockLedger.reserveBasket(productIds,
+                basket -> reservationService.reserve(request.getLines(), basket));
+        if (result.getStatus() == ReservationResult.Status.HELD) {
+            return ResponseEntity.ok(result);
+        }
+        if (result.getLines().stream().anyMatch(line -> line.getStatus() == ReservationResult.LineStatus.HELD_BY_LEDGER)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .location(hotStockLedger.ownerLocation(httpRequest.getRequestURI()))
+                    .body(result);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<Reservation> getReservation(@PathVariable String reservationId) {
+        Reservation reservation = reservationService.getReservation(reservationId);
+        return reservation != null ? ResponseEntity.ok(reservation) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public ResponseEntity<Reservation> commit(@PathVariable String reservationId) {
+        List<Long> productIds = productIds(reservationId);
+        if (productIds == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Reservation committed = hotStockLedger.settle(productIds, givenBack -> reservationService.commit(reservationId));
+            return finished(committed, Reservation.ReservationStatus.COMMITTED);
+        } catch (IllegalStateException e) {
+            return stockMismatch(reservationId, e);
+        }
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<Reservation> release(@PathVariable String reservationId) {
+        List<Long> productIds = productIds(reservationId);
+        if (productIds == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Reservation released = hotStockLedger.settle(productIds,
+                    givenBack -> reservationService.release(reservationId, givenBack));
+            return finished(released, Reservation.ReservationStatus.RELEASED);
+        } catch (IllegalStateException e) {
+            return stockMismatch(reservationId, e);
+        }
+    }
+
+    // Committing or releasing changes the products' rows, so it goes through the ledger too
+    private List<Long> productIds(String reservationId) {
+        Reservation reservation = reservationService.getReservation(reservationId);
+        return reservation == null ? null
+                : reservation.getLines().stream().map(Reservation.Line::getProductId).toList();
+    }
+
+    // 409 with the reservation, still HELD: the stock no longer covers it and nothing was changed
+    private ResponseEntity<Reservation> stockMismatch(String reservationId, IllegalStateException e) {
+        logger.warn("Reservation not finished: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(reservationService.getReservation(reservationId));
+    }
+
+    // 409 when the reservation was already committed or released
+    private static ResponseEntity<Reservation> finished(Reservation reservation, Reservation.ReservationStatus target) {
+        if (reservation == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return reservation.getStatus() == target
+                ? ResponseEntity.ok(reservation)
+                : ResponseEntity.status(HttpStatus.CONFLICT).body(reservation);
+    }
+
+    private static boolean isValid(ReservationRequest request) {
+        if (request == null || request.getLines() == null || request.getLines().isEmpty()
+                || request.getLines().size() > MAX_LINES) {
+            return false;
+        }
+        for (ReservationRequest.Line line : request.getLines()) {
+            if (line == null || line.getProductId() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package com.demo.microservices.inventory.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReservationRequest {
+    private List<Line> lines = new ArrayList<>();
+
+    // Constructors
+    public ReservationRequest() {}
+
+    public ReservationRequest(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    // Getters and Setters
+    public List<Line> getLines() { return lines; }
+    public void setLines(List<Line> lines) { this.lines = lines; }
+
+    public static class Line {
+        private Long productId;
+        private Integer quantity;
+
+        public Line() {}
+
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    }
+}
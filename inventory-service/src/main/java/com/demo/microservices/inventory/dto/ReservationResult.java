@@ -0,0 +1,71 @@
+package com.demo.microservices.inventory.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk reservation: HELD with a reservation id when every line was reserved,
+ * otherwise REJECTED with nothing reserved and the reason per line. HELD_BY_LEDGER lines are not
+ * out of stock: the hot-stock ledger of another instance reserves them, so the basket can be
+ * retried there.
+ */
+public class ReservationResult {
+    private String reservationId;
+    private Status status;
+    private List<LineResult> lines = new ArrayList<>();
+
+    // Constructors
+    public ReservationResult() {}
+
+    public ReservationResult(String reservationId, Status status, List<LineResult> lines) {
+        this.reservationId = reservationId;
+        this.status = status;
+        this.lines = lines;
+    }
+
+    // Getters and Setters
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public List<LineResult> getLines() { return lines; }
+    public void setLines(List<LineResult> lines) { this.lines = lines; }
+
+    public static class LineResult {
+        private Long productId;
+        private Integer quantity;
+        private LineStatus status;
+        private Integer available; // set for INSUFFICIENT_STOCK
+
+        public LineResult() {}
+
+        public LineResult(Long productId, Integer quantity, LineStatus status, Integer available) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.status = status;
+            this.available = available;
+        }
+
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+        public LineStatus getStatus() { return status; }
+        public void setStatus(LineStatus status) { this.status = status; }
+
+        public Integer getAvailable() { return available; }
+        public void setAvailable(Integer available) { this.available = available; }
+    }
+
+    public enum Status {
+        HELD, REJECTED
+    }
+
+    public enum LineStatus {
+        RESERVED, INSUFFICIENT_STOCK, UNKNOWN_PRODUCT, HELD_BY_LEDGER, ROLLED_BACK
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.microservices.inventory.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product's stock crossed its minimum level: {@code lowStock} is true when it dropped to or below
+ * it, false when it was restocked above it.
+ */
+public class LowStockChangedEvent {
+    private final Long productId;
+    private final Integer quantity;
+    private final Integer minStockLevel;
+    private final boolean lowStock;
+    private final LocalDateTime occurredAt;
+
+    public LowStockChangedEvent(Long productId, Integer quantity, Integer minStockLevel, boolean lowStock) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.minStockLevel = minStockLevel;
+        this.lowStock = lowStock;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Long getProductId() { return productId; }
+    public Integer getQuantity() { return quantity; }
+    public Integer getMinStockLevel() { return minStockLevel; }
+    public boolean isLowStock() { return lowStock; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
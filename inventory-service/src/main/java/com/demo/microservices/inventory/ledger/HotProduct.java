@@ -0,0 +1,121 @@
+package com.demo.microservices.inventory.ledger;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Available units of one hot product, split over striped counters so concurrent reservations CAS
+ * different cache lines. A reservation is taken from the caller's own stripe when it can be, and
+ * gathered from several stripes otherwise. No counter ever goes below zero, so units cannot be
+ * oversold. Closing sets every stripe to a negative sentinel: no reservation succeeds afterwards.
+ */
+final class HotProduct {
+
+    static final int RESERVED = 1;
+    static final int INSUFFICIENT = 0;
+    static final int CLOSED = -1;
+
+    // One counter per 64-byte cache line
+    private static final int PAD = 8;
+    private static final long CLOSED_MARK = Long.MIN_VALUE / 2;
+
+    private final Long productId;
+    private final int stripeCount;
+    private final AtomicLongArray stripes;
+
+    // Reservations between taking units and their journal entry becoming durable
+    final LongAdder inFlight = new LongAdder();
+
+    // Consecutive rate samples below the cool-down threshold; only touched by the sampler
+    int coldSamples;
+
+    HotProduct(Long productId, long available, int stripeCount) {
+        this.productId = productId;
+        this.stripeCount = stripeCount;
+        this.stripes = new AtomicLongArray(stripeCount * PAD);
+        long share = available / stripeCount;
+        long rest = available % stripeCount;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.set(i * PAD, share + (i < rest ? 1 : 0));
+        }
+    }
+
+    Long getProductId() { return productId; }
+
+    int tryTake(int quantity) {
+        int home = home();
+        for (int i = 0; i < stripeCount; i++) {
+            int index = ((home + i) % stripeCount) * PAD;
+            long current;
+            while ((current = stripes.get(index)) >= quantity) {
+                if (stripes.compareAndSet(index, current, current - quantity)) {
+                    return RESERVED;
+                }
+            }
+            if (current < 0) {
+                return CLOSED;
+            }
+        }
+        long total = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            long current = stripes.get(i * PAD);
+            if (current < 0) {
+                return CLOSED;
+            }
+            total += current;
+        }
+        return total >= quantity ? gather(quantity) : INSUFFICIENT;
+    }
+
+    /**
+     * Returns units taken by a reservation that did not go through. Lost if the product was closed
+     * meanwhile, which is harmless: the database is authoritative again by then.
+     */
+    void giveBack(long quantity) {
+        stripes.getAndAdd(home() * PAD, quantity);
+    }
+
+    void close() {
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.getAndSet(i * PAD, CLOSED_MARK);
+        }
+    }
+
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            total += Math.max(0, stripes.get(i * PAD));
+        }
+        return total;
+    }
+
+    // Stock split over several stripes: one gatherer at a time, single-stripe takers keep going
+    private synchronized int gather(int quantity) {
+        long taken = 0;
+        for (int i = 0; i < stripeCount && taken < quantity; i++) {
+            int index = i * PAD;
+            long current;
+            while ((current = stripes.get(index)) > 0) {
+                long take = Math.min(current, quantity - taken);
+                if (stripes.compareAndSet(index, current, current - take)) {
+                    taken += take;
+                    break;
+                }
+            }
+            if (current < 0) {
+                giveBack(taken);
+                return CLOSED;
+            }
+        }
+        if (taken == quantity) {
+            return RESERVED;
+        }
+        giveBack(taken);
+        return INSUFFICIENT;
+    }
+
+    // Pool threads are long-lived, so the thread id keeps each caller on the same stripe
+    private int home() {
+        return (int) (Thread.currentThread().getId() % stripeCount);
+    }
+}
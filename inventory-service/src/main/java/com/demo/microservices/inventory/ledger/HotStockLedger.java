@@ -0,0 +1,605 @@
+package com.demo.microservices.inventory.ledger;
+
+import com.demo.microservices.inventory.model.Inventory;
+import com.demo.microservices.inventory.model.LedgerCheckpoint;
+import com.demo.microservices.inventory.repository.InventoryRepository;
+import com.demo.microservices.inventory.repository.LedgerCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentHashMap.KeySetView;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Optional in-memory reservation engine for hot products (inventory.ledger.enabled). Reserve calls
+ * are counted per product; once a product gets hot-threshold calls per second it is promoted: its
+ * available units move into a {@link HotProduct} and reservations become lock-free CAS operations,
+ * persisted through the {@link ReservationJournal}. A product that stays below half the threshold
+ * for cool-down-seconds is demoted and the database is authoritative for it again.
+ *
+ * Promotion and demotion hold a per-product gate exclusively; everything else that touches the
+ * stock of a product holds it shared, so the in-memory count and the table never both accept
+ * reservations for the same product. Basket reservations ({@link #reserveBasket}) take hot lines
+ * from the in-memory counts, and commits and releases ({@link #settle}) keep hot products hot;
+ * only stock writes ({@link #guard}) demote them.
+ *
+ * Other inventory-service instances do not see that gate, so a promoted product is also marked
+ * ledger_held in its row: database reservations skip held rows on every instance, and stock writes
+ * through {@link #guardRow} are refused for them. Those instances tell such a product apart from a
+ * stock-out ({@link #isHeldElsewhere}) and send the caller to the owner ({@link #ownerLocation}).
+ * Only one instance can run the ledger: it owns the ledger_checkpoint row (inventory.ledger.instance-id,
+ * which must survive restarts together with the journal directory), and a second one with the
+ * ledger enabled fails to start.
+ */
+@Component
+public class HotStockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockLedger.class);
+    private static final int GATES = 64;
+
+    private final InventoryRepository inventoryRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId;
+    private final String advertisedUrl;
+    private final boolean enabled;
+    private final long hotThreshold;
+    private final int maxHotProducts;
+    private final int coolDownSeconds;
+    private final int stripes;
+    private final ReservationJournal journal; // null while disabled
+
+    private final ConcurrentHashMap<Long, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, HotProduct> hotProducts = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock[] gates = new ReentrantReadWriteLock[GATES];
+    // Demoted products whose ledger_held mark could not be cleared yet; retried by the sampler
+    private final KeySetView<Long, Boolean> staleHolds = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService sampler;
+    private boolean owner;
+
+    public HotStockLedger(InventoryRepository inventoryRepository,
+                          LedgerCheckpointRepository checkpointRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.ledger.enabled:false}") boolean enabled,
+                          @Value("${inventory.ledger.instance-id:}") String instanceId,
+                          @Value("${inventory.ledger.advertised-url:}") String advertisedUrl,
+                          @Value("${server.port:8080}") int serverPort,
+                          @Value("${inventory.ledger.hot-threshold:500}") long hotThreshold,
+                          @Value("${inventory.ledger.max-hot-products:64}") int maxHotProducts,
+                          @Value("${inventory.ledger.cool-down-seconds:10}") int coolDownSeconds,
+                          @Value("${inventory.ledger.stripes:16}") int stripes,
+                          @Value("${inventory.ledger.journal-dir:}") String journalDir,
+                          @Value("${inventory.ledger.flush-interval-ms:2}") long flushIntervalMs,
+                          @Value("${inventory.ledger.max-batch:4096}") int maxBatch,
+                          @Value("${inventory.ledger.journal-max-bytes:67108864}") long journalMaxBytes) {
+        this.inventoryRepository = inventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.instanceId = instanceId.isBlank() ? hostName() + ":" + journalDir : instanceId;
+        this.advertisedUrl = advertisedUrl.isBlank() ? "http://" + hostName() + ":" + serverPort : advertisedUrl;
+        this.enabled = enabled;
+        this.hotThreshold = hotThreshold;
+        this.maxHotProducts = maxHotProducts;
+        this.coolDownSeconds = coolDownSeconds;
+        this.stripes = stripes;
+        this.journal = enabled
+                ? new ReservationJournal(journalDirectory(journalDir), flushIntervalMs, maxBatch, journalMaxBytes,
+                        inventoryRepository, checkpointRepository, transactionTemplate)
+                : null;
+        for (int i = 0; i < GATES; i++) {
+            gates[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    // A disabled instance leaves the ledger state alone: only the owner can replay its journal
+    @PostConstruct
+    public void start() throws IOException {
+        String current = checkpointRepository.findById(LedgerCheckpoint.SINGLETON_ID)
+                .map(LedgerCheckpoint::getOwner)
+                .orElse(null);
+        if (!enabled) {
+            if (instanceId.equals(current)) {
+                logger.warn("Hot-stock ledger disabled, but {} still owns it: its journal may not be applied."
+                        + " Its products stay held until the ledger is enabled here again", instanceId);
+            } else if (current != null) {
+                logger.info("Hot-stock ledger runs on {}; products it holds are not reserved here", current);
+            }
+            return;
+        }
+        if (current != null && !current.equals(instanceId)) {
+            throw new IllegalStateException("inventory.ledger.enabled on more than one instance: the ledger"
+                    + " belongs to " + current + ". Enable it on that instance only, or stop it first");
+        }
+        claimOwnership();
+        journal.recover();
+        // Whatever this instance held before is in the table now
+        inventoryRepository.releaseAllLedgerHolds();
+        journal.start();
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-ledger-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        if (journal == null) {
+            return;
+        }
+        journal.stop();
+        if (!owner) {
+            return;
+        }
+        if (!journal.isApplied()) {
+            // Holds and ownership stay, so no instance reserves against the missing entries
+            logger.warn("Reservation journal not fully applied; it is replayed when {} starts again", instanceId);
+            return;
+        }
+        inventoryRepository.releaseAllLedgerHolds();
+        disown();
+    }
+
+    /**
+     * Reserves in memory when the product is hot, otherwise through {@code database} while no
+     * promotion can start. A hot product answers from its counters even when they say no: the
+     * database lags behind them and must not be asked.
+     */
+    public boolean reserve(Long productId, int quantity, BooleanSupplier database) {
+        if (!enabled) {
+            return database.getAsBoolean();
+        }
+        countRequest(productId);
+        while (true) {
+            HotProduct hot = hotProducts.get(productId);
+            if (hot != null) {
+                Boolean reserved = reserveInMemory(hot, quantity);
+                if (reserved != null) {
+                    return reserved;
+                }
+            }
+            // Not hot, or being demoted: the gate waits out the demotion
+            Lock gate = gate(productId).readLock();
+            gate.lock();
+            try {
+                if (!hotProducts.containsKey(productId)) {
+                    return database.getAsBoolean();
+                }
+            } finally {
+                gate.unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs a basket reservation. The action gets a {@link Basket}: it takes the lines of hot products
+     * from their in-memory counts and reserves the others through the table, in one transaction that
+     * calls {@link Basket#journal} before saving the reservation. Unless the action returns with
+     * every taken unit journaled, the units are given back. No product can be promoted or demoted
+     * until the action (and its transaction) has finished.
+     */
+    public <T> T reserveBasket(Collection<Long> productIds, Function<Basket, T> reservation) {
+        Basket basket = new Basket();
+        if (!enabled) {
+            return reservation.apply(basket);
+        }
+        productIds.stream().filter(Objects::nonNull).forEach(this::countRequest);
+        ArrayList<Lock> held = lockShared(productIds);
+        boolean kept = false;
+        try {
+            T result = reservation.apply(basket);
+            kept = basket.journaled.equals(basket.taken);
+            return result;
+        } finally {
+            if (!kept) {
+                basket.giveBack();
+            }
+            unlock(held);
+        }
+    }
+
+    /**
+     * Runs the commit or release of a held reservation without demoting its products. Reservations
+     * of hot products are written behind, so the action only starts once every journaled one is in
+     * the table. A commit leaves the available stock as it is; the action reports each line a
+     * release gave back to the table, and hot products get those units back in memory once the
+     * action (and its transaction) has finished.
+     */
+    public <T> T settle(Collection<Long> productIds, Function<BiConsumer<Long, Integer>, T> action) {
+        if (!enabled) {
+            return action.apply((productId, quantity) -> { });
+        }
+        ArrayList<Lock> held = lockShared(productIds);
+        try {
+            if (productIds.stream().filter(Objects::nonNull).anyMatch(hotProducts::containsKey)) {
+                journal.awaitApplied(journal.durableSeq());
+            }
+            Map<Long, Integer> released = new TreeMap<>();
+            T result = action.apply((productId, quantity) -> released.merge(productId, quantity, Integer::sum));
+            released.forEach((productId, quantity) -> {
+                HotProduct hot = hotProducts.get(productId);
+                if (hot != null) {
+                    hot.giveBack(quantity);
+                }
+            });
+            return result;
+        } finally {
+            unlock(held);
+        }
+    }
+
+    /**
+     * Runs a database write that changes the available stock of the given products: any of them
+     * that is hot is demoted first, and none can be promoted until the action (and the transaction
+     * it runs) has finished.
+     */
+    public <T> T guard(Collection<Long> productIds, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        ArrayList<Lock> held;
+        while (true) {
+            productIds.stream().filter(Objects::nonNull).forEach(this::demote);
+            held = lockShared(productIds);
+            if (productIds.stream().filter(Objects::nonNull).noneMatch(hotProducts::containsKey)) {
+                break;
+            }
+            unlock(held);
+        }
+        try {
+            return action.get();
+        } finally {
+            unlock(held);
+        }
+    }
+
+    /**
+     * {@link #guard} for a write to one product's row, in a transaction that locks the row first:
+     * refused with an IllegalStateException while the ledger holds the product on another instance,
+     * and the ledger cannot take the product until the write has committed.
+     */
+    public <T> T guardRow(Long productId, Supplier<T> write) {
+        return guard(Collections.singletonList(productId), () -> transactionTemplate.execute(status -> {
+            Inventory locked = inventoryRepository.findByProductIdForUpdate(productId);
+            if (locked != null && locked.isLedgerHeld()) {
+                throw new IllegalStateException("Product " + productId + " is reserved in memory by the"
+                        + " hot-stock ledger of another instance");
+            }
+            return write.get();
+        }));
+    }
+
+    /**
+     * True when the ledger of another instance holds the product: it is reserved on that instance
+     * only, so a refused reservation here says nothing about its stock.
+     */
+    public boolean isHeldElsewhere(Long productId) {
+        if (hotProducts.containsKey(productId)) {
+            return false;
+        }
+        Inventory inventory = inventoryRepository.findByProductId(productId);
+        return inventory != null && inventory.isLedgerHeld();
+    }
+
+    /**
+     * The given request path on the instance that owns the ledger (inventory.ledger.advertised-url),
+     * or null when no instance owns it.
+     */
+    public URI ownerLocation(String path) {
+        return checkpointRepository.findById(LedgerCheckpoint.SINGLETON_ID)
+                .map(LedgerCheckpoint::getOwnerUrl)
+                .map(url -> UriComponentsBuilder.fromHttpUrl(url).path(path).build(true).toUri())
+                .orElse(null);
+    }
+
+    /**
+     * Hot products and the units each still has available in memory.
+     */
+    public Map<Long, Long> getHotProducts() {
+        Map<Long, Long> available = new TreeMap<>();
+        hotProducts.forEach((productId, hot) -> available.put(productId, hot.available()));
+        return available;
+    }
+
+    private Boolean reserveInMemory(HotProduct hot, int quantity) {
+        hot.inFlight.increment();
+        try {
+            int outcome = hot.tryTake(quantity);
+            if (outcome == HotProduct.CLOSED) {
+                return null;
+            }
+            if (outcome == HotProduct.INSUFFICIENT) {
+                return false;
+            }
+            try {
+                journal.append(hot.getProductId(), quantity).join();
+            } catch (CompletionException e) {
+                hot.giveBack(quantity);
+                throw new IllegalStateException("Reservation journal unavailable", e.getCause());
+            }
+            return true;
+        } finally {
+            hot.inFlight.decrement();
+        }
+    }
+
+    private void countRequest(Long productId) {
+        LongAdder count = requestCounts.get(productId);
+        if (count == null) {
+            count = requestCounts.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    // Once a second: the count since the last sample is the request rate
+    private void sample() {
+        try {
+            staleHolds.removeIf(this::releaseHold);
+            if (journal.isBroken()) {
+                hotProducts.keySet().forEach(this::demote);
+                return;
+            }
+            for (Map.Entry<Long, LongAdder> entry : requestCounts.entrySet()) {
+                Long productId = entry.getKey();
+                long rate = entry.getValue().sumThenReset();
+                HotProduct hot = hotProducts.get(productId);
+                if (hot == null) {
+                    if (rate == 0) {
+                        requestCounts.remove(productId, entry.getValue());
+                    } else if (rate >= hotThreshold && hotProducts.size() < maxHotProducts) {
+                        promote(productId);
+                    }
+                } else if (rate * 2 < hotThreshold) {
+                    if (++hot.coldSamples >= coolDownSeconds) {
+                        demote(productId);
+                    }
+                } else {
+                    hot.coldSamples = 0;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Hot-stock ledger sampling failed: {}", e.getMessage());
+        }
+    }
+
+    private void promote(Long productId) {
+        Lock gate = gate(productId).writeLock();
+        gate.lock();
+        try {
+            if (hotProducts.containsKey(productId)) {
+                return;
+            }
+            // Once held, no instance reserves it through the table, so this is the exact available count
+            if (!staleHolds.remove(productId) && inventoryRepository.holdForLedger(productId) != 1) {
+                return;
+            }
+            Inventory inventory;
+            try {
+                inventory = inventoryRepository.findByProductId(productId);
+            } catch (RuntimeException e) {
+                if (!releaseHold(productId)) {
+                    staleHolds.add(productId);
+                }
+                throw e;
+            }
+            if (inventory == null) {
+                return;
+            }
+            hotProducts.put(productId, new HotProduct(productId, Math.max(0, inventory.getAvailableQuantity()), stripes));
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    /**
+     * Stops in-memory reservations for the product and waits until every one already taken is in
+     * the database; the product is then no longer hot.
+     */
+    private void demote(Long productId) {
+        if (!hotProducts.containsKey(productId)) {
+            return;
+        }
+        Lock gate = gate(productId).writeLock();
+        gate.lock();
+        try {
+            HotProduct hot = hotProducts.get(productId);
+            if (hot == null) {
+                return;
+            }
+            hot.close();
+            while (hot.inFlight.sum() > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+            journal.awaitApplied(journal.durableSeq());
+            if (!releaseHold(productId)) {
+                staleHolds.add(productId);
+            }
+            hotProducts.remove(productId);
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    private boolean releaseHold(Long productId) {
+        try {
+            inventoryRepository.releaseLedgerHold(productId);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not release the ledger hold on product {}: {}", productId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void claimOwnership() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!checkpointRepository.existsById(LedgerCheckpoint.SINGLETON_ID)) {
+                checkpointRepository.save(new LedgerCheckpoint(0L));
+            }
+            if (checkpointRepository.claim(LedgerCheckpoint.SINGLETON_ID, instanceId, advertisedUrl) != 1) {
+                throw new IllegalStateException("inventory.ledger.enabled on more than one instance: another"
+                        + " instance took the ledger while " + instanceId + " was starting");
+            }
+        });
+        owner = true;
+        logger.info("Hot-stock ledger enabled on {}", instanceId);
+    }
+
+    private void disown() {
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.disown(LedgerCheckpoint.SINGLETON_ID, instanceId));
+        owner = false;
+    }
+
+    // The journal is the ledger's state: a relative directory would move with the working directory
+    private static Path journalDirectory(String journalDir) {
+        if (journalDir.isBlank() || !Paths.get(journalDir).isAbsolute()) {
+            throw new IllegalStateException("inventory.ledger.enabled needs inventory.ledger.journal-dir set to"
+                    + " an absolute path that survives restarts, got '" + journalDir + "'");
+        }
+        return Paths.get(journalDir).normalize();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "localhost";
+        }
+    }
+
+    private ReentrantReadWriteLock gate(Long productId) {
+        return gates[gateIndex(productId)];
+    }
+
+    private static int gateIndex(Long productId) {
+        return Math.floorMod(productId.hashCode(), GATES);
+    }
+
+    // Gate order is fixed, so two callers locking several gates cannot wait on each other
+    private ArrayList<Lock> lockShared(Collection<Long> productIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        productIds.stream().filter(Objects::nonNull).forEach(id -> indexes.add(gateIndex(id)));
+        ArrayList<Lock> held = new ArrayList<>();
+        for (int index : indexes) {
+            Lock lock = gates[index].readLock();
+            lock.lock();
+            held.add(lock);
+        }
+        return held;
+    }
+
+    private static void unlock(ArrayList<Lock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+        held.clear();
+    }
+
+    /**
+     * Units a basket reservation took from in-memory counts. Used by one thread, inside
+     * {@link #reserveBasket}, while the gates of its products are held.
+     */
+    public final class Basket {
+
+        private final Map<Long, Integer> taken = new TreeMap<>();
+        private final Map<Long, Integer> journaled = new TreeMap<>();
+
+        private Basket() {}
+
+        public boolean isHot(Long productId) {
+            return enabled && hotProducts.containsKey(productId);
+        }
+
+        /**
+         * Takes units of a hot product from its in-memory count; false when it has fewer available.
+         */
+        public boolean take(Long productId, int quantity) {
+            if (hotProducts.get(productId).tryTake(quantity) != HotProduct.RESERVED) {
+                return false;
+            }
+            taken.merge(productId, quantity, Integer::sum);
+            return true;
+        }
+
+        public long available(Long productId) {
+            HotProduct hot = hotProducts.get(productId);
+            return hot == null ? 0 : hot.available();
+        }
+
+        /**
+         * Makes the units taken so far durable; throws IllegalStateException when the journal is
+         * unavailable.
+         */
+        public void journal() {
+            Map<Long, CompletableFuture<Void>> appends = new TreeMap<>();
+            taken.forEach((productId, quantity) -> {
+                if (!journaled.containsKey(productId)) {
+                    appends.put(productId, journal.append(productId, quantity));
+                }
+            });
+            IllegalStateException failure = null;
+            for (Map.Entry<Long, CompletableFuture<Void>> append : appends.entrySet()) {
+                try {
+                    append.getValue().join();
+                    journaled.put(append.getKey(), taken.get(append.getKey()));
+                } catch (CompletionException e) {
+                    failure = new IllegalStateException("Reservation journal unavailable", e.getCause());
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        // A journaled line is cancelled in the journal first; if that fails it stays reserved in the table too
+        private void giveBack() {
+            taken.forEach((productId, quantity) -> {
+                if (journaled.containsKey(productId)) {
+                    try {
+                        journal.append(productId, -quantity).join();
+                    } catch (CompletionException e) {
+                        logger.warn("Could not cancel {} journaled units of product {}; they stay reserved",
+                                quantity, productId);
+                        return;
+                    }
+                }
+                hotProducts.get(productId).giveBack(quantity);
+            });
+        }
+    }
+}
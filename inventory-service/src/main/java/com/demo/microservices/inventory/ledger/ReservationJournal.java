@@ -0,0 +1,322 @@
+package com.demo.microservices.inventory.ledger;
+
+import com.demo.microservices.inventory.model.LedgerCheckpoint;
+import com.demo.microservices.inventory.repository.InventoryRepository;
+import com.demo.microservices.inventory.repository.LedgerCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of in-memory reservations, written by a single thread. Entries queued while
+ * the previous batch was being written go out as one write and one fsync (group commit); a
+ * reservation is acknowledged only once its entry is durable. Durable entries are then added to
+ * the inventory table, summed per product, in one transaction that also records the last applied
+ * sequence number. On startup, entries past that checkpoint are replayed, so every journaled
+ * reservation reaches the database exactly once even if the process died in between.
+ *
+ * Line format: {@code <seq> <productId> <quantity>\n}. A line without its newline is the torn tail
+ * of a batch that was never acknowledged and is skipped.
+ */
+final class ReservationJournal implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationJournal.class);
+    private static final String FILE_NAME = "reservations.journal";
+    private static final long APPLY_RETRY_MS = 500;
+
+    private final Path file;
+    private final long flushIntervalMs;
+    private final int maxBatch;
+    private final long maxBytes;
+    private final InventoryRepository inventoryRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+
+    // Writer thread only
+    private final Map<Long, Integer> unapplied = new TreeMap<>();
+    private FileChannel channel;
+    private long lastSeq;
+    private long applyRetryAt;
+
+    private volatile long durableSeq;
+    private volatile boolean running;
+    private volatile boolean broken;
+    private long appliedSeq; // guarded by this
+    private Thread writer;
+
+    ReservationJournal(Path directory, long flushIntervalMs, int maxBatch, long maxBytes,
+                       InventoryRepository inventoryRepository,
+                       LedgerCheckpointRepository checkpointRepository,
+                       TransactionTemplate transactionTemplate) {
+        this.file = directory.resolve(FILE_NAME);
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatch = maxBatch;
+        this.maxBytes = maxBytes;
+        this.inventoryRepository = inventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Applies whatever a previous run journaled but did not get into the database, then empties
+     * the journal. Safe to call when there is no journal.
+     */
+    void recover() throws IOException {
+        long applied = checkpointRepository.findById(LedgerCheckpoint.SINGLETON_ID)
+                .map(LedgerCheckpoint::getAppliedSeq)
+                .orElse(0L);
+        long last = applied;
+        Map<Long, Integer> pending = new TreeMap<>();
+        int replayed = 0;
+        if (Files.exists(file)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                StringBuilder line = new StringBuilder();
+                int b;
+                while ((b = in.read()) != -1) {
+                    if (b != '\n') {
+                        line.append((char) b);
+                        continue;
+                    }
+                    long[] fields = parse(line);
+                    line.setLength(0);
+                    if (fields == null) {
+                        continue;
+                    }
+                    if (fields[0] > applied) {
+                        pending.merge(fields[1], (int) fields[2], Integer::sum);
+                        replayed++;
+                    }
+                    last = Math.max(last, fields[0]);
+                }
+            }
+        }
+        if (last > applied) {
+            apply(pending, last);
+        }
+        if (replayed > 0) {
+            logger.info("Reservation journal: replayed {} entries up to seq {}", replayed, last);
+        }
+        Files.deleteIfExists(file);
+        lastSeq = last;
+        durableSeq = last;
+        synchronized (this) {
+            appliedSeq = last;
+        }
+    }
+
+    void start() throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        running = true;
+        writer = new Thread(this, "inventory-ledger-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes out and applies everything queued so far, then closes the journal.
+     */
+    void stop() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            entry.durable.completeExceptionally(new IllegalStateException("Reservation journal stopped"));
+        }
+        channel.close();
+    }
+
+    /**
+     * Queues one reservation; the future completes once it is on disk.
+     */
+    CompletableFuture<Void> append(Long productId, int quantity) {
+        Entry entry = new Entry(productId, quantity);
+        if (!running || broken) {
+            entry.durable.completeExceptionally(new IllegalStateException("Reservation journal unavailable"));
+        } else {
+            queue.add(entry);
+        }
+        return entry.durable;
+    }
+
+    long durableSeq() {
+        return durableSeq;
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    // Every durable entry is in the database, so nothing is left to replay
+    synchronized boolean isApplied() {
+        return appliedSeq >= durableSeq;
+    }
+
+    // Uninterruptible: a demotion that gave up halfway would leave its product closed for good
+    synchronized void awaitApplied(long seq) {
+        boolean interrupted = false;
+        while (appliedSeq < seq) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                applyPending(false);
+                compact();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        applyPending(true);
+    }
+
+    private void write(List<Entry> batch) {
+        StringBuilder text = new StringBuilder(batch.size() * 24);
+        long seq = lastSeq;
+        for (Entry entry : batch) {
+            text.append(++seq).append(' ').append(entry.productId).append(' ').append(entry.quantity).append('\n');
+        }
+        long position = -1;
+        try {
+            position = channel.position();
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            logger.error("Reservation journal write failed: {}", e.getMessage());
+            discard(position);
+            batch.forEach(entry -> entry.durable.completeExceptionally(e));
+            return;
+        }
+        lastSeq = seq;
+        for (Entry entry : batch) {
+            unapplied.merge(entry.productId, entry.quantity, Integer::sum);
+        }
+        durableSeq = seq;
+        batch.forEach(entry -> entry.durable.complete(null));
+    }
+
+    // Cuts a failed batch off the file; if even that fails, later entries could not be trusted
+    private void discard(long position) {
+        try {
+            if (position < 0) {
+                throw new IOException("unknown journal position");
+            }
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            logger.error("Reservation journal unusable, in-memory reservations stop: {}", e.getMessage());
+            broken = true;
+        }
+    }
+
+    private void applyPending(boolean force) {
+        if (unapplied.isEmpty() || (!force && System.currentTimeMillis() < applyRetryAt)) {
+            return;
+        }
+        long upTo = lastSeq;
+        try {
+            apply(unapplied, upTo);
+        } catch (RuntimeException e) {
+            // Still in the journal: retried here, or replayed on the next start
+            logger.warn("Reservation journal apply failed, retrying: {}", e.getMessage());
+            applyRetryAt = System.currentTimeMillis() + APPLY_RETRY_MS;
+            return;
+        }
+        unapplied.clear();
+        synchronized (this) {
+            appliedSeq = upTo;
+            notifyAll();
+        }
+    }
+
+    // Once everything in the file is in the database, the file can start over
+    private void compact() {
+        try {
+            if (unapplied.isEmpty() && channel.size() > maxBytes) {
+                channel.truncate(0);
+            }
+        } catch (IOException e) {
+            logger.error("Reservation journal unusable, in-memory reservations stop: {}", e.getMessage());
+            broken = true;
+        }
+    }
+
+    // Product rows in id order, as everywhere else, so this never deadlocks with a bulk reservation
+    private void apply(Map<Long, Integer> quantities, long upTo) {
+        transactionTemplate.executeWithoutResult(status -> {
+            quantities.forEach(inventoryRepository::addReserved);
+            LedgerCheckpoint checkpoint = checkpointRepository.findById(LedgerCheckpoint.SINGLETON_ID)
+                    .orElseGet(() -> new LedgerCheckpoint(upTo));
+            checkpoint.setAppliedSeq(upTo);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+
+    private static long[] parse(CharSequence line) {
+        String[] fields = line.toString().split(" ");
+        if (fields.length != 3) {
+            return null;
+        }
+        try {
+            return new long[] { Long.parseLong(fields[0]), Long.parseLong(fields[1]), Integer.parseInt(fields[2]) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        final Long productId;
+        final int quantity;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Entry(Long productId, int quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.demo.microservices.inventory.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
+// Stock updates write only the changed columns, so they cannot overwrite a concurrent reservation
 @Entity
-@Table(name = "inventory")
+@DynamicUpdate
+@Table(name = "inventory", indexes = @Index(name = "idx_inventory_low_stock", columnList = "low_stock"))
 public class Inventory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +23,18 @@ public class Inventory {
     private Integer reservedQuantity;
     private Integer minStockLevel;
     private LocalDateTime lastUpdated;
+    
+    // quantity <= minStockLevel, kept in step by the setters so low-stock lookups use the index.
+    // Derived only: ignored in request bodies and recomputed before every write
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "low_stock", nullable = false)
+    private boolean lowStock;
+    
+    // Set while the hot-stock ledger reserves the product in memory; only its own queries write it
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "ledger_held", insertable = false, updatable = false,
+            columnDefinition = "boolean default false not null")
+    private boolean ledgerHeld;
 
     // Constructors
     public Inventory() {
@@ -31,6 +47,7 @@ public class Inventory {
         this.productId = productId;
         this.quantity = quantity;
         this.minStockLevel = minStockLevel;
+        updateLowStock();
     }
 
     // Getters and Setters
@@ -44,13 +61,17 @@ public class Inventory {
     public void setQuantity(Integer quantity) { 
         this.quantity = quantity;
         this.lastUpdated = LocalDateTime.now();
+        updateLowStock();
     }
     
     public Integer getReservedQuantity() { return reservedQuantity; }
     public void setReservedQuantity(Integer reservedQuantity) { this.reservedQuantity = reservedQuantity; }
     
     public Integer getMinStockLevel() { return minStockLevel; }
-    public void setMinStockLevel(Integer minStockLevel) { this.minStockLevel = minStockLevel; }
+    public void setMinStockLevel(Integer minStockLevel) { 
+        this.minStockLevel = minStockLevel;
+        updateLowStock();
+    }
     
     public LocalDateTime getLastUpdated() { return lastUpdated; }
     public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
@@ -60,6 +81,16 @@ public class Inventory {
     }
     
     public boolean isLowStock() {
-        return quantity <= minStockLevel;
+        return lowStock;
+    }
+    
+    public boolean isLedgerHeld() {
+        return ledgerHeld;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    private void updateLowStock() {
+        this.lowStock = quantity != null && minStockLevel != null && quantity <= minStockLevel;
     }
 }
\ No newline at end of file
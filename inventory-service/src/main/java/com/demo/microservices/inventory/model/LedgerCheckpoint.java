@@ -0,0 +1,46 @@
+package com.demo.microservices.inventory.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Last reservation-journal sequence number whose effect is in the inventory table. Written in the
+ * same transaction as the stock it covers, so journal replay after a crash applies each entry once.
+ * The owner is the one instance whose ledger, and journal, this is; ownerUrl is where other
+ * instances send callers for the products it holds.
+ */
+@Entity
+@Table(name = "ledger_checkpoint")
+public class LedgerCheckpoint {
+    public static final Integer SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long appliedSeq;
+
+    private String owner;
+
+    private String ownerUrl;
+
+    // Constructors
+    public LedgerCheckpoint() {}
+
+    public LedgerCheckpoint(Long appliedSeq) {
+        this.id = SINGLETON_ID;
+        this.appliedSeq = appliedSeq;
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Long getAppliedSeq() { return appliedSeq; }
+    public void setAppliedSeq(Long appliedSeq) { this.appliedSeq = appliedSeq; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public String getOwnerUrl() { return ownerUrl; }
+    public void setOwnerUrl(String ownerUrl) { this.ownerUrl = ownerUrl; }
+}
@@ -0,0 +1,74 @@
+package com.demo.microservices.inventory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "reservations")
+public class Reservation {
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<Line> lines = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public Reservation() {
+        this.createdAt = LocalDateTime.now();
+        this.status = ReservationStatus.HELD;
+    }
+
+    public Reservation(String id, List<Line> lines) {
+        this();
+        this.id = id;
+        this.lines = lines;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public ReservationStatus getStatus() { return status; }
+    public void setStatus(ReservationStatus status) { this.status = status; }
+
+    public List<Line> getLines() { return lines; }
+    public void setLines(List<Line> lines) { this.lines = lines; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Embeddable
+    public static class Line {
+        @Column(nullable = false)
+        private Long productId;
+
+        @Column(nullable = false)
+        private Integer quantity;
+
+        public Line() {}
+
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    }
+
+    public enum ReservationStatus {
+        HELD, COMMITTED, RELEASED
+    }
+}
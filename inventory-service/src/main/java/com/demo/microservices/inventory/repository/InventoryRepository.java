@@ -1,16 +1,90 @@
 package com.demo.microservices.inventory.repository;
 
 import com.demo.microservices.inventory.model.Inventory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Inventory findByProductId(Long productId);
     
-    @Query("SELECT i FROM Inventory i WHERE i.quantity <= i.minStockLevel")
+    // Reads the indexed low_stock flag; comparing quantity with minStockLevel would scan every row
+    @Query("SELECT i FROM Inventory i WHERE i.lowStock = true ORDER BY i.id")
     List<Inventory> findLowStockItems();
+    
+    // Check and increment in one statement, so concurrent reservations cannot oversell; 1 = reserved.
+    // A product the hot-stock ledger holds is reserved from its in-memory count only, on any instance
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inventory i SET i.reservedQuantity = COALESCE(i.reservedQuantity, 0) + :quantity " +
+           "WHERE i.productId = :productId AND i.ledgerHeld = false " +
+           "AND i.quantity - COALESCE(i.reservedQuantity, 0) >= :quantity")
+    int reserve(@Param("productId") Long productId, @Param("quantity") int quantity);
+    
+    // Locks the row for the rest of the transaction, so the ledger cannot take the product meanwhile
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId = :productId")
+    Inventory findByProductIdForUpdate(@Param("productId") Long productId);
+    
+    // 1 = the ledger now holds the product; waits for writes in flight on the row to commit
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inventory i SET i.ledgerHeld = true WHERE i.productId = :productId AND i.ledgerHeld = false")
+    int holdForLedger(@Param("productId") Long productId);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inventory i SET i.ledgerHeld = false WHERE i.productId = :productId")
+    int releaseLedgerHold(@Param("productId") Long productId);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Inventory i SET i.ledgerHeld = false WHERE i.ledgerHeld = true")
+    int releaseAllLedgerHolds();
+    
+    // Write-behind of reservations the hot-stock ledger already checked against its own counters
+    @Modifying
+    @Query("UPDATE Inventory i SET i.reservedQuantity = COALESCE(i.reservedQuantity, 0) + :quantity " +
+           "WHERE i.productId = :productId")
+    int addReserved(@Param("productId") Long productId, @Param("quantity") int quantity);
+    
+    // Gives reserved units back to the available stock
+    @Modifying
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity - :quantity " +
+           "WHERE i.productId = :productId AND i.reservedQuantity >= :quantity")
+    int release(@Param("productId") Long productId, @Param("quantity") int quantity);
+    
+    // Turns reserved units into sold ones: they leave both the stock and the reservation. The
+    // low-stock flag is assigned first, as some databases evaluate later assignments on new values
+    @Modifying
+    @Query("UPDATE Inventory i SET " +
+           "i.lowStock = CASE WHEN i.quantity - :quantity <= i.minStockLevel THEN true ELSE false END, " +
+           "i.quantity = i.quantity - :quantity, " +
+           "i.reservedQuantity = i.reservedQuantity - :quantity, i.lastUpdated = :now " +
+           "WHERE i.productId = :productId AND i.reservedQuantity >= :quantity")
+    int consume(@Param("productId") Long productId, @Param("quantity") int quantity,
+                @Param("now") LocalDateTime now);
+    
+    // Stock rows after the cursor id, in id order, without a count query
+    List<Inventory> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
+    // Stock count export: read-only rows fetched 500 at a time
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Inventory> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
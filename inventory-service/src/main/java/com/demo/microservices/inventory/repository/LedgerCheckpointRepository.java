@@ -0,0 +1,22 @@
+package com.demo.microservices.inventory.repository;
+
+import com.demo.microservices.inventory.model.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Integer> {
+
+    // 1 = the ledger is now owned by the instance; 0 = another instance owns it
+    @Modifying
+    @Query("UPDATE LedgerCheckpoint c SET c.owner = :owner, c.ownerUrl = :ownerUrl " +
+           "WHERE c.id = :id AND (c.owner IS NULL OR c.owner = :owner)")
+    int claim(@Param("id") Integer id, @Param("owner") String owner, @Param("ownerUrl") String ownerUrl);
+
+    @Modifying
+    @Query("UPDATE LedgerCheckpoint c SET c.owner = NULL, c.ownerUrl = NULL WHERE c.id = :id AND c.owner = :owner")
+    int disown(@Param("id") Integer id, @Param("owner") String owner);
+}
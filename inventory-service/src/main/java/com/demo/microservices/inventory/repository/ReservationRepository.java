@@ -0,0 +1,20 @@
+package com.demo.microservices.inventory.repository;
+
+import com.demo.microservices.inventory.model.Reservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, String> {
+
+    // Moves a reservation out of one status only if it is still in it; 1 = this caller won. Clears
+    // the persistence context, so a reservation read earlier in the request is re-read with its new status
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") Reservation.ReservationStatus from,
+                   @Param("to") Reservation.ReservationStatus to);
+}
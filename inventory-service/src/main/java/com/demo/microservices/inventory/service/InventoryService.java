@@ -1,11 +1,22 @@
 package com.demo.microservices.inventory.service;
 
+import com.demo.microservices.inventory.event.LowStockChangedEvent;
+import com.demo.microservices.inventory.ledger.HotStockLedger;
 import com.demo.microservices.inventory.model.Inventory;
 import com.demo.microservices.inventory.repository.InventoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryService {
@@ -13,8 +24,35 @@ public class InventoryService {
     @Autowired
     private InventoryRepository inventoryRepository;
     
-    public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+    @Autowired
+    private HotStockLedger hotStockLedger;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Stock rows with an id above {@code cursor} (null: from the start), in id order, at most
+     * {@code limit} of them.
+     */
+    public List<Inventory> getInventoryPage(Long cursor, int limit) {
+        return inventoryRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Hands every stock row to the action in id order, detaching each once handled, so a stock count
+     * over a large warehouse does not fill the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void forEachInventory(Consumer<Inventory> action) {
+        try (Stream<Inventory> all = inventoryRepository.streamAllByOrderByIdAsc()) {
+            all.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
     }
     
     public Inventory getInventoryById(Long id) {
@@ -25,35 +63,91 @@ public class InventoryService {
         return inventoryRepository.findByProductId(productId);
     }
     
+    /**
+     * Items at or below their minimum stock level, read through the low_stock index.
+     */
     public List<Inventory> getLowStockItems() {
         return inventoryRepository.findLowStockItems();
     }
     
+    /**
+     * Products the ledger currently reserves in memory, with their available units.
+     */
+    public Map<Long, Long> getHotProducts() {
+        return hotStockLedger.getHotProducts();
+    }
+    
     public boolean isStockAvailable(Long productId, Integer quantity) {
         Inventory inventory = inventoryRepository.findByProductId(productId);
         return inventory != null && inventory.getAvailableQuantity() >= quantity;
     }
     
+    /**
+     * Reserves {@code quantity} units if that many are available. A single conditional UPDATE, so
+     * it is one round trip and concurrent callers on the same product cannot oversell; for a hot
+     * product with the ledger enabled, a CAS on its in-memory count instead.
+     */
     public boolean reserveStock(Long productId, Integer quantity) {
-        Inventory inventory = inventoryRepository.findByProductId(productId);
-        if (inventory != null && inventory.getAvailableQuantity() >= quantity) {
-            inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity);
-            inventoryRepository.save(inventory);
-            return true;
+        if (quantity == null || quantity <= 0) {
+            return false;
         }
-        return false;
+        return hotStockLedger.reserve(productId, quantity, () -> inventoryRepository.reserve(productId, quantity) == 1);
     }
     
+    /**
+     * True when a refused reservation of the product means the hot-stock ledger of another
+     * instance holds it, not that it is out of stock.
+     */
+    public boolean isHeldByLedgerElsewhere(Long productId) {
+        return hotStockLedger.isHeldElsewhere(productId);
+    }
+    
+    /**
+     * The request path on the instance whose hot-stock ledger holds the products; null if none does.
+     */
+    public URI ledgerOwnerLocation(String path) {
+        return hotStockLedger.ownerLocation(path);
+    }
+    
+    /**
+     * Creates or replaces a stock row. Throws IllegalStateException while the hot-stock ledger of
+     * another instance holds the product.
+     */
     public Inventory saveInventory(Inventory inventory) {
-        return inventoryRepository.save(inventory);
+        boolean wasLow = inventory.getId() != null
+                && inventoryRepository.findById(inventory.getId()).map(Inventory::isLowStock).orElse(false);
+        Inventory saved = hotStockLedger.guardRow(inventory.getProductId(), () -> inventoryRepository.save(inventory));
+        publishIfLowStockChanged(wasLow, saved);
+        return saved;
     }
     
+    /**
+     * Sets the stock quantity, null when there is no such row. Throws IllegalStateException while
+     * the hot-stock ledger of another instance holds the product.
+     */
     public Inventory updateStock(Long id, Integer newQuantity) {
         Inventory inventory = inventoryRepository.findById(id).orElse(null);
-        if (inventory != null) {
-            inventory.setQuantity(newQuantity);
-            return inventoryRepository.save(inventory);
+        if (inventory == null) {
+            return null;
+        }
+        // Re-read under the guard: a demotion may just have written reservations to the row
+        return hotStockLedger.guardRow(inventory.getProductId(), () -> {
+            Inventory current = inventoryRepository.findById(id).orElse(null);
+            if (current == null) {
+                return null;
+            }
+            boolean wasLow = current.isLowStock();
+            current.setQuantity(newQuantity);
+            Inventory saved = inventoryRepository.save(current);
+            publishIfLowStockChanged(wasLow, saved);
+            return saved;
+        });
+    }
+    
+    private void publishIfLowStockChanged(boolean wasLow, Inventory inventory) {
+        if (inventory.isLowStock() != wasLow) {
+            eventPublisher.publishEvent(new LowStockChangedEvent(inventory.getProductId(), inventory.getQuantity(),
+                    inventory.getMinStockLevel(), inventory.isLowStock()));
         }
-        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.demo.microservices.inventory.service;
+
+import com.demo.microservices.inventory.dto.ReservationRequest;
+import com.demo.microservices.inventory.dto.ReservationResult;
+import com.demo.microservices.inventory.event.LowStockChangedEvent;
+import com.demo.microservices.inventory.ledger.HotStockLedger;
+import com.demo.microservices.inventory.model.Inventory;
+import com.demo.microservices.inventory.model.Reservation;
+import com.demo.microservices.inventory.repository.InventoryRepository;
+import com.demo.microservices.inventory.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+@Service
+public class ReservationService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reserves every line or none, in one transaction. Lines are merged per product and applied in
+     * productId order, so baskets sharing products lock rows in the same order and cannot deadlock.
+     * A short line marks the transaction rollback-only; the remaining lines are still tried so the
+     * result lists every shortfall at once. Lines of hot products are taken from the basket's
+     * in-memory counts and journaled before the reservation is saved.
+     */
+    @Transactional
+    public ReservationResult reserve(List<ReservationRequest.Line> lines, HotStockLedger.Basket basket) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationRequest.Line line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        List<ReservationResult.LineResult> results = new ArrayList<>();
+        boolean complete = true;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            int quantity = line.getValue();
+            if (basket.isHot(productId)) {
+                if (basket.take(productId, quantity)) {
+                    results.add(new ReservationResult.LineResult(productId, quantity,
+                            ReservationResult.LineStatus.RESERVED, null));
+                } else {
+                    complete = false;
+                    results.add(new ReservationResult.LineResult(productId, quantity,
+                            ReservationResult.LineStatus.INSUFFICIENT_STOCK, (int) basket.available(productId)));
+                }
+                continue;
+            }
+            if (inventoryRepository.reserve(productId, quantity) == 1) {
+                results.add(new ReservationResult.LineResult(productId, quantity,
+                        ReservationResult.LineStatus.RESERVED, null));
+                continue;
+            }
+            complete = false;
+            Inventory inventory = inventoryRepository.findByProductId(productId);
+            if (inventory == null) {
+                results.add(new ReservationResult.LineResult(productId, quantity, ReservationResult.LineStatus.UNKNOWN_PRODUCT, null));
+            } else if (inventory.isLedgerHeld()) {
+                results.add(new ReservationResult.LineResult(productId, quantity, ReservationResult.LineStatus.HELD_BY_LEDGER, null));
+            } else {
+                results.add(new ReservationResult.LineResult(productId, quantity, ReservationResult.LineStatus.INSUFFICIENT_STOCK,
+                        inventory.getAvailableQuantity()));
+            }
+        }
+
+        if (!complete) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            for (ReservationResult.LineResult result : results) {
+                if (result.getStatus() == ReservationResult.LineStatus.RESERVED) {
+                    result.setStatus(ReservationResult.LineStatus.ROLLED_BACK);
+                }
+            }
+            return new ReservationResult(null, ReservationResult.Status.REJECTED, results);
+        }
+
+        basket.journal();
+        List<Reservation.Line> held = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> held.add(new Reservation.Line(productId, quantity)));
+        Reservation reservation = reservationRepository.save(new Reservation(UUID.randomUUID().toString(), held));
+        return new ReservationResult(reservation.getId(), ReservationResult.Status.HELD, results);
+    }
+
+    public Reservation getReservation(String reservationId) {
+        return reservationRepository.findById(reservationId).orElse(null);
+    }
+
+    /**
+     * The held units become sold: they leave the stock. Null for an unknown reservation; a
+     * reservation that is no longer HELD is returned unchanged. Throws IllegalStateException, and
+     * leaves the reservation HELD, when a line's units are no longer reserved in the stock.
+     */
+    @Transactional
+    public Reservation commit(String reservationId) {
+        return finish(reservationId, Reservation.ReservationStatus.COMMITTED, (productId, quantity) -> { });
+    }
+
+    /**
+     * The held units go back to the available stock; each line given back is reported to
+     * {@code released}. Null for an unknown reservation; a reservation that is no longer HELD is
+     * returned unchanged. Fails like {@link #commit}.
+     */
+    @Transactional
+    public Reservation release(String reservationId, BiConsumer<Long, Integer> released) {
+        return finish(reservationId, Reservation.ReservationStatus.RELEASED, released);
+    }
+
+    private Reservation finish(String reservationId, Reservation.ReservationStatus target,
+                               BiConsumer<Long, Integer> released) {
+        // Only the caller that moves it out of HELD touches the stock, even under concurrent calls
+        boolean moved = reservationRepository.transition(reservationId, Reservation.ReservationStatus.HELD, target) == 1;
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if (!moved || reservation == null) {
+            return reservation;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation.Line> lines = new ArrayList<>(reservation.getLines());
+        lines.sort(Comparator.comparing(Reservation.Line::getProductId));
+        for (Reservation.Line line : lines) {
+            int updated = target == Reservation.ReservationStatus.COMMITTED
+                    ? inventoryRepository.consume(line.getProductId(), line.getQuantity(), now)
+                    : inventoryRepository.release(line.getProductId(), line.getQuantity());
+            if (updated != 1) {
+                // Rolls back the status change and the lines already done
+                throw new IllegalStateException("Reservation " + reservationId + ": " + line.getQuantity()
+                        + " units of product " + line.getProductId() + " are no longer reserved");
+            }
+            if (target == Reservation.ReservationStatus.COMMITTED) {
+                publishIfNowLowStock(line);
+            } else {
+                released.accept(line.getProductId(), line.getQuantity());
+            }
+        }
+        return reservation;
+    }
+
+    // Selling only lowers the stock, so the one transition to look for is into low stock
+    private void publishIfNowLowStock(Reservation.Line line) {
+        Inventory inventory = inventoryRepository.findByProductId(line.getProductId());
+        if (inventory != null && inventory.isLowStock()
+                && inventory.getQuantity() + line.getQuantity() > inventory.getMinStockLevel()) {
+            eventPublisher.publishEvent(new LowStockChangedEvent(inventory.getProductId(), inventory.getQuantity(),
+                    inventory.getMinStockLevel(), true));
+        }
+    }
+}
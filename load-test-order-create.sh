@@ -0,0 +1,164 @@
+#!/bin/bash
+
+# 🚦 Order creation load test: sequential vs parallel user/product validation
+#
+# Starts two local stubs standing in for user-service and product-service (fixed response delay,
+# WireMock-style), runs order-service against them with the "loadtest" profile, and measures
+# POST /api/orders with validation sequential and then parallel.
+#
+# Usage: ./load-test-order-create.sh [requests] [concurrency]
+# Tunables: USER_DELAY_MS, PRODUCT_DELAY_MS, STUB_USER_PORT, STUB_PRODUCT_PORT, ORDER_PORT,
+#           HOT_IDS (0 = every order uses new user/product ids, so the near-cache never hits;
+#           N = ids repeat over N users/products, like a workload dominated by hot items),
+#           PRODUCT_BATCH (true = product lookups are micro-batched, as by default; false = one call each)
+
+REQUESTS=${1:-500}
+CONCURRENCY=${2:-20}
+USER_DELAY_MS=${USER_DELAY_MS:-80}
+PRODUCT_DELAY_MS=${PRODUCT_DELAY_MS:-120}
+HOT_IDS=${HOT_IDS:-0}
+PRODUCT_BATCH=${PRODUCT_BATCH:-true}
+export STUB_USER_PORT=${STUB_USER_PORT:-9081}
+export STUB_PRODUCT_PORT=${STUB_PRODUCT_PORT:-9082}
+export ORDER_PORT=${ORDER_PORT:-18083}
+
+JAR=$(ls order-service/target/order-service-*.jar 2>/dev/null | head -1)
+if [ -z "$JAR" ]; then
+    echo "❌ order-service jar not found. Build it first:"
+    echo "   mvn -pl order-service -am package spring-boot:repackage -DskipTests"
+    exit 1
+fi
+
+PIDS=()
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null
+    done
+}
+trap cleanup EXIT
+
+# Stub answering GET <prefix>/{id} with a canned JSON body after a fixed delay, and the batch lookup
+# (GET <prefix>/batch?ids=..., POST <prefix>/batch with a JSON id list) with an array of those bodies
+start_stub() {
+    local port=$1 delay_ms=$2 prefix=$3 body=$4
+    python3 - "$port" "$delay_ms" "$prefix" "$body" <<'PYEOF' &
+import json, sys, time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from urllib.parse import parse_qs, urlsplit
+
+port, delay_ms, prefix, body = int(sys.argv[1]), int(sys.argv[2]), sys.argv[3], sys.argv[4]
+
+class Stub(BaseHTTPRequestHandler):
+    def do_GET(self):
+        time.sleep(delay_ms / 1000.0)
+        url = urlsplit(self.path)
+        if url.path == prefix + "/batch":
+            ids = [i for value in parse_qs(url.query).get("ids", []) for i in value.split(",") if i]
+            self.reply("[" + ",".join(body.replace("ID", str(int(i))) for i in ids) + "]")
+        elif url.path.startswith(prefix + "/"):
+            self.reply(body.replace("ID", url.path[len(prefix) + 1:]))
+        else:
+            self.reply(None)
+
+    def do_POST(self):
+        time.sleep(delay_ms / 1000.0)
+        length = int(self.headers.get("Content-Length") or 0)
+        if urlsplit(self.path).path != prefix + "/batch":
+            self.reply(None)
+            return
+        ids = json.loads(self.rfile.read(length) or b"[]")
+        self.reply("[" + ",".join(body.replace("ID", str(int(i))) for i in ids) + "]")
+
+    def reply(self, text):
+        if text is None:
+            self.send_response(404)
+            self.end_headers()
+            return
+        payload = text.encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer.daemon_threads = True
+ThreadingHTTPServer(("127.0.0.1", port), Stub).serve_forever()
+PYEOF
+    PIDS+=($!)
+}
+
+wait_for() {
+    local url=$1
+    for _ in $(seq 1 60); do
+        curl -s -o /dev/null "$url" && return 0
+        sleep 1
+    done
+    echo "❌ $url did not come up"
+    exit 1
+}
+
+run_scenario() {
+    local parallel=$1
+    java -jar "$JAR" --spring.profiles.active=loadtest --order.validation.parallel="$parallel" \
+        --order.product-batch.enabled="$PRODUCT_BATCH" > /dev/null 2>&1 &
+    local order_pid=$!
+    PIDS+=($order_pid)
+    wait_for "http://localhost:$ORDER_PORT/actuator/health"
+
+    # Warm up the JIT and the connection pools before measuring
+    for i in $(seq 1 50); do
+        curl -s -o /dev/null -X POST -H "Content-Type: application/json" \
+            -d '{"userId":1,"productId":1,"quantity":1}' "http://localhost:$ORDER_PORT/api/orders"
+    done
+
+    local started=$(date +%s.%N)
+    seq 1 "$REQUESTS" | awk -v hot="$HOT_IDS" '{ print (hot > 0 ? $1 % hot + 1 : $1 + 1000) }' | xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+        -X POST -H "Content-Type: application/json" \
+        -d '{"userId":{},"productId":{},"quantity":2}' "http://localhost:$ORDER_PORT/api/orders" > /tmp/order-create-$parallel.txt
+    local elapsed=$(echo "$(date +%s.%N) - $started" | bc)
+
+    local failed=$(grep -vc '^200 ' /tmp/order-create-$parallel.txt)
+    awk '{print $2 * 1000}' /tmp/order-create-$parallel.txt | sort -n | awk -v mode="$2" -v elapsed="$elapsed" -v failed="$failed" '
+        { latency[NR] = $1 }
+        END {
+            printf "   %-11s p50 %6.1f ms   p99 %6.1f ms   %6.1f req/s   %d failed\n",
+                mode, latency[int(NR * 0.50)], latency[int(NR * 0.99)], NR / elapsed, failed
+        }'
+
+    # Near-cache misses are the remote calls actually made (warm-up orders included)
+    local misses=0
+    for cache in order-users order-products; do
+        local count=$(curl -s "http://localhost:$ORDER_PORT/actuator/metrics/cache.gets?tag=cache:$cache&tag=result:miss" \
+            | grep -o '"value":[0-9.]*' | head -1 | cut -d: -f2)
+        misses=$(echo "$misses + ${count:-0}" | bc)
+    done
+    echo "               remote calls per order: $(echo "scale=2; $misses / ($REQUESTS + 50)" | bc)"
+
+    kill "$order_pid" 2>/dev/null
+    wait "$order_pid" 2>/dev/null
+}
+
+echo "🚦 Order creation load test"
+echo "==========================="
+echo "   $REQUESTS requests, concurrency $CONCURRENCY"
+echo "   user-service stub: ${USER_DELAY_MS} ms, product-service stub: ${PRODUCT_DELAY_MS} ms"
+echo "   hot ids: ${HOT_IDS} (0 = no repeats), product batching: ${PRODUCT_BATCH}"
+echo
+
+start_stub "$STUB_USER_PORT" "$USER_DELAY_MS" "/api/users" \
+    '{"id":ID,"name":"Load Test User","email":"load@example.com","address":"1 Test St","phone":"555-0000"}'
+start_stub "$STUB_PRODUCT_PORT" "$PRODUCT_DELAY_MS" "/api/products" \
+    '{"id":ID,"name":"Load Test Product","description":"stub","price":19.99,"category":"test","brand":"stub"}'
+wait_for "http://localhost:$STUB_USER_PORT/api/users/1"
+wait_for "http://localhost:$STUB_PRODUCT_PORT/api/products/1"
+
+echo "📊 Results:"
+run_scenario false "sequential"
+run_scenario true "parallel"
+echo
+echo "✅ Expected: sequential p50 ≈ user + product delay ($((USER_DELAY_MS + PRODUCT_DELAY_MS)) ms),"
+echo "   parallel p50 ≈ the slower of the two ($(( USER_DELAY_MS > PRODUCT_DELAY_MS ? USER_DELAY_MS : PRODUCT_DELAY_MS )) ms), plus the database insert."
+echo "   With HOT_IDS set, most lookups hit the near-cache and remote calls per order drop below 2."
@@ -0,0 +1,46 @@
+package com.example.loggingservice.config;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+/**
+ * Error handling for the log listener. Spring Kafka's default handler retries a failed batch ten
+ * times without pausing and then skips it. Here a batch that failed to store, e.g. while Mongo is
+ * unreachable, is retried with a growing pause, capped at retry-max-interval-ms, up to
+ * retry-max-attempts times; its offsets are not committed meanwhile. A batch that still fails is
+ * published to the dead-letter topic (the topic name plus ".DLT") so the partition moves on and no
+ * log event is dropped.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    @Value("${logging.kafka.retry-initial-interval-ms:500}")
+    private long initialIntervalMs;
+
+    @Value("${logging.kafka.retry-max-interval-ms:30000}")
+    private long maxIntervalMs;
+
+    @Value("${logging.kafka.retry-max-attempts:10}")
+    private int maxAttempts;
+
+    // Picked up by Spring Boot's listener container factory
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(KafkaTemplate<?, ?> kafkaTemplate) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxAttempts);
+        backOff.setInitialInterval(initialIntervalMs);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(maxIntervalMs);
+        // Partition -1: the producer picks one, so the dead-letter topic needs no matching partition count
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, e) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.loggingservice.config;
+
+import com.example.loggingservice.model.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on {@link LogEntry} at startup (Spring Data does not by default).
+ * Existing indexes are left as they are. On a large existing collection, build them ahead of the
+ * rollout instead: the first build takes a while, although the service keeps serving meanwhile.
+ */
+@Component
+public class LogIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(LogEntry.class);
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(LogEntry.class)
+                    .forEach(indexOps::ensureIndex);
+        } catch (Exception e) {
+            logger.error("Failed to create log indexes: {}", e.getMessage());
+        }
+    }
+}
@@ -1,36 +1,41 @@
 package com.example.loggingservice.consumer;
 
 import com.example.loggingservice.model.LogEntry;
-import com.example.loggingservice.repository.LogRepository;
+import com.example.loggingservice.service.LogIngestionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class LogEventConsumer {
 
     @Autowired
-    private LogRepository logRepository;
+    private LogIngestionService logIngestionService;
 
-    @KafkaListener(topics = "microservices-logs", groupId = "logging-service-group")
-    public void consumeLogEvent(String logMessage) {
+    /**
+     * Stores a whole poll (up to max-poll-records) with one bulk insert. The offsets are committed
+     * after it returns, so if Mongo is unreachable the batch is retried, and in the end sent to the
+     * dead-letter topic (see KafkaConsumerConfig).
+     */
+    @KafkaListener(topics = "microservices-logs", groupId = "logging-service-group", batch = "true")
+    public void consumeLogEvents(List<String> logMessages) {
         // Process incoming log events from other microservices
-        System.out.println("Received log event: " + logMessage);
-        
-        try {
-            // Parse and store log entry
+        LocalDateTime now = LocalDateTime.now();
+        List<LogEntry> logEntries = new ArrayList<>(logMessages.size());
+        for (String logMessage : logMessages) {
             LogEntry logEntry = new LogEntry();
             logEntry.setMessage(logMessage);
-            logEntry.setTimestamp(LocalDateTime.now());
+            logEntry.setTimestamp(now);
             logEntry.setLevel("INFO");
             logEntry.setSource("microservice");
-            
-            logRepository.save(logEntry);
-            System.out.println("Log entry saved to MongoDB");
-        } catch (Exception e) {
-            System.err.println("Failed to process log event: " + e.getMessage());
+            logEntries.add(logEntry);
         }
+        
+        // Documents Mongo rejects are counted there; any other failure redelivers the batch
+        logIngestionService.insertAll(logEntries);
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,23 @@
 package com.example.loggingservice.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.example.loggingservice.model.LogEntry;
 import com.example.loggingservice.repository.LogRepository;
+import com.example.loggingservice.service.LogIngestionService;
+import com.example.loggingservice.service.LogQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -15,41 +26,64 @@ public class LogController {
     @Autowired
     private LogRepository logRepository;
 
+    @Autowired
+    private LogIngestionService logIngestionService;
+
+    @Autowired
+    private LogQueryService logQueryService;
+
     @PostMapping("/user-activity")
-    public String logUserActivity(@RequestBody UserActivityRequest request) {
-        try {
-            LogEntry logEntry = new LogEntry();
-            logEntry.setMessage("User Activity: " + request.getActivity() + " by user " + request.getUserId());
-            logEntry.setTimestamp(LocalDateTime.now());
-            logEntry.setLevel("INFO");
-            logEntry.setSource("user-service");
-            
-            logRepository.save(logEntry);
-            return "User activity logged successfully";
-        } catch (Exception e) {
-            return "Failed to log user activity: " + e.getMessage();
-        }
+    public ResponseEntity<String> logUserActivity(@RequestBody UserActivityRequest request) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setMessage("User Activity: " + request.getActivity() + " by user " + request.getUserId());
+        logEntry.setTimestamp(LocalDateTime.now());
+        logEntry.setLevel("INFO");
+        logEntry.setSource("user-service");
+        
+        return accept(logEntry, "User activity accepted");
     }
 
     @PostMapping("/system")
-    public String logSystemEvent(@RequestBody SystemLogRequest request) {
-        try {
-            LogEntry logEntry = new LogEntry();
-            logEntry.setMessage(request.getMessage());
-            logEntry.setTimestamp(LocalDateTime.now());
-            logEntry.setLevel(request.getLevel());
-            logEntry.setSource(request.getSource());
-            
-            logRepository.save(logEntry);
-            return "System event logged successfully";
-        } catch (Exception e) {
-            return "Failed to log system event: " + e.getMessage();
-        }
+    public ResponseEntity<String> logSystemEvent(@RequestBody SystemLogRequest request) {
+        LogEntry logEntry = new LogEntry();
+        logEntry.setMessage(request.getMessage());
+        logEntry.setTimestamp(LocalDateTime.now());
+        logEntry.setLevel(request.getLevel());
+        logEntry.setSource(request.getSource());
+        
+        return accept(logEntry, "System event accepted");
     }
 
     @GetMapping("/recent")
     public List<LogEntry> getRecentLogs(@RequestParam(defaultValue = "10") int limit) {
-        return logRepository.findTop10ByOrderByTimestampDesc();
+        int pageSize = CursorPages.pageSize(limit);
+        return logRepository.findAllBy(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "timestamp", "id")));
+    }
+
+    /**
+     * Newest-first page of entries matching the given filters. When more may follow, the
+     * X-Next-Cursor header carries the cursor for the next call and the Link header the full next
+     * URL; an unknown cursor is a 400.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<LogEntry>> searchLogs(
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String messagePrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        LogQueryService.Cursor after = null;
+        if (cursor != null) {
+            after = LogQueryService.Cursor.decode(cursor);
+            if (after == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        int pageSize = CursorPages.pageSize(limit);
+        List<LogEntry> page = logQueryService.search(source, level, from, to, messagePrefix, after, pageSize);
+        return CursorPages.page(page, pageSize, entry -> LogQueryService.Cursor.after(entry).encode());
     }
 
     @GetMapping("/health")
@@ -57,6 +91,25 @@ public class LogController {
         return "Logging service is healthy";
     }
 
+    // Buffered entries, and accepted entries that were never stored since startup
+    @GetMapping("/ingest")
+    public Map<String, Long> ingestStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("buffered", (long) logIngestionService.getBufferedCount());
+        stats.put("dropped", logIngestionService.getDroppedCount());
+        return stats;
+    }
+
+    // 202 once buffered for the next bulk write; 503 while the buffer is full, so callers back off
+    private ResponseEntity<String> accept(LogEntry logEntry, String message) {
+        if (logIngestionService.enqueue(logEntry)) {
+            return ResponseEntity.accepted().body(message);
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Log buffer full, retry later");
+    }
+
     // Request DTOs
     public static class UserActivityRequest {
         private Long userId;
@@ -1,11 +1,19 @@
 package com.example.loggingservice.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+// Newest-first scans, optionally narrowed to one source or level; _id breaks timestamp ties for paging
 @Document(collection = "log_entries")
+@CompoundIndexes({
+    @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "source_timestamp_id", def = "{'source': 1, 'timestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "level_timestamp_id", def = "{'level': 1, 'timestamp': -1, '_id': -1}")
+})
 public class LogEntry {
     
     @Id
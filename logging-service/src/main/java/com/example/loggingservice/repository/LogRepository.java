@@ -1,6 +1,7 @@
 package com.example.loggingservice.repository;
 
 import com.example.loggingservice.model.LogEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,9 +10,6 @@ import java.util.List;
 @Repository
 public interface LogRepository extends MongoRepository<LogEntry, String> {
     
-    List<LogEntry> findTop10ByOrderByTimestampDesc();
-    
-    List<LogEntry> findBySourceOrderByTimestampDesc(String source);
-    
-    List<LogEntry> findByLevelOrderByTimestampDesc(String level);
-}
\ No newline at end of file
+    // The pageable bounds every result; a List return type skips the count query of a Page
+    List<LogEntry> findAllBy(Pageable pageable);
+}
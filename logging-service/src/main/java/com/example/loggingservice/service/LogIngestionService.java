@@ -0,0 +1,182 @@
+package com.example.loggingservice.service;
+
+import com.example.loggingservice.model.LogEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes log entries to Mongo in bulk. Entries from HTTP go into a bounded buffer and are flushed
+ * by writer threads once a batch is full or flush-interval-ms after its first entry, whichever
+ * comes first; when the buffer is full, {@link #enqueue} refuses instead of blocking the caller.
+ * Batches that already arrive together (a Kafka poll) are written directly by {@link #insertAll}.
+ *
+ * A buffered batch that fails to store is retried, with a pause growing up to
+ * MAX_RETRY_DELAY_MS, for as long as the service runs: the buffer fills up meanwhile and new
+ * entries are refused, so callers learn to back off instead of losing accepted entries. Entries
+ * that are lost anyway (rejected by Mongo, or still unstored at shutdown) are logged and counted
+ * in {@link #getDroppedCount}.
+ */
+@Service
+public class LogIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogIngestionService.class);
+    private static final long RETRY_DELAY_MS = 200;
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${logging.ingest.buffer-capacity:50000}")
+    private int bufferCapacity;
+
+    @Value("${logging.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${logging.ingest.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${logging.ingest.writers:2}")
+    private int writerCount;
+
+    private BlockingQueue<LogEntry> buffer;
+    private final List<Thread> writers = new ArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drain, "log-ingest-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    // Flushes what is still buffered before the Mongo client goes away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (!buffer.isEmpty()) {
+            drop(buffer.size(), "still buffered at shutdown");
+        }
+    }
+
+    /**
+     * Buffers the entry for the next bulk write; false when the buffer is full.
+     */
+    public boolean enqueue(LogEntry logEntry) {
+        return running && buffer.offer(logEntry);
+    }
+
+    /**
+     * Entries currently buffered for a bulk write.
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Entries accepted but never stored since startup.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * One unordered bulk insert: a bad document does not stop the rest of the batch. Documents
+     * Mongo rejects are counted as dropped, since retrying would duplicate the stored ones; any
+     * other failure is thrown and nothing is taken as stored.
+     */
+    public void insertAll(List<LogEntry> logEntries) {
+        if (logEntries.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LogEntry.class);
+        bulk.insert(logEntries);
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            drop(e.getErrors().size(), "rejected by MongoDB: " + e.getMessage());
+        }
+    }
+
+    private void drain() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                LogEntry first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    LogEntry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                drop(batch.size(), "writer interrupted");
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    // Gives up only once the service is stopping
+    private void write(List<LogEntry> batch) throws InterruptedException {
+        long delay = RETRY_DELAY_MS;
+        while (true) {
+            try {
+                insertAll(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    drop(batch.size(), "store failed at shutdown: " + e.getMessage());
+                    return;
+                }
+                logger.warn("Failed to store {} log entries, retrying in {} ms: {}", batch.size(), delay, e.getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void drop(int count, String reason) {
+        if (count == 0) {
+            return;
+        }
+        long total = dropped.addAndGet(count);
+        logger.error("Dropped {} log entries ({} since startup), {}", count, total, reason);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.loggingservice.service;
+
+import com.example.loggingservice.model.LogEntry;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Service
+public class LogQueryService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Up to {@code limit} entries, newest first, matching every filter given (null: not filtered):
+     * source, level, timestamp in [from, to), message starting with {@code messagePrefix}. With a
+     * cursor, the page starts right after the entry it was taken from.
+     *
+     * Ordered by (timestamp, _id), which the compound indexes on {@link LogEntry} cover after the
+     * source or level equality, so a page is an index range scan however large the collection is.
+     * The message prefix is checked on the scanned entries, so combine it with another filter.
+     */
+    public List<LogEntry> search(String source, String level, LocalDateTime from, LocalDateTime to,
+                                 String messagePrefix, Cursor after, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (source != null) {
+            filters.add(Criteria.where("source").is(source));
+        }
+        if (level != null) {
+            filters.add(Criteria.where("level").is(level));
+        }
+        if (from != null) {
+            filters.add(Criteria.where("timestamp").gte(from));
+        }
+        if (to != null) {
+            filters.add(Criteria.where("timestamp").lt(to));
+        }
+        if (messagePrefix != null && !messagePrefix.isEmpty()) {
+            filters.add(Criteria.where("message").regex("^" + Pattern.quote(messagePrefix)));
+        }
+        if (after != null) {
+            // The plain bound keeps the index range tight; the $or settles ties on the timestamp
+            filters.add(Criteria.where("timestamp").lte(after.getTimestamp()));
+            filters.add(new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(after.getTimestamp()),
+                    new Criteria().andOperator(
+                            Criteria.where("timestamp").is(after.getTimestamp()),
+                            Criteria.where("id").lt(new ObjectId(after.getId())))));
+        }
+
+        Query query = filters.isEmpty() ? new Query() : new Query(new Criteria().andOperator(filters));
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id")).limit(limit);
+        return mongoTemplate.find(query, LogEntry.class);
+    }
+
+    /**
+     * Position after one log entry, handed to clients as an opaque URL-safe token.
+     */
+    public static class Cursor {
+        private final LocalDateTime timestamp;
+        private final String id;
+
+        public Cursor(LocalDateTime timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        public static Cursor after(LogEntry logEntry) {
+            return new Cursor(logEntry.getTimestamp(), logEntry.getId());
+        }
+
+        /**
+         * The cursor in the token, or null when it is not one this service issued.
+         */
+        public static Cursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                    return null;
+                }
+                return new Cursor(LocalDateTime.parse(parts[0]), parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public LocalDateTime getTimestamp() { return timestamp; }
+        public String getId() { return id; }
+    }
+}
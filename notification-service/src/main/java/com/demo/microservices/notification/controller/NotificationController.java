@@ -1,11 +1,14 @@
 package com.demo.microservices.notification.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.demo.microservices.notification.dto.NotificationRequest;
 import com.demo.microservices.notification.model.Notification;
 import com.demo.microservices.notification.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +19,36 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Unpaged form kept for existing callers: without cursor and limit, every notification comes back
+     * as one JSON array, streamed row by row.
+     */
+    @GetMapping(params = {"!cursor", "!limit", "!format"})
+    public ResponseEntity<StreamingResponseBody> listNotifications() {
+        return CursorPages.jsonArray(objectMapper, notificationService::forEachNotification);
+    }
+    
+    /**
+     * Notifications, oldest first, {@code limit} per call; X-Next-Cursor (or the Link header) leads to
+     * the next page. Use /user/{userId} for one user's notifications.
+     */
     @GetMapping
-    public List<Notification> getAllNotifications() {
-        return notificationService.getAllNotifications();
+    public ResponseEntity<List<Notification>> getAllNotifications(@RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = CursorPages.pageSize(limit);
+        return CursorPages.page(notificationService.getNotificationsPage(cursor, pageSize), pageSize, Notification::getId);
+    }
+    
+    /**
+     * Every notification as NDJSON (?format=ndjson), one per line, for archiving before old rows are
+     * purged.
+     */
+    @GetMapping(params = "format=ndjson", produces = CursorPages.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportNotifications() {
+        return CursorPages.ndjson(objectMapper, notificationService::forEachNotification);
     }
     
     @GetMapping("/{id}")
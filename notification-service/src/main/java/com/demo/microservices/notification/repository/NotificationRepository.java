@@ -1,14 +1,28 @@
 package com.demo.microservices.notification.repository;
 
 import com.demo.microservices.notification.model.Notification;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserId(Long userId);
     List<Notification> findByStatus(Notification.NotificationStatus status);
     List<Notification> findByType(Notification.NotificationType type);
+    
+    // Notifications after the cursor id, oldest first, without a count query
+    List<Notification> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
+    // Archive export: read-only notifications fetched 500 at a time
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Notification> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -3,11 +3,17 @@ package com.demo.microservices.notification.service;
 import com.demo.microservices.notification.dto.NotificationRequest;
 import com.demo.microservices.notification.model.Notification;
 import com.demo.microservices.notification.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class NotificationService {
@@ -15,8 +21,29 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
     
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAll();
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Notifications sent after the notification {@code cursor} (null: from the first one), oldest
+     * first, at most {@code limit} of them.
+     */
+    public List<Notification> getNotificationsPage(Long cursor, int limit) {
+        return notificationRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Hands every notification to the action, oldest first, detaching each once handled. The table
+     * grows with every order event, so an archive run must not keep them all managed.
+     */
+    @Transactional(readOnly = true)
+    public void forEachNotification(Consumer<Notification> action) {
+        try (Stream<Notification> all = notificationRepository.streamAllByOrderByIdAsc()) {
+            all.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
     }
     
     public Notification getNotificationById(Long id) {
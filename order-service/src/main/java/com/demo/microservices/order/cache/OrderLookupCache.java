@@ -0,0 +1,126 @@
+package com.demo.microservices.order.cache;
+
+import com.demo.microservices.order.client.ProductBatchLoader;
+import com.demo.microservices.order.client.ProductServiceClient;
+import com.demo.microservices.order.client.UserServiceClient;
+import com.demo.microservices.order.event.ProductUpdatedEvent;
+import com.demo.microservices.order.event.UserUpdatedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Near-cache in front of the user and product clients. Entries are bounded in number and expire
+ * after a TTL; concurrent misses for the same id share one remote call, and product misses for
+ * different ids are batched by {@link ProductBatchLoader}. Not-found answers and failures are not
+ * cached. A caller waits at most load-timeout-ms for a lookup in flight. Hit, miss and eviction counts are published as cache.* metrics (cache=order-products /
+ * order-users).
+ */
+@Component
+public class OrderLookupCache {
+
+    private final ProductBatchLoader productBatchLoader;
+    private final UserServiceClient userServiceClient;
+    private final AsyncCache<Long, ProductServiceClient.ProductDto> products;
+    private final AsyncCache<Long, UserServiceClient.UserDto> users;
+    private final long loadTimeoutMs;
+
+    public OrderLookupCache(ProductBatchLoader productBatchLoader,
+                            UserServiceClient userServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.cache.products.max-size:10000}") long productsMaxSize,
+                            @Value("${order.cache.products.ttl-seconds:60}") long productsTtlSeconds,
+                            @Value("${order.cache.users.max-size:50000}") long usersMaxSize,
+                            @Value("${order.cache.users.ttl-seconds:300}") long usersTtlSeconds,
+                            @Value("${order.cache.load-timeout-ms:5000}") long loadTimeoutMs) {
+        this.productBatchLoader = productBatchLoader;
+        this.userServiceClient = userServiceClient;
+        this.products = build(productsMaxSize, productsTtlSeconds);
+        this.users = build(usersMaxSize, usersTtlSeconds);
+        this.loadTimeoutMs = loadTimeoutMs;
+        CaffeineCacheMetrics.monitor(meterRegistry, products.synchronous(), "order-products");
+        CaffeineCacheMetrics.monitor(meterRegistry, users.synchronous(), "order-users");
+    }
+
+    public ProductServiceClient.ProductDto getProduct(Long productId) {
+        return get(products, productId, productBatchLoader::getProduct);
+    }
+
+    public UserServiceClient.UserDto getUser(Long userId) {
+        return get(users, userId, userServiceClient::getUserById);
+    }
+
+    public void invalidateProduct(Long productId) {
+        products.synchronous().invalidate(productId);
+    }
+
+    public void invalidateUser(Long userId) {
+        users.synchronous().invalidate(userId);
+    }
+
+    @EventListener
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        invalidateProduct(event.getProductId());
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+
+    private static <V> AsyncCache<Long, V> build(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * The first caller to miss installs a pending future and makes the remote call on its own thread;
+     * callers arriving meanwhile wait on that future. No cache lock is held during the call, and a
+     * future completed with null or an exception is dropped from the cache by Caffeine. Errors
+     * complete it too, and a call still pending after load-timeout-ms is failed by whoever gave up
+     * on it, so a stuck call cannot block later lookups of the id.
+     */
+    private <V> V get(AsyncCache<Long, V> cache, Long id, Function<Long, V> remoteCall) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(id, (key, executor) -> load);
+        if (entry == load) {
+            try {
+                load.complete(remoteCall.apply(id));
+            } catch (Throwable e) {
+                load.completeExceptionally(e);
+            }
+        }
+        try {
+            return entry.get(loadTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            entry.completeExceptionally(e);
+            throw new IllegalStateException("Lookup of " + id + " took more than " + loadTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the lookup of " + id);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.microservices.order.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batcher for single product lookups: lookups arriving within a short window (or until the
+ * batch is full) are sent as one batch call. The first caller of a batch waits out the window and
+ * sends it, or whoever fills it sends it right away, so no extra threads are needed.
+ */
+@Component
+public class ProductBatchLoader {
+
+    // Longer id lists go in the body instead of the query string
+    private static final int MAX_GET_IDS = 200;
+
+    @Autowired
+    private ProductServiceClient productServiceClient;
+
+    @Value("${order.product-batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.product-batch.window-ms:5}")
+    private long windowMs;
+
+    @Value("${order.product-batch.max-size:100}")
+    private int maxSize;
+
+    private Batch open; // guarded by this
+
+    /**
+     * The product, or null when product-service does not know it.
+     */
+    public ProductServiceClient.ProductDto getProduct(Long productId) {
+        if (!enabled) {
+            return productServiceClient.getProductById(productId);
+        }
+        Batch batch;
+        CompletableFuture<ProductServiceClient.ProductDto> result;
+        boolean leader = false;
+        boolean full = false;
+        synchronized (this) {
+            if (open == null) {
+                open = new Batch();
+                leader = true;
+            }
+            batch = open;
+            result = batch.lookups.computeIfAbsent(productId, id -> new CompletableFuture<>());
+            if (batch.lookups.size() >= maxSize) {
+                open = null;
+                full = true;
+            }
+        }
+        if (full) {
+            send(batch);
+        } else if (leader) {
+            boolean interrupted = false;
+            try {
+                TimeUnit.MILLISECONDS.sleep(windowMs);
+            } catch (InterruptedException e) {
+                // Other callers wait on this batch: send it anyway
+                interrupted = true;
+            }
+            if (close(batch)) {
+                send(batch);
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the batch unless a caller that filled it already did (and sent it).
+     */
+    private synchronized boolean close(Batch batch) {
+        if (open != batch) {
+            return false;
+        }
+        open = null;
+        return true;
+    }
+
+    private void send(Batch batch) {
+        List<Long> ids = new ArrayList<>(batch.lookups.keySet());
+        try {
+            List<ProductServiceClient.ProductDto> found = ids.size() > MAX_GET_IDS
+                    ? productServiceClient.getProductsByIdsPost(ids)
+                    : productServiceClient.getProductsByIds(ids);
+            Map<Long, ProductServiceClient.ProductDto> byId = new HashMap<>();
+            if (found != null) {
+                for (ProductServiceClient.ProductDto product : found) {
+                    byId.put(product.getId(), product);
+                }
+            }
+            batch.lookups.forEach((id, lookup) -> lookup.complete(byId.get(id)));
+        } catch (Throwable e) {
+            // Errors too: every caller of the batch is blocked on its lookup
+            batch.lookups.values().forEach(lookup -> lookup.completeExceptionally(e));
+        }
+    }
+
+    private static class Batch {
+        final Map<Long, CompletableFuture<ProductServiceClient.ProductDto>> lookups = new LinkedHashMap<>();
+    }
+}
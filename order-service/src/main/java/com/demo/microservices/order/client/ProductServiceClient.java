@@ -3,7 +3,11 @@ package com.demo.microservices.order.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import java.math.BigDecimal;
+import java.util.List;
 
 @FeignClient(name = "product-service")
 public interface ProductServiceClient {
@@ -11,6 +15,13 @@ public interface ProductServiceClient {
     @GetMapping("/api/products/{id}")
     ProductDto getProductById(@PathVariable("id") Long id);
     
+    // Unknown ids are left out of the result
+    @GetMapping("/api/products/batch")
+    List<ProductDto> getProductsByIds(@RequestParam("ids") List<Long> ids);
+    
+    @PostMapping("/api/products/batch")
+    List<ProductDto> getProductsByIdsPost(@RequestBody List<Long> ids);
+    
     class ProductDto {
         private Long id;
         private String name;
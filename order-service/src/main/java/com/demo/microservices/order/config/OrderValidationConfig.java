@@ -0,0 +1,35 @@
+package com.demo.microservices.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class OrderValidationConfig {
+
+    /**
+     * Bounded pool for the remote user/product lookups of order creation. When it is saturated a
+     * lookup is rejected and the order fails at once: running it on the request thread instead would
+     * make that call without the lookup timeout.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService orderValidationExecutor(
+            @Value("${order.validation.threads:32}") int threads,
+            @Value("${order.validation.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "order-validation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
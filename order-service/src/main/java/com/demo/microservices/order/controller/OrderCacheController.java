@@ -0,0 +1,32 @@
+package com.demo.microservices.order.controller;
+
+import com.demo.microservices.order.event.ProductUpdatedEvent;
+import com.demo.microservices.order.event.UserUpdatedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Invalidation hooks for the order-service near-cache, for product/user-service webhooks or an
+ * event consumer to call after an update.
+ */
+@RestController
+@RequestMapping("/api/orders/cache")
+public class OrderCacheController {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @DeleteMapping("/products/{productId}")
+    public ResponseEntity<Void> productUpdated(@PathVariable Long productId) {
+        eventPublisher.publishEvent(new ProductUpdatedEvent(productId));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<Void> userUpdated(@PathVariable Long userId) {
+        eventPublisher.publishEvent(new UserUpdatedEvent(userId));
+        return ResponseEntity.noContent().build();
+    }
+}
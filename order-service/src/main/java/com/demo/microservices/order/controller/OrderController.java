@@ -1,11 +1,14 @@
 package com.demo.microservices.order.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.demo.microservices.order.dto.OrderRequest;
 import com.demo.microservices.order.model.Order;
 import com.demo.microservices.order.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +19,42 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Every order in one JSON array for callers that pass neither cursor nor limit, which is what a
+     * plain GET returned before paging; written while the rows are read.
+     */
+    @GetMapping(params = {"!cursor", "!limit", "!format"})
+    public ResponseEntity<StreamingResponseBody> listOrders() {
+        return CursorPages.jsonArray(objectMapper, orderService::forEachOrder);
+    }
+    
+    /**
+     * Orders, oldest first, {@code limit} per call. Clients follow X-Next-Cursor until it is absent;
+     * browsers can follow the Link header instead.
+     */
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<List<Order>> getAllOrders(@RequestParam(required = false) Long cursor,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = CursorPages.pageSize(limit);
+        return CursorPages.page(orderService.getOrdersPage(cursor, pageSize), pageSize, Order::getId);
+    }
+    
+    /**
+     * The whole order history as NDJSON (?format=ndjson), one order per line, for analytics jobs
+     * that would otherwise page through it.
+     */
+    @GetMapping(params = "format=ndjson", produces = CursorPages.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return CursorPages.ndjson(objectMapper, orderService::forEachOrder);
+    }
+    
+    // Number of orders placed; reporting-service shows it on the dashboard
+    @GetMapping("/count")
+    public long countOrders() {
+        return orderService.countOrders();
     }
     
     @GetMapping("/{id}")
@@ -0,0 +1,14 @@
+package com.demo.microservices.order.event;
+
+/**
+ * A product changed (price, details) or was deleted in product-service; cached copies are stale.
+ */
+public class ProductUpdatedEvent {
+    private final Long productId;
+
+    public ProductUpdatedEvent(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getProductId() { return productId; }
+}
@@ -0,0 +1,14 @@
+package com.demo.microservices.order.event;
+
+/**
+ * A user changed or was deleted in user-service; cached copies are stale.
+ */
+public class UserUpdatedEvent {
+    private final Long userId;
+
+    public UserUpdatedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
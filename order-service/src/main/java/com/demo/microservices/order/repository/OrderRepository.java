@@ -1,13 +1,27 @@
 package com.demo.microservices.order.repository;
 
 import com.demo.microservices.order.model.Order;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
     List<Order> findByStatus(Order.OrderStatus status);
+    
+    // Orders after the cursor id, oldest first; no count query, so a deep page costs the same as the first
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
+    // Order history export: read-only entities fetched 500 at a time
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Order> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
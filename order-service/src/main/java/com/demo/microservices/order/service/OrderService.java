@@ -1,15 +1,32 @@
 package com.demo.microservices.order.service;
 
+import com.demo.microservices.order.cache.OrderLookupCache;
 import com.demo.microservices.order.client.ProductServiceClient;
 import com.demo.microservices.order.client.UserServiceClient;
 import com.demo.microservices.order.dto.OrderRequest;
 import com.demo.microservices.order.model.Order;
 import com.demo.microservices.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
@@ -17,14 +34,52 @@ public class OrderService {
     @Autowired
     private OrderRepository orderRepository;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private UserServiceClient userServiceClient;
     
     @Autowired
     private ProductServiceClient productServiceClient;
     
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    @Autowired
+    private OrderLookupCache orderLookupCache;
+    
+    @Autowired
+    @Qualifier("orderValidationExecutor")
+    private ExecutorService orderValidationExecutor;
+    
+    @Value("${order.validation.parallel:true}")
+    private boolean parallelValidation;
+    
+    @Value("${order.validation.timeout-ms:2000}")
+    private long validationTimeoutMs;
+    
+    /**
+     * Orders placed after the order {@code cursor} (null: from the first one), oldest first, at most
+     * {@code limit} of them.
+     */
+    public List<Order> getOrdersPage(Long cursor, int limit) {
+        return orderRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Hands the whole order history to the action, oldest first. Each order is detached after the
+     * action, so an export never holds more than one of them in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void forEachOrder(Consumer<Order> action) {
+        try (Stream<Order> all = orderRepository.streamAllByOrderByIdAsc()) {
+            all.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+    
+    public long countOrders() {
+        return orderRepository.count();
     }
     
     public Order getOrderById(Long id) {
@@ -36,15 +91,42 @@ public class OrderService {
     }
     
     public Order createOrder(OrderRequest orderRequest) {
-        // Validate user exists
-        UserServiceClient.UserDto user = userServiceClient.getUserById(orderRequest.getUserId());
-        if (user == null) {
-            return null;
+        UserServiceClient.UserDto user;
+        ProductServiceClient.ProductDto product;
+        if (parallelValidation) {
+            // The two lookups are independent: run them side by side so creation waits for the slower
+            // one instead of their sum, and stop waiting on one as soon as the other fails
+            CompletableFuture<UserServiceClient.UserDto> userLookup =
+                    lookup(() -> orderLookupCache.getUser(orderRequest.getUserId()));
+            CompletableFuture<ProductServiceClient.ProductDto> productLookup =
+                    lookup(() -> orderLookupCache.getProduct(orderRequest.getProductId()));
+            cancelSiblingOnFailure(userLookup, productLookup);
+            cancelSiblingOnFailure(productLookup, userLookup);
+            try {
+                CompletableFuture.allOf(userLookup, productLookup).join();
+            } catch (CompletionException | CancellationException e) {
+                // Each lookup's own outcome is checked below
+            }
+            
+            // Validate user exists
+            user = outcome(userLookup);
+            if (user == null && !userLookup.isCancelled()) {
+                return null;
+            }
+            
+            // Validate product exists and get price (a cancelled user lookup means this one failed)
+            product = outcome(productLookup);
+        } else {
+            // Validate user exists
+            user = orderLookupCache.getUser(orderRequest.getUserId());
+            if (user == null) {
+                return null;
+            }
+            
+            // Validate product exists and get price
+            product = orderLookupCache.getProduct(orderRequest.getProductId());
         }
-        
-        // Validate product exists and get price
-        ProductServiceClient.ProductDto product = productServiceClient.getProductById(orderRequest.getProductId());
-        if (product == null) {
+        if (user == null || product == null) {
             return null;
         }
         
@@ -66,6 +148,58 @@ public class OrderService {
         return null;
     }
     
+    /**
+     * Runs a remote lookup on the validation pool. A lookup that times out or is cancelled interrupts
+     * the call still in flight; one the saturated pool rejects fails right away.
+     */
+    private <T> CompletableFuture<T> lookup(Supplier<T> call) {
+        CompletableFuture<T> lookup = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = orderValidationExecutor.submit(() -> {
+                try {
+                    lookup.complete(call.get());
+                } catch (Throwable e) {
+                    lookup.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        lookup.whenComplete((value, failure) -> {
+            if (failure != null) {
+                task.cancel(true);
+            }
+        });
+        return lookup.orTimeout(validationTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private static void cancelSiblingOnFailure(CompletableFuture<?> lookup, CompletableFuture<?> sibling) {
+        lookup.whenComplete((value, failure) -> {
+            if (failure != null || value == null) {
+                sibling.cancel(true);
+            }
+        });
+    }
+    
+    /**
+     * Result of a finished lookup, null when it found nothing or was cancelled by its sibling;
+     * a failure is rethrown as it would have been by the direct call.
+     */
+    private static <T> T outcome(CompletableFuture<T> lookup) {
+        if (lookup.isCancelled()) {
+            return null;
+        }
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
     public String testFeignClients(Long userId, Long productId) {
         StringBuilder result = new StringBuilder();
         
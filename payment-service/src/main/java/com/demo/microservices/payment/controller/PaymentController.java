@@ -1,11 +1,14 @@
 package com.demo.microservices.payment.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.demo.microservices.payment.dto.PaymentRequest;
 import com.demo.microservices.payment.model.Payment;
 import com.demo.microservices.payment.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +19,42 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * A plain GET (no cursor, no limit) keeps returning every payment as one JSON array, streamed
+     * from the table instead of loaded into a list first.
+     */
+    @GetMapping(params = {"!cursor", "!limit", "!format"})
+    public ResponseEntity<StreamingResponseBody> listPayments() {
+        return CursorPages.jsonArray(objectMapper, paymentService::forEachPayment);
+    }
+    
+    /**
+     * Payments in the order they were recorded, {@code limit} per call. X-Next-Cursor holds the cursor
+     * of the next page; the Link header has the same next page as a URL.
+     */
     @GetMapping
-    public List<Payment> getAllPayments() {
-        return paymentService.getAllPayments();
+    public ResponseEntity<List<Payment>> getAllPayments(@RequestParam(required = false) Long cursor,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = CursorPages.pageSize(limit);
+        return CursorPages.page(paymentService.getPaymentsPage(cursor, pageSize), pageSize, Payment::getId);
+    }
+    
+    /**
+     * Every payment as NDJSON (?format=ndjson), one per line, for reconciliation against the payment
+     * provider's statements.
+     */
+    @GetMapping(params = "format=ndjson", produces = CursorPages.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        return CursorPages.ndjson(objectMapper, paymentService::forEachPayment);
+    }
+    
+    // Number of payments recorded, for the reporting dashboard
+    @GetMapping("/count")
+    public long countPayments() {
+        return paymentService.countPayments();
     }
     
     @GetMapping("/{id}")
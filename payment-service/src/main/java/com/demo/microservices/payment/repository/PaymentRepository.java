@@ -1,14 +1,28 @@
 package com.demo.microservices.payment.repository;
 
 import com.demo.microservices.payment.model.Payment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Payment findByOrderId(Long orderId);
     List<Payment> findByUserId(Long userId);
     List<Payment> findByStatus(Payment.PaymentStatus status);
+    
+    // Payments after the cursor id in recording order, read without a count query
+    List<Payment> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
+    // Reconciliation export: read-only payments fetched 500 at a time
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Payment> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -4,11 +4,17 @@ import com.demo.microservices.payment.client.OrderServiceClient;
 import com.demo.microservices.payment.dto.PaymentRequest;
 import com.demo.microservices.payment.model.Payment;
 import com.demo.microservices.payment.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PaymentService {
@@ -16,11 +22,36 @@ public class PaymentService {
     @Autowired
     private PaymentRepository paymentRepository;
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private OrderServiceClient orderServiceClient;
     
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    /**
+     * Payments recorded after the payment {@code cursor} (null: from the first one), in the order
+     * they were recorded, at most {@code limit} of them.
+     */
+    public List<Payment> getPaymentsPage(Long cursor, int limit) {
+        return paymentRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Hands every payment to the action in the order they were recorded, detaching each once handled:
+     * a reconciliation export keeps a single payment in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void forEachPayment(Consumer<Payment> action) {
+        try (Stream<Payment> all = paymentRepository.streamAllByOrderByIdAsc()) {
+            all.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+    
+    public long countPayments() {
+        return paymentRepository.count();
     }
     
     public Payment getPaymentById(Long id) {
@@ -1,10 +1,13 @@
 package com.demo.microservices.product.controller;
 
+import com.demo.microservices.common.web.CursorPages;
 import com.demo.microservices.product.model.Product;
 import com.demo.microservices.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,12 +15,41 @@ import java.util.List;
 @RequestMapping("/api/products")
 public class ProductController {
     
+    private static final int MAX_BATCH_IDS = 1000;
+    
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * The whole catalogue as one JSON array when neither cursor nor limit is given, as this endpoint
+     * has always answered; streamed, so a large catalogue is never held in memory.
+     */
+    @GetMapping(params = {"!cursor", "!limit", "!format"})
+    public ResponseEntity<StreamingResponseBody> listProducts() {
+        return CursorPages.jsonArray(objectMapper, productService::forEachProduct);
+    }
+    
+    /**
+     * One page of the catalogue in id order, {@code limit} products long. The X-Next-Cursor and Link
+     * headers point at the next page; single products are better fetched with /batch.
+     */
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<List<Product>> getAllProducts(@RequestParam(required = false) Long cursor,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = CursorPages.pageSize(limit);
+        return CursorPages.page(productService.getProductsPage(cursor, pageSize), pageSize, Product::getId);
+    }
+    
+    /**
+     * The whole catalogue as NDJSON (?format=ndjson), one product per line, e.g. to rebuild a search
+     * index or a price feed.
+     */
+    @GetMapping(params = "format=ndjson", produces = CursorPages.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return CursorPages.ndjson(objectMapper, productService::forEachProduct);
     }
     
     @GetMapping("/{id}")
@@ -26,6 +58,27 @@ public class ProductController {
         return product != null ? ResponseEntity.ok(product) : ResponseEntity.notFound().build();
     }
     
+    /**
+     * Several products in one round trip; unknown ids are left out of the result.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<Product>> getProductsByIds(@RequestParam List<Long> ids) {
+        return batch(ids);
+    }
+    
+    // Same as the GET form, for id sets too long for a query string
+    @PostMapping("/batch")
+    public ResponseEntity<List<Product>> getProductsByIdsPost(@RequestBody List<Long> ids) {
+        return batch(ids);
+    }
+    
+    private ResponseEntity<List<Product>> batch(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+    
     @GetMapping("/category/{category}")
     public List<Product> getProductsByCategory(@PathVariable String category) {
         return productService.getProductsByCategory(category);
@@ -1,12 +1,26 @@
 package com.demo.microservices.product.repository;
 
 import com.demo.microservices.product.model.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory(String category);
+    
+    // Catalogue page: products after the cursor id, in id order, without a count query
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+    
+    // Catalogue export: read-only products fetched 500 at a time
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Product> streamAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -2,10 +2,19 @@ package com.demo.microservices.product.service;
 
 import com.demo.microservices.product.model.Product;
 import com.demo.microservices.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProductService {
@@ -13,14 +22,44 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
     
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Catalogue entries with an id above {@code cursor} (null: from the start), in id order, at most
+     * {@code limit} of them.
+     */
+    public List<Product> getProductsPage(Long cursor, int limit) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, limit));
+    }
+    
+    /**
+     * Hands the whole catalogue to the action in id order. Each product is detached once handled, so
+     * the persistence context stays small however many products are listed.
+     */
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> action) {
+        try (Stream<Product> all = productRepository.streamAllByOrderByIdAsc()) {
+            all.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
     }
     
     public Product getProductById(Long id) {
         return productRepository.findById(id).orElse(null);
     }
     
+    /**
+     * Products for all the given ids in one query; ids that do not exist are left out.
+     */
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        return productRepository.findAllById(distinct);
+    }
+    
     public List<Product> getProductsByCategory(String category) {
         return productRepository.findByCategory(category);
     }
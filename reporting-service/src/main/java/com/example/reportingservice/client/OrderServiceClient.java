@@ -9,8 +9,9 @@ import java.util.List;
 @FeignClient(name = "order-service")
 public interface OrderServiceClient {
     
-    @GetMapping("/api/orders")
-    List<Object> getAllOrders();
+    // Counted by order-service itself, so the dashboard never pulls the orders
+    @GetMapping("/api/orders/count")
+    long countOrders();
     
     @GetMapping("/api/orders/user/{userId}")
     List<Object> getOrdersByUserId(@PathVariable("userId") Long userId);
@@ -4,13 +4,12 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-import java.util.List;
-
 @FeignClient(name = "payment-service") 
 public interface PaymentServiceClient {
     
-    @GetMapping("/api/payments")
-    List<Object> getAllPayments();
+    // A single count query on payment-service
+    @GetMapping("/api/payments/count")
+    long countPayments();
     
     @GetMapping("/api/payments/order/{orderId}")
     Object getPaymentByOrderId(@PathVariable("orderId") Long orderId);
@@ -7,7 +7,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -27,11 +26,8 @@ public class ReportService {
         
         try {
             // Fetch data from multiple services using Feign clients
-            List<Object> orders = orderServiceClient.getAllOrders();
-            List<Object> payments = paymentServiceClient.getAllPayments();
-            
-            report.put("totalOrders", orders.size());
-            report.put("totalPayments", payments.size());
+            report.put("totalOrders", orderServiceClient.countOrders());
+            report.put("totalPayments", paymentServiceClient.countPayments());
             
             // Also call user service using WebClient
             String userServiceResponse = webClientBuilder.build()
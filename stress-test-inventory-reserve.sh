@@ -0,0 +1,73 @@
+#!/bin/bash
+
+# 🔒 Inventory reservation stress test: no overselling under concurrency
+#
+# Runs inventory-service standalone (the "loadtest" profile), gives one hot product STOCK units and
+# fires twice as many concurrent single-unit reservations at it, once per concurrency level.
+# Exactly STOCK reservations must succeed and reservedQuantity must end at STOCK.
+#
+# Usage: ./stress-test-inventory-reserve.sh [stock] [concurrency levels...]
+# Tunables: INVENTORY_PORT, LEDGER=1 (reserve through the in-memory hot-stock ledger)
+
+STOCK=${1:-2000}
+shift
+LEVELS=${@:-1 8 32}
+export INVENTORY_PORT=${INVENTORY_PORT:-18085}
+BASE_URL="http://localhost:$INVENTORY_PORT/api/inventory"
+
+JAR=$(ls inventory-service/target/inventory-service-*.jar 2>/dev/null | head -1)
+if [ -z "$JAR" ]; then
+    echo "❌ inventory-service jar not found. Build it first:"
+    echo "   mvn -pl inventory-service -am package -DskipTests"
+    exit 1
+fi
+
+LEDGER_ARGS=""
+if [ -n "$LEDGER" ]; then
+    LEDGER_ARGS="--inventory.ledger.enabled=true --inventory.ledger.hot-threshold=20 --inventory.ledger.journal-dir=$(mktemp -d)"
+fi
+
+java -jar "$JAR" --spring.profiles.active=loadtest $LEDGER_ARGS > /dev/null 2>&1 &
+SERVICE_PID=$!
+trap 'kill $SERVICE_PID 2>/dev/null' EXIT
+
+for _ in $(seq 1 60); do
+    curl -s -o /dev/null "http://localhost:$INVENTORY_PORT/actuator/health" && break
+    sleep 1
+done
+
+echo "🔒 Inventory reservation stress test"
+echo "===================================="
+echo "   $STOCK units per product, $((STOCK * 2)) single-unit reservations per run"
+echo
+
+FAILED=0
+PRODUCT_ID=1000
+for level in $LEVELS; do
+    PRODUCT_ID=$((PRODUCT_ID + 1))
+    curl -s -o /dev/null -X POST -H "Content-Type: application/json" \
+        -d "{\"productId\":$PRODUCT_ID,\"quantity\":$STOCK,\"minStockLevel\":0}" "$BASE_URL"
+
+    started=$(date +%s.%N)
+    seq 1 $((STOCK * 2)) | xargs -P "$level" -I{} curl -s -X PUT "$BASE_URL/reserve/$PRODUCT_ID/1" -w "\n" \
+        > /tmp/inventory-reserve-$level.txt
+    elapsed=$(echo "$(date +%s.%N) - $started" | bc)
+    # The ledger writes reservations behind; give the last batch time to reach the table
+    [ -n "$LEDGER" ] && sleep 1
+
+    granted=$(grep -c '^true$' /tmp/inventory-reserve-$level.txt)
+    reserved=$(curl -s "$BASE_URL/product/$PRODUCT_ID" | grep -o '"reservedQuantity":[0-9]*' | cut -d: -f2)
+    rate=$(echo "scale=1; $STOCK * 2 / $elapsed" | bc)
+
+    if [ "$granted" -eq "$STOCK" ] && [ "$reserved" -eq "$STOCK" ]; then
+        status="✅"
+    else
+        status="❌ OVERSOLD OR LOST"
+        FAILED=1
+    fi
+    printf "   %3s threads: %5s granted, reservedQuantity %5s, %8s req/s  %s\n" \
+        "$level" "$granted" "$reserved" "$rate" "$status"
+done
+
+echo
+exit $FAILED